@@ -0,0 +1,83 @@
+package io.github.some_example_name.benchmarks;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.physics.bullet.Bullet;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import io.github.some_example_name.Terrain.HeightField;
+import io.github.some_example_name.Terrain.HeightKernels;
+import io.github.some_example_name.Terrain.TerrainData;
+
+/**
+ * Gemeinsames für die Benchmarks: Headless-Backend und Bullet einmal pro JVM, und reproduzierbare Test-Terrains.
+ */
+final class BenchmarkSupport {
+
+    /** Kantenlänge der Test-Terrains in Welt-Einheiten. */
+    static final float WORLD_SIZE = 200f;
+    static final float MAGNITUDE = 10f;
+
+    private static boolean initialized;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Setzt Gdx.app, Gdx.files und Gdx.input (Headless, ohne Render-Schleife) und lädt die Bullet-Natives.
+     * Nur Fehler werden geloggt, sonst schreiben TerrainPhysics und Co. bei jeder Erstellung ins Ergebnis.
+     */
+    static synchronized void init() {
+        if (initialized) return;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // kein render(), der Loop-Thread endet sofort wieder
+        new HeadlessApplication(new ApplicationAdapter() {
+        }, config);
+        Gdx.app.setLogLevel(Application.LOG_ERROR);
+        Bullet.init();
+        initialized = true;
+    }
+
+    /**
+     * Wählt die {@link HeightKernels} ("scalar" oder "vector") über {@code -Dterrain.scalarKernels}. Muss vor der ersten
+     * Benutzung der Kernels in dieser JVM laufen; das klappt, weil JMH jede @Param-Kombination in einem eigenen Fork misst.
+     * Bekommt ein Fork nicht die verlangte Variante (z.B. "vector" auf Java 8 oder ohne das Incubator-Modul, oder mit -f 0),
+     * bricht der Benchmark ab statt falsch beschriftete Zahlen zu liefern.
+     */
+    static void kernels(String kernels) {
+        System.setProperty("terrain.scalarKernels", String.valueOf("scalar".equals(kernels)));
+        final String loaded = HeightKernels.get().getName();
+        if (!loaded.startsWith(kernels)) {
+            throw new GdxRuntimeException("Benchmark wants " + kernels + " kernels, but this JVM has " + loaded
+                    + " (Java 17+ with --add-modules jdk.incubator.vector, one fork per run)");
+        }
+    }
+
+    /** Hügeliges Terrain (ein paar Sinuswellen plus Rauschen, 0..1), bei gleichem seed immer gleich. */
+    static TerrainData terrain(int size, boolean quantized, long seed) {
+        TerrainData data = quantized ? TerrainData.quantized(size, size, 0f, 1f) : new TerrainData(size, size);
+        MathUtils.random.setSeed(seed);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                float wave = MathUtils.sin(x * 0.05f) * MathUtils.cos(y * 0.07f) * 0.35f + 0.5f;
+                data.set(y * size + x, MathUtils.clamp(wave + MathUtils.random(-0.05f, 0.05f), 0f, 1f));
+            }
+        }
+        data.updateBounds();
+        return data;
+    }
+
+    /** Legt das Feld wie die Spiel-Terrains achsenparallel auf XZ: WORLD_SIZE breit, um den Ursprung zentriert. */
+    static HeightField place(HeightField field) {
+        final float half = WORLD_SIZE * 0.5f;
+        field.corner00.set(-half, 0, -half);
+        field.corner10.set(half, 0, -half);
+        field.corner01.set(-half, 0, half);
+        field.corner11.set(half, 0, half);
+        field.magnitude.set(0f, MAGNITUDE, 0f);
+        return field;
+    }
+}
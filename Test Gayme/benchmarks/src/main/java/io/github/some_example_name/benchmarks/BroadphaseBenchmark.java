@@ -0,0 +1,113 @@
+package io.github.some_example_name.benchmarks;
+
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionShape;
+import com.badlogic.gdx.physics.bullet.dynamics.btRigidBody;
+import com.badlogic.gdx.utils.Array;
+import io.github.some_example_name.Physiks.PhysicsSystem;
+import io.github.some_example_name.Terrain.HeightField;
+import io.github.some_example_name.Terrain.TerrainManager;
+import io.github.some_example_name.enums.BroadphaseMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paarsuche der Broadphase je {@link BroadphaseMode}: N Kugeln, zufällig über dem Test-Terrain verteilt, bewegen sich
+ * in jedem Aufruf ein Stück (hin und zurück), dann AABBs aktualisieren und überlappende Paare suchen, ohne Narrowphase
+ * und Solver. Die Weltgrenzen kommen wie im Spiel aus {@link TerrainManager#computeWorldBounds}.
+ * Das Verschieben (zwei JNI-Aufrufe pro Kugel) kostet in allen Modi gleich viel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BroadphaseBenchmark {
+
+    /** So weit springt jede Kugel pro Aufruf hin bzw. zurück. */
+    private static final float STEP = 0.3f;
+
+    @Param({"DBVT", "AXIS_SWEEP_16", "AXIS_SWEEP_32"})
+    public BroadphaseMode mode;
+
+    @Param({"100", "1000", "10000"})
+    public int bodies;
+
+    private PhysicsSystem physicsSystem;
+    private final Array<btRigidBody> spheres = new Array<btRigidBody>();
+    private float[] positions;
+    private boolean forward;
+    private final Matrix4 transform = new Matrix4();
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.init();
+        HeightField field = BenchmarkSupport.place(new HeightField(BenchmarkSupport.terrain(257, false, 42)));
+        Vector3 min = new Vector3(), max = new Vector3();
+        TerrainManager.computeWorldBounds(field, min, max);
+        physicsSystem = new PhysicsSystem(60f, mode, min, max);
+
+        btCollisionShape sphere = physicsSystem.getShapeCache().sphere(0.5f);
+        Vector3 inertia = new Vector3();
+        sphere.calculateLocalInertia(1f, inertia);
+        btRigidBody.btRigidBodyConstructionInfo info = new btRigidBody.btRigidBodyConstructionInfo(1f, null, sphere, inertia);
+        RandomXS128 random = new RandomXS128(42);
+        final float half = BenchmarkSupport.WORLD_SIZE * 0.5f;
+        positions = new float[bodies * 3];
+        for (int i = 0; i < bodies; i++) {
+            positions[i * 3] = -half + random.nextFloat() * BenchmarkSupport.WORLD_SIZE;
+            positions[i * 3 + 1] = random.nextFloat() * BenchmarkSupport.MAGNITUDE * 2f;
+            positions[i * 3 + 2] = -half + random.nextFloat() * BenchmarkSupport.WORLD_SIZE;
+            btRigidBody body = new btRigidBody(info);
+            moveTo(body, positions[i * 3], positions[i * 3 + 1], positions[i * 3 + 2]);
+            physicsSystem.addRigidBody(body);
+            spheres.add(body);
+        }
+        info.dispose();
+    }
+
+    @Benchmark
+    public int findPairs() {
+        final float offset = forward ? STEP : 0f;
+        forward = !forward;
+        for (int i = 0; i < bodies; i++) {
+            moveTo(spheres.get(i), positions[i * 3] + offset, positions[i * 3 + 1], positions[i * 3 + 2]);
+        }
+        return physicsSystem.computeOverlappingPairs();
+    }
+
+    /**
+     * Wie ein Physik-Schritt: beide Transformationen setzen. Bullet nimmt für dynamische Körper die AABB über beide, mit
+     * der alten Interpolations-Transformation (Ursprung) würde sonst jede Kugel jede andere überlappen.
+     */
+    private void moveTo(btRigidBody body, float x, float y, float z) {
+        transform.setToTranslation(x, y, z);
+        body.setWorldTransform(transform);
+        body.setInterpolationWorldTransform(transform);
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (btRigidBody body : spheres) {
+            physicsSystem.removeRigidBody(body);
+            body.dispose();
+        }
+        spheres.clear();
+        physicsSystem.dispose();
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.some_example_name.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.math.Vector3;
+import io.github.some_example_name.Physiks.CharacterPhysics;
+import io.github.some_example_name.Physiks.PhysicsSystem;
+import io.github.some_example_name.Physiks.TerrainPhysics;
+import io.github.some_example_name.Player.PlayerInputHandler;
+import io.github.some_example_name.Terrain.HeightField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Was die Steuerung der Spielfigur pro Tick kostet: {@link PlayerInputHandler#processInput()} mit gehaltenen Tasten bis
+ * zum Bullet-Körper, und {@link CharacterPhysics#move} allein. Ohne Physik-Thread, Befehle wirken also sofort; der
+ * Physik-Schritt selbst ist nicht dabei (siehe {@link PhysicsSystemBenchmark}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CharacterInputBenchmark {
+
+    /** Gehaltene Tasten für {@link #processInput}; {@link #move} braucht keine. */
+    @State(Scope.Thread)
+    public static class Keys {
+
+        /** NONE: keine Taste (stop() in jedem Tick), W: geradeaus, WD: diagonal (Kreuzprodukt mit der Kamera). */
+        @Param({"NONE", "W", "WD"})
+        public String keys;
+
+        @Setup
+        public void setup() {
+            BenchmarkSupport.init();
+            final boolean forward = keys.indexOf('W') >= 0;
+            final boolean right = keys.indexOf('D') >= 0;
+            Gdx.input = new MockInput() {
+                @Override
+                public boolean isKeyPressed(int key) {
+                    return (key == Input.Keys.W && forward) || (key == Input.Keys.D && right);
+                }
+            };
+        }
+    }
+
+    private PhysicsSystem physicsSystem;
+    private TerrainPhysics terrain;
+    private Model emptyModel;
+    private CharacterPhysics character;
+    private PlayerInputHandler inputHandler;
+    private final Vector3 direction = new Vector3(0.6f, 0f, 0.8f);
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.init();
+        physicsSystem = new PhysicsSystem();
+        HeightField field = BenchmarkSupport.place(new HeightField(BenchmarkSupport.terrain(129, false, 42)));
+        terrain = new TerrainPhysics(physicsSystem, field);
+        emptyModel = new Model();
+        character = new CharacterPhysics(physicsSystem, new ModelInstance(emptyModel), 0.5f, 1.8f, 80f,
+                new Vector3(0f, BenchmarkSupport.MAGNITUDE + 2f, 0f));
+
+        PerspectiveCamera camera = new PerspectiveCamera(67f, 1280f, 720f);
+        camera.position.set(0f, BenchmarkSupport.MAGNITUDE + 5f, 10f);
+        camera.lookAt(0f, BenchmarkSupport.MAGNITUDE, 0f);
+        camera.update();
+        inputHandler = new PlayerInputHandler(character, camera, 5f, 5f);
+    }
+
+    @Benchmark
+    public void processInput(Keys keys) {
+        inputHandler.processInput();
+    }
+
+    @Benchmark
+    public void move() {
+        character.move(direction, 5f);
+    }
+
+    @TearDown
+    public void tearDown() {
+        character.dispose();
+        physicsSystem.removeRigidBody(terrain.body);
+        terrain.dispose();
+        physicsSystem.dispose();
+        emptyModel.dispose();
+    }
+}
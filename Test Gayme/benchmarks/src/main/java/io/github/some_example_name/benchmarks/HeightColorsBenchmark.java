@@ -0,0 +1,73 @@
+package io.github.some_example_name.benchmarks;
+
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.utils.BufferUtils;
+import io.github.some_example_name.Terrain.HeightField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dekodieren einer Heightmap mit {@link HeightField#heightColorsToMap}, wie beim Laden eines Terrains aus einer Pixmap.
+ * Die Pixel liegen wie bei einer Pixmap in einem direkten ByteBuffer; gemessen wird nur das Dekodieren, nicht das PNG.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeightColorsBenchmark {
+
+    @Param({"512", "2048"})
+    public int size;
+
+    @Param({"RGB888", "RGBA8888"})
+    public Format format;
+
+    /** Skalare oder SIMD-{@code HeightKernels}, siehe {@link BenchmarkSupport#kernels}. */
+    @Param({"scalar", "vector"})
+    public String kernels;
+
+    private ByteBuffer pixels;
+    private FloatBuffer dest;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.kernels(kernels);
+        final int bytes = size * size * (format == Format.RGB888 ? 3 : 4);
+        byte[] values = new byte[bytes];
+        new Random(42).nextBytes(values);
+        pixels = BufferUtils.newByteBuffer(bytes);
+        pixels.put(values);
+        pixels.flip();
+        dest = BufferUtils.newFloatBuffer(size * size);
+    }
+
+    /** In einen vorhandenen direkten Buffer, wie {@code TerrainData.fromPixmap}. */
+    @Benchmark
+    public FloatBuffer intoBuffer() {
+        dest.clear();
+        HeightField.heightColorsToMap(pixels, format, size, size, dest);
+        return dest;
+    }
+
+    /** In ein neues float-Array (die ältere Variante, z.B. für quantisierte Daten). */
+    @Benchmark
+    public float[] toArray() {
+        return HeightField.heightColorsToMap(pixels, format, size, size);
+    }
+}
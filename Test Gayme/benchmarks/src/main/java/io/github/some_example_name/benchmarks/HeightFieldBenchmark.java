@@ -0,0 +1,78 @@
+package io.github.some_example_name.benchmarks;
+
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g3d.utils.MeshBuilder;
+import io.github.some_example_name.Terrain.HeightField;
+import io.github.some_example_name.Terrain.TerrainData;
+import io.github.some_example_name.enums.NormalMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Erstellen und Neuaufbauen eines HeightFields wie in {@code TerrainTile}/{@code HeightMapTerrain}: Position, Normale und UV,
+ * CENTRAL_DIFFERENCE. Ohne GL, also ohne Meshes; update() ist hier {@link HeightField#buildVertices()}, der Upload fehlt.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeightFieldBenchmark {
+
+    @Param({"129", "513", "1025"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    /** Skalare oder SIMD-{@code HeightKernels}, siehe {@link BenchmarkSupport#kernels}. */
+    @Param({"scalar", "vector"})
+    public String kernels;
+
+    private final VertexAttributes attributes = MeshBuilder.createAttributes(
+            VertexAttributes.Usage.Position | VertexAttributes.Usage.Normal | VertexAttributes.Usage.TextureCoordinates);
+    private TerrainData data;
+    private HeightField field;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.kernels(kernels);
+        data = BenchmarkSupport.terrain(size, false, 42);
+        field = create();
+        field.buildVertices();
+    }
+
+    private HeightField create() {
+        HeightField created = BenchmarkSupport.place(new HeightField(true, data, true, attributes, false));
+        created.setNormalMode(NormalMode.CENTRAL_DIFFERENCE);
+        created.setParallel(parallel);
+        return created;
+    }
+
+    /** Neues Feld auf vorhandenen Höhen, samt erstem Aufbau der Vertices. */
+    @Benchmark
+    public HeightField construct() {
+        HeightField created = create();
+        created.buildVertices();
+        return created;
+    }
+
+    /** Alle Vertices eines bestehenden Felds neu aufbauen, z.B. nach dem Editieren der Höhen. */
+    @Benchmark
+    public HeightField update() {
+        field.buildVertices();
+        return field;
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.some_example_name.benchmarks;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+import io.github.some_example_name.Terrain.HeightField;
+import io.github.some_example_name.Terrain.TerrainData;
+import io.github.some_example_name.enums.NormalMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergleicht die Normalen-Berechnung des HeightFields: WEIGHTED gegen CENTRAL_DIFFERENCE,
+ * jeweils für alle Punkte eines Gitters. Braucht kein GL, das HeightField hat keine Meshes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeightFieldNormalBenchmark {
+
+    @Param({"512", "2048"})
+    public int size;
+
+    @Param({"WEIGHTED", "CENTRAL_DIFFERENCE"})
+    public NormalMode mode;
+
+    private HeightField field;
+    private final Vector3 normal = new Vector3();
+
+    @Setup
+    public void setup() {
+        TerrainData data = new TerrainData(size, size);
+        MathUtils.random.setSeed(42);
+        for (int i = 0; i < data.size(); i++) {
+            data.set(i, MathUtils.random());
+        }
+        data.updateBounds();
+
+        field = new HeightField(data);
+        field.corner00.set(0, 0, 0);
+        field.corner10.set(800, 0, 0);
+        field.corner01.set(0, 0, 800);
+        field.corner11.set(800, 0, 800);
+        field.magnitude.set(0f, 30f, 0f);
+        field.setNormalMode(mode);
+    }
+
+    @Benchmark
+    public void allNormals(Blackhole bh) {
+        for (int y = 0; y < field.height; y++) {
+            for (int x = 0; x < field.width; x++) {
+                bh.consume(field.getNormalAt(normal, x, y).x);
+            }
+        }
+    }
+}
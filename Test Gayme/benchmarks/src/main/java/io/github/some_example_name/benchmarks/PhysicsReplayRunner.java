@@ -0,0 +1,71 @@
+package io.github.some_example_name.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.physics.bullet.Bullet;
+import io.github.some_example_name.Physiks.PhysicsRecording;
+import io.github.some_example_name.Physiks.PhysicsReplay;
+
+/**
+ * Spielt eine mit {@code PhysicsSystem.startRecording()} aufgenommene Sitzung ohne Fenster so schnell wie möglich nach,
+ * meldet Ticks pro Sekunde und prüft den Endzustand der Figuren. Gleiche Aufnahme auf zwei Builds = gleiche Arbeit,
+ * die Ticks/s sind also direkt vergleichbar.
+ * <p>
+ * {@code ./gradlew :benchmarks:replay -Precording=/pfad/session.physrec [-Prepeat=5] [-Ptolerance=0.001]}
+ * <p>
+ * Beendet die JVM mit 1, wenn eine Figur weiter als tolerance vom aufgenommenen Endzustand abweicht.
+ */
+public class PhysicsReplayRunner extends ApplicationAdapter {
+
+    private final String path;
+    private final int repeat;
+    private final float tolerance;
+
+    public PhysicsReplayRunner(String path, int repeat, float tolerance) {
+        this.path = path;
+        this.repeat = repeat;
+        this.tolerance = tolerance;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: PhysicsReplayRunner <recording> [repeat] [tolerance]");
+            System.exit(2);
+        }
+        int repeat = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        float tolerance = args.length > 2 ? Float.parseFloat(args[2]) : 0.001f;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // kein render(), alles passiert in create()
+        new HeadlessApplication(new PhysicsReplayRunner(args[0], repeat, tolerance), config);
+    }
+
+    @Override
+    public void create() {
+        Bullet.init();
+        PhysicsRecording recording = PhysicsRecording.read(Gdx.files.absolute(path));
+        Gdx.app.log("PhysicsReplayRunner", "Replaying " + path + ": " + recording.getEndTick() + " ticks at "
+                + recording.getTickRate() + " Hz, " + recording.getSetupCount() + " world changes, " + recording.getInputCount() + " inputs");
+
+        boolean passed = true;
+        double best = 0;
+        for (int run = 1; run <= repeat; run++) {
+            PhysicsReplay replay = new PhysicsReplay(recording);
+            long start = System.nanoTime();
+            long ticks = replay.run();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            float deviation = replay.verify(tolerance);
+            replay.dispose();
+
+            double ticksPerSecond = ticks / seconds;
+            best = Math.max(best, ticksPerSecond);
+            passed &= deviation <= tolerance;
+            Gdx.app.log("PhysicsReplayRunner", String.format("Run %d: %d ticks in %.3f s = %.0f ticks/s (%.1fx real time), max deviation %g",
+                    run, ticks, seconds, ticksPerSecond, ticksPerSecond / recording.getTickRate(), deviation));
+        }
+        Gdx.app.log("PhysicsReplayRunner", String.format("Best: %.0f ticks/s. Final state %s.", best, passed ? "matches" : "DIFFERS"));
+        if (!passed) System.exit(1);
+        Gdx.app.exit();
+    }
+}
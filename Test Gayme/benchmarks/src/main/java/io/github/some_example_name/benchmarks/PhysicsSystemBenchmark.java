@@ -0,0 +1,85 @@
+package io.github.some_example_name.benchmarks;
+
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import io.github.some_example_name.Physiks.CharacterPhysics;
+import io.github.some_example_name.Physiks.PhysicsSystem;
+import io.github.some_example_name.Physiks.TerrainPhysics;
+import io.github.some_example_name.Terrain.HeightField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ein Frame {@link PhysicsSystem#update(float)} ohne Thread (also genau ein Tick) mit N Figuren-Kapseln, die auf dem
+ * Terrain stehen. {@link CharacterPhysics} schläft nie ein, jede Kapsel kostet also in jedem Tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhysicsSystemBenchmark {
+
+    /** Ticks vor der Messung, bis alle Kapseln gelandet sind. */
+    private static final int SETTLE_TICKS = 180;
+
+    @Param({"10", "100", "500"})
+    public int capsules;
+
+    private PhysicsSystem physicsSystem;
+    private TerrainPhysics terrain;
+    private Model emptyModel;
+    private final Array<CharacterPhysics> characters = new Array<CharacterPhysics>();
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.init();
+        physicsSystem = new PhysicsSystem();
+        HeightField field = BenchmarkSupport.place(new HeightField(BenchmarkSupport.terrain(257, false, 42)));
+        terrain = new TerrainPhysics(physicsSystem, field);
+
+        // Gitter über die mittleren drei Viertel des Terrains, knapp über dem höchsten Punkt
+        emptyModel = new Model();
+        final int perRow = (int)Math.ceil(Math.sqrt(capsules));
+        final float spacing = BenchmarkSupport.WORLD_SIZE * 0.75f / perRow;
+        final float start = -BenchmarkSupport.WORLD_SIZE * 0.375f + spacing * 0.5f;
+        final Vector3 position = new Vector3();
+        for (int i = 0; i < capsules; i++) {
+            position.set(start + (i % perRow) * spacing, BenchmarkSupport.MAGNITUDE + 2f, start + (i / perRow) * spacing);
+            characters.add(new CharacterPhysics(physicsSystem, new ModelInstance(emptyModel), 0.5f, 1.8f, 80f, position));
+        }
+        for (int i = 0; i < SETTLE_TICKS; i++) {
+            physicsSystem.update(physicsSystem.getFixedTimeStep());
+        }
+    }
+
+    @Benchmark
+    public void update() {
+        physicsSystem.update(physicsSystem.getFixedTimeStep());
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (CharacterPhysics character : characters) character.dispose();
+        characters.clear();
+        physicsSystem.removeRigidBody(terrain.body);
+        terrain.dispose();
+        physicsSystem.dispose();
+        emptyModel.dispose();
+    }
+}
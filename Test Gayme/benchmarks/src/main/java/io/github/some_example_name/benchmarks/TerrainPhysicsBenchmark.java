@@ -0,0 +1,60 @@
+package io.github.some_example_name.benchmarks;
+
+import io.github.some_example_name.Physiks.PhysicsSystem;
+import io.github.some_example_name.Physiks.TerrainPhysics;
+import io.github.some_example_name.Terrain.HeightField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Physik-Terrain erstellen, wie bei jedem Terrain-Wechsel (F1) und jeder gestreamten Kachel: Shape auf den geteilten
+ * Höhen, Körper, in die Welt. Gemessen wird der ganze Lebenszyklus samt Entfernen und dispose, sonst wächst die Welt.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TerrainPhysicsBenchmark {
+
+    @Param({"257", "1025"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean quantized;
+
+    private PhysicsSystem physicsSystem;
+    private HeightField field;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.init();
+        physicsSystem = new PhysicsSystem();
+        field = BenchmarkSupport.place(new HeightField(BenchmarkSupport.terrain(size, quantized, 42)));
+    }
+
+    @Benchmark
+    public void createAndDispose() {
+        TerrainPhysics terrain = new TerrainPhysics(physicsSystem, field);
+        physicsSystem.removeRigidBody(terrain.body);
+        terrain.dispose();
+    }
+
+    @TearDown
+    public void tearDown() {
+        physicsSystem.dispose();
+    }
+}
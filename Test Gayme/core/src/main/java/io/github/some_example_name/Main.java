@@ -24,7 +24,8 @@ import com.badlogic.gdx.physics.bullet.linearmath.btIDebugDraw; // Interface fü
 
 // --- GLTF Scene Management Imports ---
 // Klassen für das Laden und Managen von GLTF 3D-Szenen (ein modernes 3D-Format)
-import io.github.some_example_name.Physiks.StaticObjectPhysics;
+import io.github.some_example_name.Physiks.StaticPropBatch;
+import io.github.some_example_name.Physiks.PhysicsRecording;
 import net.mgsx.gltf.loaders.gltf.GLTFLoader; // Lädt GLTF-Dateien
 import net.mgsx.gltf.scene3d.attributes.PBRCubemapAttribute; // Spezielle Attribute für Physically Based Rendering (PBR) mit Cubemaps
 import net.mgsx.gltf.scene3d.attributes.PBRTextureAttribute;  // PBR-Attribute mit Texturen
@@ -45,10 +46,14 @@ import io.github.some_example_name.Player.PlayerCameraController; // Deine Klass
 import io.github.some_example_name.Terrain.HeightMapTerrain; // Deine Klasse für das visuelle Terrain
 import io.github.some_example_name.Terrain.Terrain; // Basis-Interface/Klasse für dein Terrain (optional, je nach Design)
 import io.github.some_example_name.Terrain.HeightField; // Deine Klasse, die die Heightmap-Daten für die Physik aufbereitet
+import io.github.some_example_name.enums.BroadphaseMode;
 import io.github.some_example_name.enums.CameraMode; // Deine Enum für verschiedene Kameramodi
+import io.github.some_example_name.enums.NormalMode;
+import io.github.some_example_name.enums.TerrainMode; // Einzelnes Mesh oder Patches mit LOD
 // *** NEUE IMPORTS für die ausgelagerten Klassen ***
 import io.github.some_example_name.Player.PlayerInputHandler; // Der neue Handler für Spielereingaben
 import io.github.some_example_name.Terrain.TerrainManager; // Der neue Manager für das Terrain
+import io.github.some_example_name.Terrain.TerrainCache;
 
 /**
  * Die Hauptklasse deines Spiels. Sie initialisiert alle Systeme,
@@ -77,10 +82,9 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
     private DirectionalLightEx light;// Das Haupt-Sonnenlicht in der Szene
     private SceneAsset houseSceneAsset;     // Asset für das HAUS-Modell (wird einmal geladen)
     private Array<Scene> houseVisualScenes = new Array<>(); // Hält die einzelnen visuellen Szenen der platzierten Häuser
-    private Array<StaticObjectPhysics> housePhysicsBodies = new Array<>(); // Hält die Physik-Körper der Häuser
     private SceneAsset kaktiSceneAsset;     // Asset für das HAUS-Modell (wird einmal geladen)
     private Array<Scene> kaktiVisualScenes = new Array<>(); // Hält die einzelnen visuellen Szenen der platzierten Häuser
-    private Array<StaticObjectPhysics> kaktiPhysicsBodies = new Array<>(); // Hält die Physik-Körper der Häuser
+    private StaticPropBatch staticProps;    // Alle Häuser und Kakteen als EIN Kollisionsobjekt (Compound-Form)
 
 
     // --- Spiel-Logik ---
@@ -119,9 +123,19 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
     private final String CHARACTER_MODEL_PATH = "Models/bean.gltf";  // Pfad zur GLTF-Datei des Spielers
     private final String HEIGHTMAP_PATH = "textures/heightmap.png"; // Pfad zur Höhentextur für das Terrain
     private final float TERRAIN_MAX_HEIGHT = 30f;                   // Maximale Höhe, die das Terrain erreichen kann
+    private final int TERRAIN_MESH_STEP = 2;                        // Höhenwerte pro Mesh-Zelle, Details über die Normal-Map (4x weniger Vertices)
+    private final NormalMode TERRAIN_NORMAL_MODE = NormalMode.WEIGHTED; // CENTRAL_DIFFERENCE baut schneller, schattiert aber etwas anders
     // Dimensionen des *visuellen* Terrains (wichtig für die Physik-Anpassung!)
     private final float VISUAL_TERRAIN_WIDTH = 100f;  // << PASSE DIES AN die tatsächliche Breite deines Terrains an!
     private final float VISUAL_TERRAIN_DEPTH = 100f;  // << PASSE DIES AN die tatsächliche Tiefe deines Terrains an!
+    // Offene Welt: Kachel-Archiv (mit ./gradlew :core:tileHeightmap erzeugt), liegt relativ zum assets-Ordner
+    private final String TILE_ARCHIVE_PATH = "terrain/world.tiles";
+    private final float TILE_WORLD_SIZE = 256f;     // Kantenlänge einer Kachel in Welteinheiten
+    private final int TILE_LOAD_RADIUS = 2;         // Kacheln in jede Richtung um den Spieler (5x5 geladen)
+    // Prozedurale Welt (PROCEDURAL): gleicher Seed = gleiche Welt
+    private final long PROCEDURAL_SEED = 1337L;
+    private final int PROCEDURAL_TILE_SIZE = 64;           // Zellen pro Kachelkante
+    private final float PROCEDURAL_CELLS_PER_FEATURE = 256f; // Zellen pro Noise-Einheit (Größe der Hügel)
 
     // Charakter-Physik Werte
     private final float CHARACTER_RADIUS = 0.8f;    // Radius der Kollisionskapsel
@@ -130,6 +144,25 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
     // Steuerungs-Werte
     private final float MOVE_SPEED = 7.0f;          // Bewegungsgeschwindigkeit
     private final float JUMP_FORCE = 450f;          // Kraft des Sprungimpulses
+    // Physik auf eigenem Thread mit fester Rate, überlappt mit dem Rendern (false = Schritt im Frame)
+    private final boolean PHYSICS_ON_OWN_THREAD = true;
+    // Physik-Ticks pro Sekunde; gezeichnet wird dazwischen interpoliert, 30 reicht also auch bei 144 Hz
+    private final float PHYSICS_TICK_RATE = 60f;
+    // Broadphase; die Sweep-and-Prune-Modi bekommen ihre Weltgrenzen vom TerrainManager (beim Streaming DBVT).
+    // Vergleich: ./gradlew :benchmarks:jmh -PjmhInclude=Broadphase
+    private final BroadphaseMode PHYSICS_BROADPHASE = BroadphaseMode.DBVT;
+    // Messwerte pro Physik-Tick sammeln (Schrittdauer, Paare, Kontakte ...), Ausgabe mit F4
+    private final boolean PHYSICS_PROFILING = false;
+    // Gebackenes Terrain (Höhen, Vertices, Normal-Map) zwischen den Starts im Home-Verzeichnis ablegen: schnellerer Start
+    private final boolean TERRAIN_CACHE = false;
+    private final String TERRAIN_CACHE_DIR = ".test-gayme/cache";
+    // Aufbau und Eingaben der Physik aufnehmen, beim Beenden nach RECORDING_FILE schreiben (Wiedergabe: :benchmarks:replay)
+    private final boolean RECORD_PHYSICS = false;
+    private final String RECORDING_FILE = "recordings/session.physrec";
+    // Native Ressourcen (Bullet, Meshes, Texturen, SceneAssets) mitzählen: Bericht mit F5, Leck-Liste beim Beenden
+    private final boolean TRACK_NATIVE_RESOURCES = false;
+    // Zusätzlich die Aufrufstelle jedes Eintrags in der Leck-Liste (ein Stack-Trace pro Anlegen, nur zur Leck-Suche)
+    private final boolean TRACK_NATIVE_SITES = false;
 
 
     /**
@@ -143,8 +176,14 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
         // --- Grundlegende Initialisierungen ---
         Bullet.init(); // SEHR WICHTIG: Muss vor jeder Bullet-Nutzung aufgerufen werden!
         Gdx.app.log("Main", "Bullet initialized."); // Log-Ausgabe zur Kontrolle
+        NativeLedger.setCaptureSites(TRACK_NATIVE_SITES);
+        NativeLedger.setEnabled(TRACK_NATIVE_RESOURCES); // vor allem, was native Objekte anlegt
 
-        physicsSystem = new PhysicsSystem(); // Erstellt die Physik-Welt, Schwerkraft etc.
+        physicsSystem = new PhysicsSystem(PHYSICS_TICK_RATE, PHYSICS_BROADPHASE, null, null); // Erstellt die Physik-Welt, Schwerkraft etc.
+        physicsSystem.getProfiler().setEnabled(PHYSICS_PROFILING);
+        if (RECORD_PHYSICS) {
+            physicsSystem.startRecording(); // vor Terrain, Spieler und Häusern, damit der Anfangszustand dabei ist
+        }
         Gdx.app.log("Main", "Physics system created.");
 
         // --- Initialisiere Debug Drawer ---
@@ -176,7 +215,7 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
             @Override
             public int getDebugMode() { return debugMode; } // Modus abfragen
         };
-        physicsSystem.dynamicsWorld.setDebugDrawer(debugDrawer); // Den Drawer der Physik-Welt zuweisen
+        physicsSystem.setDebugDrawer(debugDrawer); // Den Drawer der Physik-Welt zuweisen
         Gdx.app.log("Main", "Bullet Debug Drawer initialized and set.");
 
         // --- Fenster / Grafik Setup ---
@@ -209,13 +248,13 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
 
         // IBL (Image Based Lighting) Setup - Erzeugt Cubemaps für Umgebungsreflexionen
         IBLBuilder iblBuilder = IBLBuilder.createOutdoor(light); // Erstellt einen Builder basierend auf dem Licht
-        environmentCubemap = iblBuilder.buildEnvMap(1024);      // Cubemap für Spiegelungen
-        diffuseCubemap = iblBuilder.buildIrradianceMap(256);   // Cubemap für diffuse Beleuchtung
-        specularCubemap = iblBuilder.buildRadianceMap(10);      // Cubemap für Glanzlichter
+        environmentCubemap = NativeLedger.track(iblBuilder.buildEnvMap(1024), "Main");      // Cubemap für Spiegelungen
+        diffuseCubemap = NativeLedger.track(iblBuilder.buildIrradianceMap(256), "Main");   // Cubemap für diffuse Beleuchtung
+        specularCubemap = NativeLedger.track(iblBuilder.buildRadianceMap(10), "Main");      // Cubemap für Glanzlichter
         iblBuilder.dispose(); // Builder wird nicht mehr gebraucht
 
         // BRDF Lookup Texture - Eine Hilfstextur für PBR
-        brdfLUT = new Texture(Gdx.files.classpath("net/mgsx/gltf/shaders/brdfLUT.png"));
+        brdfLUT = NativeLedger.track(new Texture(Gdx.files.classpath("net/mgsx/gltf/shaders/brdfLUT.png")), "Main");
 
         // Fügt die IBL-Texturen zur Umgebung des SceneManagers hinzu
         sceneManager.setAmbientLight(1f); // Generelles Umgebungslicht
@@ -232,7 +271,7 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
 
         // --- Spieler-Modell laden ---
         // Lädt die GLTF-Datei und erstellt eine Szene daraus.
-        sceneAsset = new GLTFLoader().load(Gdx.files.internal(CHARACTER_MODEL_PATH)); // Lädt die Datei
+        sceneAsset = NativeLedger.track(new GLTFLoader().load(Gdx.files.internal(CHARACTER_MODEL_PATH)), "Main"); // Lädt die Datei
         playerScene = new Scene(sceneAsset.scene); // Erstellt eine renderbare Szene aus dem geladenen Asset
         sceneManager.addScene(playerScene); // Fügt die Spieler-Szene zum SceneManager hinzu
         // Optional: Startet die erste Animation des Modells im Loop (-1 = unendlich)
@@ -247,7 +286,7 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
         assetManager.load(houseModelPath, SceneAsset.class);
         assetManager.finishLoading();
         if (assetManager.isLoaded(houseModelPath, SceneAsset.class)) {
-            houseSceneAsset = assetManager.get(houseModelPath, SceneAsset.class);
+            houseSceneAsset = NativeLedger.track(assetManager.get(houseModelPath, SceneAsset.class), "AssetManager");
             Gdx.app.log("Main", "House SceneAsset '" + houseModelPath + "' erfolgreich geladen.");
         } else {
             Gdx.app.error("Main", "House SceneAsset '" + houseModelPath + "' konnte NICHT geladen werden!");
@@ -259,7 +298,7 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
         assetManager.load(kaktiModelPath, SceneAsset.class);
         assetManager.finishLoading();
         if (assetManager.isLoaded(kaktiModelPath, SceneAsset.class)) {
-            kaktiSceneAsset = assetManager.get(kaktiModelPath, SceneAsset.class);
+            kaktiSceneAsset = NativeLedger.track(assetManager.get(kaktiModelPath, SceneAsset.class), "AssetManager");
             Gdx.app.log("Main", "House SceneAsset '" + kaktiModelPath + "' erfolgreich geladen.");
         } else {
             Gdx.app.error("Main", "House SceneAsset '" + kaktiModelPath + "' konnte NICHT geladen werden!");
@@ -277,6 +316,18 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
         terrainManager = new TerrainManager(sceneManager, physicsSystem,
                 HEIGHTMAP_PATH, TERRAIN_MAX_HEIGHT,
                 VISUAL_TERRAIN_WIDTH, VISUAL_TERRAIN_DEPTH); // Übergabe der Abhängigkeiten und Konfiguration
+        // 8-Bit-Heightmap: 16-Bit-Höhen sind verlustfrei genug und brauchen nur halb so viel Speicher (auch in Bullet)
+        terrainManager.setQuantizedHeights(true);
+        // Gröberes Mesh, die Beleuchtung kommt aus einer gebackenen Normal-Map in voller Auflösung
+        terrainManager.setMeshStep(TERRAIN_MESH_STEP);
+        terrainManager.setNormalMode(TERRAIN_NORMAL_MODE);
+        if (TERRAIN_CACHE) terrainManager.setTerrainCache(new TerrainCache(Gdx.files.external(TERRAIN_CACHE_DIR)));
+        // Gibt es ein Kachel-Archiv, startet das Spiel gleich in der gestreamten offenen Welt
+        terrainManager.setTileArchive(Gdx.files.local(TILE_ARCHIVE_PATH), TILE_WORLD_SIZE, TILE_LOAD_RADIUS);
+        terrainManager.setProceduralTerrain(PROCEDURAL_SEED, PROCEDURAL_TILE_SIZE, PROCEDURAL_CELLS_PER_FEATURE, TILE_WORLD_SIZE, TILE_LOAD_RADIUS);
+        if (terrainManager.hasTileArchive()) {
+            terrainManager.setTerrainMode(TerrainMode.STREAMING);
+        }
         // Erstellt das erste Terrain beim Start
         if (!terrainManager.createOrReplaceTerrain()) {
             // Wichtige Fehlerbehandlung: Was tun, wenn das Terrain nicht erstellt werden kann?
@@ -291,25 +342,27 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
         // damit wir die Terrainhöhe für die Startposition abfragen können.
         if (playerScene.modelInstance != null) {
             float startHeight = CHARACTER_HEIGHT * 1.5f; // Standardhöhe über der Basis
-            Vector3 basePosition = new Vector3(); // Startpunkt (X,Y,Z) des Terrains am Vertex (0,0)
-
-            // Frage die Höhe vom TerrainManager ab (der hält das physicsHeightField)
-            HeightField currentPhysicsHF = terrainManager.getPhysicsHeightField(); // Getter verwenden
-            if (currentPhysicsHF != null) {
-                currentPhysicsHF.getPositionAt(basePosition, 0, 0); // Weltposition von Vertex (0,0)
-                startHeight = basePosition.y + CHARACTER_HEIGHT * 1.5f; // Höhe über diesem Punkt + Puffer
-                Gdx.app.log("Main", "Terrain height at vertex (0,0) from HeightField: " + basePosition.y);
+            Vector3 basePosition = new Vector3(); // Startpunkt (X,Y,Z) in der Mitte des Terrains
+
+            // Definiere die gewünschten Offsets für die Startposition
+            float offsetX = 10.0f; // Beispiel: Nach rechts
+            float offsetZ = 15.0f; // Beispiel: Nach vorne
+
+            // Frage die Höhe vom TerrainManager ab (Darstellung und Physik teilen sich das HeightField)
+            HeightField currentHF = terrainManager.getHeightField(); // Getter verwenden
+            if (currentHF != null) {
+                currentHF.getPositionAt(basePosition, currentHF.width / 2, currentHF.height / 2); // Weltposition der Map-Mitte
+                // Exakte Höhe genau am Startpunkt (interpoliert wie Mesh und Physik), nicht am nächsten Gitterpunkt
+                float groundY = currentHF.getHeightAt(basePosition.x + offsetX, basePosition.z + offsetZ);
+                startHeight = groundY + CHARACTER_HEIGHT * 1.5f; // Höhe über diesem Punkt + Puffer
+                Gdx.app.log("Main", "Terrain height at start position from HeightField: " + groundY);
             } else {
                 // Fallback, falls kein Terrain da ist (sollte wegen Fehlerbehandlung oben nicht passieren)
                 startHeight += TERRAIN_MAX_HEIGHT;
-                Gdx.app.log("Main", "Could not get physicsHeightField from TerrainManager, using fallback start height.");
+                Gdx.app.log("Main", "Could not get HeightField from TerrainManager, using fallback start height.");
                 basePosition.set(0, 0, 0); // Annahme: Start bei Weltursprung
             }
 
-            // Definiere die gewünschten Offsets für die Startposition
-            float offsetX = 10.0f; // Beispiel: Nach rechts
-            float offsetZ = 15.0f; // Beispiel: Nach vorne
-
             // Berechne die finale Startposition
             Vector3 startPos = new Vector3(
                     basePosition.x + offsetX, // Start X + Offset X
@@ -349,6 +402,12 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
         } else {
             Gdx.app.log("Main", "houseSceneAsset ist null, createStaticObjects() wird übersprungen.");
         }
+
+        // Erst jetzt, wenn Terrain, Spieler und Häuser in der Welt sind, übernimmt der Physik-Thread
+        if (PHYSICS_ON_OWN_THREAD) {
+            physicsSystem.startSimulationThread();
+        }
+        NativeLedger.mark(); // Ausgangsstand: F5 zeigt, was seitdem dazugekommen ist (z.B. nach mehreren F1)
     } // Ende create()
 
     // In Main.java
@@ -368,8 +427,11 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
             return; // Abbrechen, wenn das Asset fehlt
         }
 
+        // Alle statischen Objekte landen in einem Compound-Körper (ein Broadphase-Proxy statt einem pro Objekt)
+        staticProps = new StaticPropBatch(physicsSystem);
+
         // --- Haus 1 ---
-        Vector3 house1Position = new Vector3(400f, 0f, 450f); // ANPASSEN: X, Basis-Y, Z
+        Vector3 house1Position = placeOnTerrain(new Vector3(400f, 0f, 450f)); // ANPASSEN: X, Z (Y kommt vom Terrain)
         float house1RotationY = 45f; // ANPASSEN: Rotation um Y in Grad
 
         // Visuelle Szene für Haus 1 erstellen
@@ -428,18 +490,16 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
 
         // --- ENDE KORREKTUR ---
 
-        StaticObjectPhysics physicsForHouse1 = new StaticObjectPhysics(
-                physicsSystem,
+        staticProps.addBox(
                 houseHalfExtents,
-                house1PhysicsTransform // Die korrekt gesetzte Transformation
+                house1PhysicsTransform, // Die korrekt gesetzte Transformation
+                "Haus_1"                // Eindeutige ID (über den Teil-Index abfragbar)
         );
-        housePhysicsBodies.add(physicsForHouse1);
-        physicsForHouse1.body.userData = "Haus_1"; // Eindeutige ID
         Gdx.app.log("Main", "Created physics for house 1.");
 
 
         // --- Haus 2 (Beispiel) ---
-        Vector3 house2Position = new Vector3(450f, 0f, 400f); // ANPASSEN
+        Vector3 house2Position = placeOnTerrain(new Vector3(450f, 0f, 400f)); // ANPASSEN
         float house2RotationY = -30f; // ANPASSEN
 
         Scene house2Visual = new Scene(houseSceneAsset.scene);
@@ -460,17 +520,15 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
         house2PhysicsTransform.rotate(house2Rotation);
         // house2PhysicsTransform.scale(house2Scale.x, house2Scale.y, house2Scale.z); // Wenn Skalierung nötig
 
-        StaticObjectPhysics physicsForHouse2 = new StaticObjectPhysics(
-                physicsSystem,
-                houseHalfExtents, // Oder andere Maße
-                house2PhysicsTransform
+        staticProps.addBox(
+                houseHalfExtents, // Oder andere Maße (gleiche Maße teilen sich eine Form)
+                house2PhysicsTransform,
+                "Haus_2"
         );
-        housePhysicsBodies.add(physicsForHouse2);
-        physicsForHouse2.body.userData = "Haus_2";
         Gdx.app.log("Main", "Created and placed house 2.");
 
         // --- Haus 3 (Beispiel) ---
-        Vector3 house3Position = new Vector3(470f, 10f, 470f); // ANPASSEN
+        Vector3 house3Position = placeOnTerrain(new Vector3(470f, 10f, 470f)); // ANPASSEN
         float house3RotationY = -30f; // ANPASSEN
 
         Scene house3Visual = new Scene(houseSceneAsset.scene);
@@ -491,17 +549,15 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
         house3PhysicsTransform.rotate(house3Rotation);
         // house2PhysicsTransform.scale(house2Scale.x, house2Scale.y, house2Scale.z); // Wenn Skalierung nötig
 
-        StaticObjectPhysics physicsForHouse3 = new StaticObjectPhysics(
-                physicsSystem,
-                houseHalfExtents, // Oder andere Maße
-                house3PhysicsTransform
+        staticProps.addBox(
+                houseHalfExtents, // Oder andere Maße (gleiche Maße teilen sich eine Form)
+                house3PhysicsTransform,
+                "Haus_3"
         );
-        housePhysicsBodies.add(physicsForHouse3);
-        physicsForHouse3.body.userData = "Haus_3";
         Gdx.app.log("Main", "Created and placed house 3.");
 
         // --- kakti1 (Beispiel) ---
-        Vector3 kakti1Position = new Vector3(450f, 30f, 400f); // ANPASSEN
+        Vector3 kakti1Position = placeOnTerrain(new Vector3(450f, 30f, 400f)); // ANPASSEN
         float kakti1RotationY = -30f; // ANPASSEN
 
         Scene kakti1Visual = new Scene(kaktiSceneAsset.scene);
@@ -523,16 +579,17 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
         kakti1PhysicsTransform.rotate(kakti1Rotation);
         // house2PhysicsTransform.scale(house2Scale.x, house2Scale.y, house2Scale.z); // Wenn Skalierung nötig
 
-        StaticObjectPhysics physicsForKakti1 = new StaticObjectPhysics(
-                physicsSystem,
+        staticProps.addBox(
                 houseHalfExtents, // Oder andere Maße
-                kakti1PhysicsTransform
+                kakti1PhysicsTransform,
+                "Kakti_1"
         );
-        kaktiPhysicsBodies.add(physicsForKakti1);
-        physicsForKakti1.body.userData = "Kakti_1";
         Gdx.app.log("Main", "Created and placed kakti1.");
 
         // ... Füge weitere Häuser hinzu ...
+
+        // Alle Teile als ein Kollisionsobjekt in die Welt
+        staticProps.build();
     }
 
 // ... (Rest der Main-Klasse: create(), render(), dispose(), etc.) ...
@@ -546,8 +603,8 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
         // 1. Delta Time holen und begrenzen
         // deltaTime: Zeit seit dem letzten Frame in Sekunden. Wichtig für zeitbasierte Bewegung/Physik.
         float deltaTime = Gdx.graphics.getDeltaTime();
-        // Begrenzung: Verhindert "Explosionen" in der Physik, wenn das Spiel kurz hängt (großes deltaTime).
-        deltaTime = Math.min(deltaTime, 1f / 30f); // Maximal 1/30 Sekunde pro Physikschritt
+        // Begrenzung für Kamera und Animationen, wenn das Spiel kurz hängt (großes deltaTime). Die Physik bekommt die echte Zeit.
+        deltaTime = Math.min(deltaTime, 1f / 30f); // Maximal 1/30 Sekunde pro Frame
 
         // 2. Spieler-Input verarbeiten --- NEU
         // Delegiert die Verarbeitung von WASD, Sprung etc. an den Handler.
@@ -558,17 +615,19 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
 
 
         // 3. Physik-Welt aktualisieren
-        // Lässt die Physik-Engine die Zeit (deltaTime) weiterschreiten.
+        // Sammelt die echte Frame-Zeit und rechnet ganze Physik-Ticks fester Länge (deshalb nicht das gekürzte deltaTime,
+        // zu große Rückstände verwirft der Akkumulator selbst).
         // Bewegt Objekte, prüft Kollisionen, wendet Schwerkraft an etc.
+        // Mit eigenem Physik-Thread wird hier nur der neueste Tick für diesen Frame übernommen.
         if (physicsSystem != null) {
-            physicsSystem.update(deltaTime);
+            physicsSystem.update(Gdx.graphics.getDeltaTime());
         }
 
 
 
 
         // 4. Grafik an Physik anpassen
-        // Holt die neue Position/Rotation des Physik-Körpers des Spielers
+        // Holt die Position/Rotation des Physik-Körpers des Spielers (zwischen den letzten beiden Ticks interpoliert)
         // und wendet sie auf die Transformation des sichtbaren Spieler-Modells an.
         if (characterPhysics != null) {
             characterPhysics.updateGraphicsTransform();
@@ -584,6 +643,12 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
             playerCameraController.update(playerPhysicsPosition, player.getAngleBehindPlayer(), deltaTime); // Kamera-Controller updaten
         }
 
+        // 5b. Terrain updaten (fertigen Neuaufbau übernehmen, LOD-Auswahl und Culling im CHUNKED-Modus,
+        //     Kacheln um den Spieler im STREAMING-Modus)
+        if (terrainManager != null) {
+            terrainManager.update(camera, playerPhysicsPosition);
+        }
+
         // 6. SceneManager updaten
         // Aktualisiert interne Zustände des SceneManagers (z.B. Animationen).
         sceneManager.update(deltaTime);
@@ -602,7 +667,7 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
         if (drawDebug && debugDrawer != null && shapeRenderer != null && physicsSystem != null) {
             shapeRenderer.setProjectionMatrix(camera.combined); // WICHTIG: Gleiche Sicht wie die Kamera
             shapeRenderer.begin(ShapeRenderer.ShapeType.Line); // Beginne Linien zu zeichnen
-            physicsSystem.dynamicsWorld.debugDrawWorld(); // Sage Bullet, es soll sich zeichnen
+            physicsSystem.debugDrawWorld(); // Sage Bullet, es soll sich zeichnen (wartet im Thread-Modus auf den laufenden Schritt)
             shapeRenderer.end(); // Beende das Zeichnen
         }
 
@@ -611,9 +676,30 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
         if (Gdx.input.isKeyJustPressed(Input.Keys.F1)) {
             if (terrainManager != null) { // Prüfen ob der Manager existiert
                 Gdx.app.log("Main", "F1 pressed, requesting terrain recreation...");
-                if (!terrainManager.createOrReplaceTerrain()) { // Rufe die Methode im Manager auf
-                    Gdx.app.error("Main", "Terrain recreation FAILED!");
-                }
+                // Baut im Hintergrund, das alte Terrain bleibt bis zum Tausch (in terrainManager.update) aktiv
+                terrainManager.rebuildTerrainAsync();
+            }
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F2)) {
+            if (terrainManager != null && !terrainManager.isRebuilding()) {
+                // Reihum: ein Mesh -> Patches mit LOD -> Streaming (nur mit Kachel-Archiv) -> ein Mesh
+                TerrainMode[] modes = TerrainMode.values();
+                TerrainMode nextMode = modes[(terrainManager.getTerrainMode().ordinal() + 1) % modes.length];
+                if (nextMode == TerrainMode.STREAMING && !terrainManager.hasTileArchive()) nextMode = modes[(nextMode.ordinal() + 1) % modes.length];
+                if (nextMode == TerrainMode.PROCEDURAL && !terrainManager.hasProceduralTerrain()) nextMode = TerrainMode.SINGLE_MESH;
+                terrainManager.setTerrainMode(nextMode);
+                Gdx.app.log("Main", "F2 pressed, switching terrain mode to " + nextMode);
+                terrainManager.rebuildTerrainAsync();
+            }
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F4)) {
+            if (physicsSystem != null && physicsSystem.getProfiler().isEnabled()) {
+                physicsSystem.getProfiler().log(); // Physik-Messwerte der letzten Sekunden ins Log
+            }
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F5)) {
+            if (NativeLedger.isEnabled()) {
+                NativeLedger.report(); // lebende native Objekte je Typ und Besitzer, Zuwachs seit dem Start
             }
         }
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
@@ -622,6 +708,18 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
     } // Ende render()
 
 
+    /**
+     * Setzt position.y auf die Terrainhöhe an (x, z), damit Objekte auf dem Boden stehen.
+     * Ist dort kein Terrain, bleibt der eingetragene Wert.
+     */
+    private Vector3 placeOnTerrain(Vector3 position) {
+        float groundY = terrainManager != null ? terrainManager.getHeightAt(position.x, position.z) : Float.NaN;
+        if (!Float.isNaN(groundY)) {
+            position.y = groundY;
+        }
+        return position;
+    }
+
     /**
      * Hilfsmethode zum Umschalten des Vollbildmodus.
      */
@@ -670,7 +768,7 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
             Gdx.app.log("Main", "Debug Drawing toggled: " + drawDebug);
             return true; // Event behandelt
         }
-        // F1 und ESC werden in render() über isKeyJustPressed geprüft, da sie nur einmal auslösen sollen.
+        // F1, F2, F4, F5 und ESC werden in render() über isKeyJustPressed geprüft, da sie nur einmal auslösen sollen.
         return false; // false: Signalisiert, dass das Event nicht behandelt wurde (andere Listener könnten es bekommen)
     }
 
@@ -712,6 +810,15 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
 
         // Reihenfolge ist wichtig: Abhängige Objekte zuerst, dann die Systeme.
 
+        // 0. Physik-Thread anhalten, damit kein Schritt mehr auf Körper zugreift, die gleich freigegeben werden
+        if (physicsSystem != null) {
+            physicsSystem.stopSimulationThread();
+            PhysicsRecording recording = physicsSystem.stopRecording(); // null, wenn nicht aufgenommen wurde
+            if (recording != null) {
+                recording.write(Gdx.files.local(RECORDING_FILE));
+            }
+        }
+
         // 1. Eigene Handler/Manager zuerst (damit sie ihre internen Ressourcen freigeben)
         if (terrainManager != null) {
             terrainManager.dispose(); // Ruft disposeCurrentTerrain() auf
@@ -719,6 +826,12 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
         Gdx.app.log("Main", "Disposed TerrainManager.");
         // PlayerInputHandler hat normalerweise nichts zum Disposen
 
+        // Häuser und Kakteen (Compound-Körper und geteilte Formen)
+        if (staticProps != null) {
+            staticProps.dispose();
+            staticProps = null;
+        }
+
         // 2. Charakter-Physik (wenn nicht schon vom Manager disposed)
         if (characterPhysics != null) {
             characterPhysics.dispose();
@@ -751,26 +864,36 @@ public class Main extends ApplicationAdapter implements AnimationController.Anim
         }
         // Das SceneAsset enthält die Rohdaten, die auch freigegeben werden müssen.
         if (sceneAsset != null) {
+            NativeLedger.untrack(sceneAsset);
             sceneAsset.dispose();
         }
         Gdx.app.log("Main", "Disposed SceneManager and player sceneAsset.");
 
         // 6. IBL Texturen und Skybox
+        NativeLedger.untrack(environmentCubemap);
+        NativeLedger.untrack(diffuseCubemap);
+        NativeLedger.untrack(specularCubemap);
+        NativeLedger.untrack(brdfLUT);
         if (environmentCubemap != null) environmentCubemap.dispose();
         if (diffuseCubemap != null) diffuseCubemap.dispose();
         if (specularCubemap != null) specularCubemap.dispose();
         if (brdfLUT != null) brdfLUT.dispose();
         if (skybox != null) skybox.dispose(); // Skybox hält auch Referenzen
         Gdx.app.log("Main", "Disposed IBL and skybox resources.");
-        if (houseSceneAsset != null) {
-            houseSceneAsset.dispose();
-            houseSceneAsset = null;
-        }
+        // Haus und Kakteen gehören dem AssetManager und werden nur von ihm freigegeben (nicht zusätzlich selbst)
+        NativeLedger.untrack(houseSceneAsset);
+        NativeLedger.untrack(kaktiSceneAsset);
+        houseSceneAsset = null;
+        kaktiSceneAsset = null;
         if (assetManager != null) {
             assetManager.dispose(); // Gibt alle vom AssetManager geladenen Ressourcen frei
         }
 
         // Visuelles Terrain wird jetzt vom TerrainManager disposed.
         Gdx.app.log("Main", "Dispose complete.");
+        // Was jetzt noch eingetragen ist, wurde nicht freigegeben
+        if (NativeLedger.isEnabled()) {
+            NativeLedger.reportLeaks();
+        }
     } // Ende dispose()
 } // Ende Main Klasse
\ No newline at end of file
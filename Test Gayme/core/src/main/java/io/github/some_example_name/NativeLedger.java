@@ -0,0 +1,356 @@
+package io.github.some_example_name;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Cubemap;
+import com.badlogic.gdx.graphics.GLTexture;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.physics.bullet.BulletBase;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionDispatcher;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionShape;
+import com.badlogic.gdx.physics.bullet.collision.btCompoundShape;
+import com.badlogic.gdx.physics.bullet.collision.btDbvtBroadphase;
+import com.badlogic.gdx.physics.bullet.collision.btDefaultCollisionConfiguration;
+import com.badlogic.gdx.physics.bullet.collision.btHeightfieldTerrainShape;
+import com.badlogic.gdx.physics.bullet.dynamics.btDiscreteDynamicsWorld;
+import com.badlogic.gdx.physics.bullet.dynamics.btRigidBody;
+import com.badlogic.gdx.physics.bullet.dynamics.btSequentialImpulseConstraintSolver;
+import com.badlogic.gdx.physics.bullet.linearmath.btMotionState;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import net.mgsx.gltf.scene3d.scene.SceneAsset;
+import net.mgsx.gltf.scene3d.scene.SceneModel;
+
+import java.util.Comparator;
+
+/**
+ * Buchführung über native Ressourcen: Bullet-Objekte, Meshes, Texturen und SceneAssets werden beim Anlegen mit Besitzer
+ * (z.B. "CharacterPhysics") und Aufrufstelle eingetragen ({@link #track}) und beim dispose wieder ausgetragen
+ * ({@link #untrack}). {@link #report()} zeigt die lebenden Objekte je Typ und Besitzer mit geschätzten nativen Bytes und
+ * dem Zuwachs seit {@link #mark()}, {@link #reportLeaks()} listet jedes noch lebende Objekt mit seiner Aufrufstelle
+ * (nach dem Aufräumen sind das die Lecks). Wächst eine Gruppe zwischen zwei Berichten bei gleichem Spielzustand
+ * (z.B. nach mehreren F1), wird irgendwo nicht freigegeben.
+ * <p>
+ * Die Bytes sind Schätzungen beim Anlegen: Texturen und Meshes nach Größe und Format, Bullet-Objekte mit festen Werten
+ * nach Typ (siehe {@link #estimateBytes}). Was Bullet später intern nachwächst (Paar-Caches, Objekt-Arrays), fehlt.
+ * <p>
+ * Anfangs aus, dann kosten track/untrack nur eine Abfrage. Global und thread-sicher; Objekte aus der Zeit vor dem
+ * Einschalten sind unbekannt und werden beim Austragen ignoriert.
+ */
+public final class NativeLedger {
+
+    /** Wie viele Aufrufer pro Aufrufstelle gespeichert werden (der erste ist die Stelle, an der track aufgerufen wurde). */
+    private static final int SITE_DEPTH = 3;
+    /** Höchstens so viele Einträge pro {@link #reportLeaks()}, der Rest wird nur gezählt. */
+    private static final int MAX_LEAK_LINES = 50;
+
+    // Grobe Größen nativer Bullet-Objekte (64 Bit), ohne später wachsende Arrays
+    private static final long RIGID_BODY_BYTES = 640;
+    private static final long COLLISION_OBJECT_BYTES = 320;
+    private static final long MOTION_STATE_BYTES = 208;
+    private static final long SHAPE_BYTES = 112;
+    private static final long HEIGHTFIELD_SHAPE_BYTES = 176;   // die Höhen selbst gehören dem HeightField
+    private static final long COMPOUND_SHAPE_BYTES = 176;
+    private static final long COMPOUND_CHILD_BYTES = 184;      // Teil plus Blatt und Knoten im AABB-Baum
+    private static final long COLLISION_CONFIGURATION_BYTES = 4L << 20; // Pools für 4096 Manifolds und Algorithmen
+    private static final long DISPATCHER_BYTES = 2048;
+    private static final long DBVT_BROADPHASE_BYTES = 4096;
+    private static final long SOLVER_BYTES = 1024;
+    private static final long DYNAMICS_WORLD_BYTES = 2048;
+    private static final long OTHER_BULLET_BYTES = 128;
+
+    private static final class Group {
+        final String type, owner;
+        int count;
+        long bytes;
+        int markedCount;
+
+        Group(String type, String owner) {
+            this.type = type;
+            this.owner = owner;
+        }
+    }
+
+    private static final class Entry {
+        final Group group;
+        final long bytes;
+        final StackTraceElement[] site;
+
+        Entry(Group group, long bytes, StackTraceElement[] site) {
+            this.group = group;
+            this.bytes = bytes;
+            this.site = site;
+        }
+    }
+
+    // Identität statt equals: BulletBase vergleicht über den nativen Zeiger, der nach dispose 0 ist bzw. neu vergeben wird
+    private static final IdentityMap<Object, Entry> live = new IdentityMap<Object, Entry>();
+    private static final ObjectMap<String, Group> groups = new ObjectMap<String, Group>();
+    private static volatile boolean enabled;
+    private static volatile boolean captureSites;
+    // volatile, damit untrack ohne Lock aussteigen kann, solange nichts eingetragen ist (geschrieben wird nur im Lock)
+    private static volatile int liveCount;
+    private static long liveBytes;
+    private static int markedCount;
+    private static long markedBytes;
+
+    private NativeLedger() {
+    }
+
+    public static void setEnabled(boolean enabled) {
+        NativeLedger.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Aufrufstellen mitschreiben (ein Stack-Trace pro track, Standard aus). Ohne gibt es nur Typ und Besitzer; zum Suchen
+     * eines Lecks einschalten, wenn {@link #report()} die Gruppe schon gezeigt hat.
+     */
+    public static void setCaptureSites(boolean captureSites) {
+        NativeLedger.captureSites = captureSites;
+    }
+
+    /** Trägt resource mit geschätzter Größe ({@link #estimateBytes}) ein. @return resource, zum Einsetzen beim Anlegen */
+    public static <T> T track(T resource, String owner) {
+        if (!enabled || resource == null) return resource;
+        return track(resource, owner, estimateBytes(resource));
+    }
+
+    /** Wie {@link #track(Object, String)} mit bekannter Größe, z.B. für vorab reservierte Broadphase-Handles. */
+    public static <T> T track(T resource, String owner, long bytes) {
+        if (!enabled || resource == null) return resource;
+        StackTraceElement[] site = captureSites ? captureSite() : null;
+        synchronized (NativeLedger.class) {
+            Entry old = live.get(resource);
+            if (old != null) remove(old); // doppelt eingetragen: der neue Besitzer gilt
+            String type = typeName(resource);
+            String key = type + '@' + owner;
+            Group group = groups.get(key);
+            if (group == null) {
+                group = new Group(type, owner);
+                groups.put(key, group);
+            }
+            group.count++;
+            group.bytes += bytes;
+            liveCount++;
+            liveBytes += bytes;
+            live.put(resource, new Entry(group, bytes, site));
+        }
+        return resource;
+    }
+
+    /** Trägt resource aus (vor oder nach dem dispose, beides geht). Unbekannte Objekte werden ignoriert. */
+    public static void untrack(Object resource) {
+        if (resource == null || liveCount == 0) return;
+        synchronized (NativeLedger.class) {
+            Entry entry = live.remove(resource);
+            if (entry != null) remove(entry);
+        }
+    }
+
+    private static void remove(Entry entry) {
+        entry.group.count--;
+        entry.group.bytes -= entry.bytes;
+        liveCount--;
+        liveBytes -= entry.bytes;
+    }
+
+    /** Merkt sich den aktuellen Stand; {@link #report()} zeigt den Zuwachs seitdem. */
+    public static synchronized void mark() {
+        for (Group group : groups.values()) {
+            group.markedCount = group.count;
+        }
+        markedCount = liveCount;
+        markedBytes = liveBytes;
+    }
+
+    public static synchronized int getLiveCount() {
+        return liveCount;
+    }
+
+    /** Geschätzte native Bytes aller lebenden Objekte. */
+    public static synchronized long getLiveBytes() {
+        return liveBytes;
+    }
+
+    /** Lebende Objekte dieses Besitzers, über alle Typen. */
+    public static synchronized int getLiveCount(String owner) {
+        int count = 0;
+        for (Group group : groups.values()) {
+            if (group.owner.equals(owner)) count += group.count;
+        }
+        return count;
+    }
+
+    /** Schreibt die lebenden Objekte je Typ und Besitzer ins Log, mit Zuwachs seit {@link #mark()}. */
+    public static synchronized void report() {
+        Gdx.app.log("NativeLedger", liveCount + " live native objects, ~" + toMegabytes(liveBytes) + " MB ("
+                + signed(liveCount - markedCount) + " objects, " + signedMegabytes(liveBytes - markedBytes) + " MB since mark)");
+        Array<Group> sorted = sortedGroups();
+        for (Group group : sorted) {
+            if (group.count == 0 && group.markedCount == 0) continue;
+            Gdx.app.log("NativeLedger", "  " + group.type + " (" + group.owner + "): " + group.count
+                    + ", ~" + toKilobytes(group.bytes) + " KB"
+                    + (group.count != group.markedCount ? " [" + signed(group.count - group.markedCount) + " since mark]" : ""));
+        }
+    }
+
+    /**
+     * Listet jedes lebende Objekt mit Besitzer und Aufrufstelle, z.B. am Ende von dispose: Alles, was dann noch lebt,
+     * wurde nicht freigegeben. @return Anzahl der lebenden Objekte
+     */
+    public static synchronized int reportLeaks() {
+        if (liveCount == 0) {
+            Gdx.app.log("NativeLedger", "No live native objects.");
+            return 0;
+        }
+        Gdx.app.error("NativeLedger", liveCount + " native objects still alive, ~" + toMegabytes(liveBytes) + " MB:");
+        int lines = 0;
+        for (IdentityMap.Entry<Object, Entry> e : live) {
+            if (lines++ == MAX_LEAK_LINES) break;
+            Entry entry = e.value;
+            Gdx.app.error("NativeLedger", "  " + entry.group.type + " (" + entry.group.owner + "), ~"
+                    + toKilobytes(entry.bytes) + " KB" + formatSite(entry.site));
+        }
+        if (liveCount > MAX_LEAK_LINES) Gdx.app.error("NativeLedger", "  ... and " + (liveCount - MAX_LEAK_LINES) + " more");
+        return liveCount;
+    }
+
+    /** Vergisst alle Einträge und Gruppen (z.B. nach {@link #reportLeaks()} beim Beenden). */
+    public static synchronized void clear() {
+        live.clear();
+        groups.clear();
+        liveCount = markedCount = 0;
+        liveBytes = markedBytes = 0;
+    }
+
+    /**
+     * Geschätzte native Größe: Meshes mit Vertex- und Index-Puffer, Texturen mit allen Seiten und Mipmaps, SceneAssets
+     * als Summe ihrer Meshes und eigenen Texturen, Bullet-Objekte mit festen Werten je Typ. Unbekanntes zählt 0.
+     */
+    public static long estimateBytes(Object resource) {
+        if (resource instanceof Mesh) {
+            Mesh mesh = (Mesh)resource;
+            return (long)mesh.getMaxVertices() * mesh.getVertexSize() + (long)mesh.getMaxIndices() * 2L;
+        }
+        if (resource instanceof GLTexture) return textureBytes((GLTexture)resource);
+        if (resource instanceof SceneAsset) return sceneAssetBytes((SceneAsset)resource);
+        if (resource instanceof btRigidBody) return RIGID_BODY_BYTES;
+        if (resource instanceof btCollisionObject) return COLLISION_OBJECT_BYTES;
+        if (resource instanceof btHeightfieldTerrainShape) return HEIGHTFIELD_SHAPE_BYTES;
+        if (resource instanceof btCompoundShape) {
+            return COMPOUND_SHAPE_BYTES + ((btCompoundShape)resource).getNumChildShapes() * COMPOUND_CHILD_BYTES;
+        }
+        if (resource instanceof btCollisionShape) return SHAPE_BYTES;
+        if (resource instanceof btMotionState) return MOTION_STATE_BYTES;
+        if (resource instanceof btDefaultCollisionConfiguration) return COLLISION_CONFIGURATION_BYTES;
+        if (resource instanceof btCollisionDispatcher) return DISPATCHER_BYTES;
+        if (resource instanceof btDbvtBroadphase) return DBVT_BROADPHASE_BYTES;
+        if (resource instanceof btSequentialImpulseConstraintSolver) return SOLVER_BYTES;
+        if (resource instanceof btDiscreteDynamicsWorld) return DYNAMICS_WORLD_BYTES;
+        if (resource instanceof BulletBase) return OTHER_BULLET_BYTES;
+        return 0;
+    }
+
+    private static long textureBytes(GLTexture texture) {
+        int bytesPerPixel = 4;
+        if (texture instanceof Texture && ((Texture)texture).getTextureData().getFormat() != null) {
+            bytesPerPixel = bytesPerPixel(((Texture)texture).getTextureData().getFormat());
+        }
+        long bytes = (long)texture.getWidth() * texture.getHeight() * bytesPerPixel;
+        if (texture instanceof Cubemap) bytes *= 6;
+        if (texture.getMinFilter().isMipMap()) bytes = bytes * 4 / 3;
+        return bytes;
+    }
+
+    private static int bytesPerPixel(Pixmap.Format format) {
+        switch (format) {
+            case Alpha:
+            case Intensity:
+                return 1;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                return 2;
+            case RGB888:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+
+    private static long sceneAssetBytes(SceneAsset asset) {
+        long bytes = 0;
+        if (asset.scenes != null) {
+            for (SceneModel scene : asset.scenes) {
+                if (scene.model == null) continue;
+                for (Mesh mesh : scene.model.meshes) bytes += estimateBytes(mesh);
+            }
+        }
+        // nur die Texturen, die das Asset selbst geladen hat (die des AssetManagers zählen dort)
+        if (asset.textures != null) {
+            for (Texture texture : asset.textures) bytes += textureBytes(texture);
+        }
+        return bytes;
+    }
+
+    private static String typeName(Object resource) {
+        Class<?> type = resource.getClass();
+        while (type.isAnonymousClass()) type = type.getSuperclass();
+        return type.getSimpleName();
+    }
+
+    private static StackTraceElement[] captureSite() {
+        StackTraceElement[] trace = new Throwable().getStackTrace();
+        int first = 0;
+        while (first < trace.length && trace[first].getClassName().equals(NativeLedger.class.getName())) first++;
+        int depth = Math.min(SITE_DEPTH, trace.length - first);
+        StackTraceElement[] site = new StackTraceElement[depth];
+        System.arraycopy(trace, first, site, 0, depth);
+        return site;
+    }
+
+    private static String formatSite(StackTraceElement[] site) {
+        if (site == null || site.length == 0) return "";
+        StringBuilder builder = new StringBuilder(" at ");
+        for (int i = 0; i < site.length; i++) {
+            if (i > 0) builder.append(" < ");
+            builder.append(site[i]);
+        }
+        return builder.toString();
+    }
+
+    private static Array<Group> sortedGroups() {
+        Array<Group> sorted = new Array<Group>(groups.size);
+        for (Group group : groups.values()) sorted.add(group);
+        sorted.sort(new Comparator<Group>() {
+            @Override
+            public int compare(Group a, Group b) {
+                return Long.compare(b.bytes, a.bytes);
+            }
+        });
+        return sorted;
+    }
+
+    private static String signed(int value) {
+        return value >= 0 ? "+" + value : Integer.toString(value);
+    }
+
+    private static String signedMegabytes(long bytes) {
+        return (bytes >= 0 ? "+" : "-") + toMegabytes(Math.abs(bytes));
+    }
+
+    private static String toMegabytes(long bytes) {
+        return String.format("%.2f", bytes / (1024f * 1024f));
+    }
+
+    private static String toKilobytes(long bytes) {
+        return String.format("%.1f", bytes / 1024f);
+    }
+}
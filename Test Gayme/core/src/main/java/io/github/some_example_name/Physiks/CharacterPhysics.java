@@ -8,6 +8,7 @@ import com.badlogic.gdx.physics.bullet.collision.*;
 import com.badlogic.gdx.physics.bullet.dynamics.btRigidBody;
 import com.badlogic.gdx.physics.bullet.linearmath.btDefaultMotionState;
 import com.badlogic.gdx.utils.Disposable;
+import io.github.some_example_name.NativeLedger;
 
 public class CharacterPhysics implements Disposable {
 
@@ -16,23 +17,82 @@ public class CharacterPhysics implements Disposable {
     public btDefaultMotionState motionState;
     public ModelInstance modelInstance; // Referenz zum visuellen Modell
 
+    private final PhysicsSystem physicsSystem;
+    private final int transformSlot; // Slot im Transform-Snapshot des PhysicsSystem
+    private final int recordingId;   // Id in der PhysicsRecording, -1 wenn nicht aufgenommen wird
+
     private final float mass = 80f; // Beispielmasse in kg
     private final Vector3 inertia = new Vector3();
     private final Vector3 tempVelocity = new Vector3();
     private final Vector3 tmpVec = new Vector3();
     // Wird berechnet
 
+    /** Ohne Zustand, kann also beliebig oft gleichzeitig eingereiht sein. */
+    private final PhysicsSystem.Command stopCommand = new PhysicsSystem.Command() {
+        @Override
+        public void execute(PhysicsSystem physicsSystem) {
+            record(PhysicsRecording.STOP, 0, 0, 0);
+            Vector3 currentVelocity = body.getLinearVelocity();
+            // Nur stoppen, wenn der Charakter sich horizontal bewegt (kleiner Schwellenwert)
+            if (Math.abs(currentVelocity.x) > 0.1f || Math.abs(currentVelocity.z) > 0.1f) {
+                body.setLinearVelocity(tempVelocity.set(0, currentVelocity.y, 0));
+            }
+            body.setAngularVelocity(Vector3.Zero);
+        }
+    };
+
+    /**
+     * Setzt die XZ-Geschwindigkeit auf dem Physik-Thread. Eins pro Charakter, als Slot für den neuesten Wert: Solange es
+     * noch eingereiht ist, überschreibt {@link #move(Vector3, float)} nur Richtung und Tempo, statt jeden Frame einen neuen
+     * Befehl einzureihen. Der Monitor schützt die drei Werte, damit der Physik-Thread nie eine halb geschriebene Richtung liest.
+     */
+    private final class MoveCommand implements PhysicsSystem.Command {
+        private float x, z, speed;
+        private boolean queued;
+
+        /** @return true, wenn der Befehl (neu) eingereiht werden muss */
+        synchronized boolean set(Vector3 direction, float speed, boolean reuseQueued) {
+            x = direction.x;
+            z = direction.z;
+            this.speed = speed;
+            if (queued && reuseQueued) return false;
+            queued = true;
+            return true;
+        }
+
+        @Override
+        public void execute(PhysicsSystem physicsSystem) {
+            final float x, z, speed;
+            synchronized (this) {
+                queued = false;
+                x = this.x;
+                z = this.z;
+                speed = this.speed;
+            }
+            record(PhysicsRecording.MOVE, x, z, speed);
+            applyMove(x, z, speed);
+        }
+    }
+
+    private final MoveCommand moveCommand = new MoveCommand();
+    /**
+     * Nur GL-Thread: Der zuletzt eingereihte Befehl dieses Charakters war moveCommand. Sonst (stop, jump dazwischen) muss
+     * ein neuer Move hinter den anderen Befehl, auch wenn der alte noch wartet.
+     */
+    private boolean moveSubmittedLast;
+
     public CharacterPhysics(PhysicsSystem physicsSystem, ModelInstance modelInstance, float radius, float height, float CHARACTER_MASS, Vector3 initialPosition) {
         this.modelInstance = modelInstance;
+        this.physicsSystem = physicsSystem;
 
         // Kollisionsform: Kapsel ist oft am besten für Charaktere
         // Alternativen: btBoxShape, btSphereShape
         // Verwende KEINE komplexe Mesh-Form (btBvhTriangleMeshShape) für dynamische Objekte,
         // das ist langsam und oft instabil.
-        shape = new btCapsuleShape(radius, height); // Y-Achse ist die Höhe
+        shape = physicsSystem.getShapeCache().capsule(radius, height); // Y-Achse ist die Höhe, geteilt mit gleich großen Figuren
 
         // MotionState: Verbindet Physik-Transformation mit Grafik-Transformation
-        motionState = new btDefaultMotionState();
+        motionState = NativeLedger.track(new btDefaultMotionState(), "CharacterPhysics");
         Matrix4 initialTransform = new Matrix4().setToTranslation(initialPosition);
         motionState.setWorldTransform(initialTransform);
         modelInstance.transform.set(initialTransform); // Setze auch die initiale Grafik-Position
@@ -40,13 +100,14 @@ public class CharacterPhysics implements Disposable {
         // Berechne die lokale Trägheit basierend auf Masse und Form
         shape.calculateLocalInertia(mass, inertia);
 
-        // Konstruktionsinfo
+        // Konstruktionsinfo: Bullet kopiert sie in den RigidBody, danach kann sie weg
         btRigidBody.btRigidBodyConstructionInfo constructionInfo = new btRigidBody.btRigidBodyConstructionInfo(
                 mass, motionState, shape, inertia
         );
 
         // Erstelle den RigidBody
-        body = new btRigidBody(constructionInfo);
+        body = NativeLedger.track(new btRigidBody(constructionInfo), "CharacterPhysics");
+        constructionInfo.dispose();
 
 
         // Im CharacterPhysics Konstruktor:
@@ -57,20 +118,36 @@ public class CharacterPhysics implements Disposable {
         // 2. Verhindern, dass der Körper "einschläft" und nicht mehr auf Kräfte reagiert
         body.setActivationState(Collision.DISABLE_DEACTIVATION);
 
-        // Füge den Körper zur Physik-Welt hinzu
-        physicsSystem.dynamicsWorld.addRigidBody(body);
+        // Füge den Körper zur Physik-Welt hinzu (und beschreibe ihn ggf. für die Aufnahme)
+        PhysicsRecording recording = physicsSystem.getRecording();
+        recordingId = recording != null ? recording.character(body, radius, height, CHARACTER_MASS, initialPosition) : -1;
+        physicsSystem.addRigidBody(body);
+        transformSlot = physicsSystem.track(body);
     }
 
-    // Methode zum Aktualisieren der Grafik basierend auf der Physik
+    // Methode zum Aktualisieren der Grafik basierend auf der Physik: zwischen den letzten beiden Physik-Ticks
+    // interpoliert (aus dem Snapshot, nicht aus dem MotionState, der im Thread-Modus dem Physik-Thread gehört)
     public void updateGraphicsTransform() {
-        if (modelInstance != null && motionState != null) {
-            motionState.getWorldTransform(modelInstance.transform);
-        }
+        if (modelInstance == null) return;
+        physicsSystem.getTransform(transformSlot, modelInstance.transform);
     }
 
-    // Methoden zur Steuerung (Beispiele)
+    // Methoden zur Steuerung (Beispiele). Sie laufen über PhysicsSystem.submit, damit sie im Thread-Modus
+    // vor dem nächsten Schritt auf dem Physik-Thread ankommen; ohne Thread wirken sie sofort.
     public void move(Vector3 moveDirection, float speed) {
         if (body == null) return; // Sicherheitscheck
+        if (moveCommand.set(moveDirection, speed, moveSubmittedLast)) physicsSystem.submit(moveCommand);
+        moveSubmittedLast = true;
+    }
+
+    /** Hält die horizontale Bewegung an (Y-Geschwindigkeit bleibt) und stoppt Drehungen. */
+    public void stop() {
+        if (body == null) return;
+        moveSubmittedLast = false;
+        physicsSystem.submit(stopCommand);
+    }
+
+    private void applyMove(float directionX, float directionZ, float speed) {
 
         // 1. Hole die AKTUELLE Geschwindigkeit vom Physik-Körper
         //    Wir brauchen besonders die aktuelle Y-Geschwindigkeit (velocity.y)
@@ -81,7 +158,7 @@ public class CharacterPhysics implements Disposable {
         // 2. Berechne die gewünschte XZ-Geschwindigkeit
         //    Kopiere die Bewegungsrichtung, um sie nicht zu verändern
         //    und skaliere sie mit der Geschwindigkeit.
-        Vector3 desiredXZVelocity = tempVelocity.set(moveDirection).scl(speed); // tempVelocity wird hier wiederverwendet
+        Vector3 desiredXZVelocity = tempVelocity.set(directionX, 0, directionZ).scl(speed); // tempVelocity wird hier wiederverwendet
 
         // 3. Setze den wiederverwendbaren Vektor auf die finale gewünschte Geschwindigkeit
         //    Nimm die berechneten X und Z Werte und die AKTUELLE Y Geschwindigkeit.
@@ -92,18 +169,34 @@ public class CharacterPhysics implements Disposable {
 
         // Körper aufwecken, falls er eingeschlafen ist
         body.activate();
+        body.setAngularVelocity(Vector3.Zero); // Unerwünschte Drehung verhindern
     }
 
-    public void jump(float jumpForce) {
+    public void jump(final float jumpForce) {
         if (body == null) return;
-        // Optional: Prüfen, ob der Charakter am Boden ist (z.B. mit Raycast)
-        // Einfache Prüfung: Nur springen, wenn vertikale Geschwindigkeit klein ist
-        Vector3 currentVelocity = body.getLinearVelocity();
-        if (Math.abs(currentVelocity.y) < 0.5f) { // Kleine Toleranz
-            body.applyCentralImpulse(tmpVec.set(0, jumpForce, 0)); // Verwende tmpVec für Impuls
-            body.activate();
-        }
+        moveSubmittedLast = false;
+        physicsSystem.submit(new PhysicsSystem.Command() {
+            @Override
+            public void execute(PhysicsSystem physicsSystem) {
+                record(PhysicsRecording.JUMP, jumpForce, 0, 0);
+                // Optional: Prüfen, ob der Charakter am Boden ist (z.B. mit Raycast)
+                // Einfache Prüfung: Nur springen, wenn vertikale Geschwindigkeit klein ist
+                Vector3 currentVelocity = body.getLinearVelocity();
+                if (Math.abs(currentVelocity.y) < 0.5f) { // Kleine Toleranz
+                    body.applyCentralImpulse(tmpVec.set(0, jumpForce, 0)); // Verwende tmpVec für Impuls
+                    body.activate();
+                    Gdx.app.log("CharacterPhysics", "Jump initiated with force: " + jumpForce);
+                }
+            }
+        });
+    }
+
+    /** Vermerkt eine Eingabe für den anstehenden Tick, falls aufgenommen wird. Auf dem Thread, dem die Welt gehört. */
+    private void record(int type, float a, float b, float c) {
+        PhysicsRecording recording = physicsSystem.getRecording();
+        if (recording != null && recordingId >= 0) recording.input(physicsSystem.getTickCount(), recordingId, type, a, b, c);
     }
+
     // Stelle sicher, dass tmpVec auch als Member deklariert ist (für jump etc.)
      // Für temporäre Berechnungen wie Sprungimpuls
 
@@ -111,11 +204,17 @@ public class CharacterPhysics implements Disposable {
     @Override
     public void dispose() {
         // Wichtig: Objekte in der richtigen Reihenfolge disposen
-        // physicsSystem.dynamicsWorld.removeRigidBody(body); // Optional
-
-        if (body != null) body.dispose();
-        if (motionState != null) motionState.dispose();
-        if (shape != null) shape.dispose();
-        // ConstructionInfo wird nicht separat disposed.
+        // Erst aus der Welt nehmen, sonst greift ein laufender Physik-Thread noch auf den Körper zu
+        if (body != null) {
+            physicsSystem.untrack(transformSlot);
+            physicsSystem.removeRigidBody(body);
+            NativeLedger.untrack(body);
+            body.dispose();
+        }
+        if (motionState != null) {
+            NativeLedger.untrack(motionState);
+            motionState.dispose();
+        }
+        if (shape != null) physicsSystem.getShapeCache().release(shape);
     }
 }
\ No newline at end of file
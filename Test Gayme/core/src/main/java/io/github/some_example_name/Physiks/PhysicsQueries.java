@@ -0,0 +1,162 @@
+package io.github.some_example_name.Physiks;
+
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.physics.bullet.collision.ClosestConvexResultCallback;
+import com.badlogic.gdx.physics.bullet.collision.ClosestRayResultCallback;
+import com.badlogic.gdx.physics.bullet.collision.btBroadphaseProxy;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionWorld;
+import com.badlogic.gdx.physics.bullet.collision.btConvexShape;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import io.github.some_example_name.NativeLedger;
+
+/**
+ * Strahlen und Sweeps in Serien: Eingaben als primitive Arrays, Ergebnisse in ein wiederverwendbares {@link QueryHits}.
+ * Es gibt je einen Callback für Strahlen und Sweeps, der für jede Abfrage zurückgesetzt wird, statt pro Abfrage einen
+ * nativen Callback anzulegen und wieder freizugeben; eine Serie läuft unter einem einzigen Welt-Lock. Damit sind tausende
+ * Abfragen pro Frame (Sichtlinien, Bodenchecks, Radfühler) ohne Garbage möglich.
+ * <p>
+ * Gehört dem {@link PhysicsSystem} ({@link PhysicsSystem#getQueries()}). Im Thread-Modus wartet eine Serie höchstens auf
+ * das Ende des laufenden Physik-Schritts. Serien von mehreren Threads laufen nacheinander.
+ */
+public class PhysicsQueries implements Disposable {
+
+    /** Floats pro Strahl bzw. Sweep: Start xyz, Ende xyz. */
+    public static final int STRIDE = 6;
+
+    private final btCollisionWorld world;
+    private final Object worldLock;
+    private final ClosestRayResultCallback rayCallback;
+    private final ClosestConvexResultCallback sweepCallback;
+    private int filterMask = btBroadphaseProxy.CollisionFilterGroups.AllFilter;
+
+    private final Vector3 from = new Vector3();
+    private final Vector3 to = new Vector3();
+    private final Vector3 tmp = new Vector3();
+    private final Matrix4 fromTransform = new Matrix4();
+    private final Matrix4 toTransform = new Matrix4();
+
+    PhysicsQueries(btCollisionWorld world, Object worldLock) {
+        this.world = world;
+        this.worldLock = worldLock;
+        this.rayCallback = NativeLedger.track(new ClosestRayResultCallback(Vector3.Zero, Vector3.Z), "PhysicsQueries");
+        this.sweepCallback = NativeLedger.track(new ClosestConvexResultCallback(Vector3.Zero, Vector3.Z), "PhysicsQueries");
+    }
+
+    /** Nur Objekte, deren Filtergruppe in mask liegt (z.B. ohne Charaktere für Sichtlinien). Gilt für alle folgenden Serien. */
+    public void setFilterMask(int mask) {
+        synchronized (worldLock) {
+            this.filterMask = mask;
+        }
+    }
+
+    /**
+     * Nächster Treffer für count Strahlen.
+     *
+     * @param rays Start und Ende je Strahl ({@link #STRIDE} Floats), ab Index 0
+     * @return Anzahl der Strahlen mit Treffer
+     */
+    public int rayTest(float[] rays, int count, QueryHits out) {
+        checkInput(rays, count);
+        out.ensureCapacity(count);
+        out.count = count;
+        int hits = 0;
+        synchronized (worldLock) {
+            rayCallback.setCollisionFilterMask(filterMask);
+            for (int i = 0; i < count; i++) {
+                final int o = i * STRIDE;
+                from.set(rays[o], rays[o + 1], rays[o + 2]);
+                to.set(rays[o + 3], rays[o + 4], rays[o + 5]);
+                rayCallback.setClosestHitFraction(1f);
+                rayCallback.setCollisionObject(null);
+                rayCallback.setRayFromWorld(from);
+                rayCallback.setRayToWorld(to);
+                world.rayTest(from, to, rayCallback);
+                if (!rayCallback.hasHit()) {
+                    miss(out, i);
+                    continue;
+                }
+                rayCallback.getHitPointWorld(tmp);
+                store(out.points, i, tmp);
+                rayCallback.getHitNormalWorld(tmp);
+                store(out.normals, i, tmp);
+                hit(out, i, rayCallback.getClosestHitFraction(), rayCallback.getCollisionObject());
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Nächster Treffer für count Sweeps einer konvexen Form (ohne Drehung, z.B. eine Kugel aus dem {@link ShapeCache}).
+     *
+     * @param sweeps Start und Ende je Sweep ({@link #STRIDE} Floats), Mittelpunkt der Form
+     * @return Anzahl der Sweeps mit Treffer
+     */
+    public int sweepTest(btConvexShape shape, float[] sweeps, int count, QueryHits out) {
+        checkInput(sweeps, count);
+        out.ensureCapacity(count);
+        out.count = count;
+        int hits = 0;
+        synchronized (worldLock) {
+            sweepCallback.setCollisionFilterMask(filterMask);
+            for (int i = 0; i < count; i++) {
+                final int o = i * STRIDE;
+                from.set(sweeps[o], sweeps[o + 1], sweeps[o + 2]);
+                to.set(sweeps[o + 3], sweeps[o + 4], sweeps[o + 5]);
+                fromTransform.setToTranslation(from);
+                toTransform.setToTranslation(to);
+                sweepCallback.setClosestHitFraction(1f);
+                sweepCallback.setHitCollisionObject(null);
+                sweepCallback.setRayFromWorld(from); // so heißt der Vector3-Setter für convexFromWorld im Wrapper
+                sweepCallback.setConvexToWorld(to);
+                world.convexSweepTest(shape, fromTransform, toTransform, sweepCallback);
+                if (!sweepCallback.hasHit()) {
+                    miss(out, i);
+                    continue;
+                }
+                sweepCallback.getHitPointWorld(tmp);
+                store(out.points, i, tmp);
+                sweepCallback.getHitNormalWorld(tmp);
+                store(out.normals, i, tmp);
+                hit(out, i, sweepCallback.getClosestHitFraction(), sweepCallback.getHitCollisionObject());
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static void checkInput(float[] values, int count) {
+        if (count < 0 || values.length < count * STRIDE) {
+            throw new GdxRuntimeException("Need " + STRIDE + " floats per query: " + count + " queries, " + values.length + " floats");
+        }
+    }
+
+    private static void store(float[] target, int index, Vector3 value) {
+        target[index * 3] = value.x;
+        target[index * 3 + 1] = value.y;
+        target[index * 3 + 2] = value.z;
+    }
+
+    private static void hit(QueryHits out, int index, float fraction, btCollisionObject object) {
+        out.hit[index] = true;
+        out.fraction[index] = fraction;
+        out.userData[index] = object != null ? object.userData : null;
+    }
+
+    private static void miss(QueryHits out, int index) {
+        out.hit[index] = false;
+        out.fraction[index] = 1f;
+        out.userData[index] = null;
+    }
+
+    @Override
+    public void dispose() {
+        NativeLedger.untrack(rayCallback);
+        rayCallback.dispose();
+        NativeLedger.untrack(sweepCallback);
+        sweepCallback.dispose();
+    }
+}
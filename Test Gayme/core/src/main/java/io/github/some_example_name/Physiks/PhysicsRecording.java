@@ -0,0 +1,344 @@
+package io.github.some_example_name.Physiks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionShape;
+import com.badlogic.gdx.physics.bullet.collision.btCompoundShape;
+import com.badlogic.gdx.physics.bullet.dynamics.btRigidBody;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import io.github.some_example_name.Terrain.HeightField;
+import io.github.some_example_name.Terrain.TerrainData;
+import io.github.some_example_name.enums.BroadphaseMode;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Eine aufgenommene Sitzung der Physik-Welt, Tick für Tick: welche Objekte vor welchem Tick in die Welt kamen oder sie
+ * verließen (Terrain aus dem {@code TerrainManager}, Spielfigur, Häuser und Kakteen aus {@code Main.createStaticObjects()}),
+ * welche Eingaben vor welchem Tick bei welcher {@link CharacterPhysics} ankamen, und am Ende Position und Geschwindigkeit
+ * jeder Figur. Weil Bullet bei gleicher Reihenfolge der Aufrufe und festem Zeitschritt deterministisch rechnet, spielt
+ * {@link PhysicsReplay} daraus dieselbe Sitzung ohne Fenster und so schnell wie möglich nach.
+ * <p>
+ * Aufgenommen wird über {@link PhysicsSystem#startRecording()} (vor dem Aufbau der Welt) bis
+ * {@link PhysicsSystem#stopRecording()}. Eingaben werden beim Ausführen auf dem Physik-Thread mit dem gerade anstehenden
+ * Tick vermerkt, unabhängig davon, wie die Frames lagen. Objekte, die nicht über die Physiks-Klassen entstehen, kennt die
+ * Aufnahme nicht; dann wird gewarnt, und die Wiedergabe weicht ab. Die Höhen eines Terrains werden beim Hinzufügen
+ * kopiert; spätere Änderungen daran ({@link TerrainData#set(int, float)}) nimmt die Aufnahme nicht auf.
+ */
+public class PhysicsRecording {
+
+    private static final int MAGIC = 0x50524331; // "PRC1"
+    /**
+     * Erhöhen, wenn sich das Dateiformat ändert. 2: Setup-Art BROADPHASE. Aufnahmen mit Version 1 haben dasselbe Layout,
+     * nur ohne BROADPHASE (also mit der Standard-Broadphase), und werden weiter gelesen.
+     */
+    private static final int VERSION = 2;
+    private static final int OLDEST_READABLE_VERSION = 1;
+
+    static final int TERRAIN = 0, CHARACTER = 1, PROPS = 2, STATIC = 3, REMOVE = 4, BROADPHASE = 5;
+    static final int MOVE = 0, STOP = 1, JUMP = 2;
+
+    /**
+     * Ein Objekt, das vor {@link #tick} in die Welt kam, bei REMOVE das Objekt id, das sie vor tick verließ, und bei
+     * BROADPHASE ein Wechsel der Broadphase (die Reihenfolge der Paare hängt davon ab).
+     */
+    static final class Setup {
+        long tick;
+        final int kind;
+        final int id;
+        TerrainData terrain;     // TERRAIN: bis zum Hinzufügen das des Terrains, danach eine Kopie von diesem Tick
+        float[] values;          // TERRAIN: corner00, corner10, corner01, corner11, magnitude; CHARACTER: radius, height, mass, x, y, z;
+                                 // BROADPHASE: Modus (ordinal), ggf. min und max der Welt
+        int[] shapeTypes;        // PROPS/STATIC: Art je Teil ({@link ShapeCache#describe})
+        float[] shapeDimensions; // 3 je Teil
+        float[] transforms;      // 16 je Teil, Welt-Koordinaten
+
+        Setup(int kind, int id) {
+            this.kind = kind;
+            this.id = id;
+        }
+    }
+
+    private final float tickRate;
+    final Array<Setup> setups = new Array<Setup>();
+    // Nach Identität, ohne equals/hashCode der Bullet-Wrapper
+    private final IdentityMap<btCollisionObject, Setup> pending = new IdentityMap<btCollisionObject, Setup>(); // beschrieben, noch nicht in der Welt
+    private final IdentityMap<btCollisionObject, Setup> live = new IdentityMap<btCollisionObject, Setup>();
+    private int nextId;
+    private boolean warnedUnknown;
+
+    // Eingaben, nach Tick sortiert (so wie sie ausgeführt wurden)
+    final LongArray inputTicks = new LongArray();
+    final IntArray inputCharacters = new IntArray();
+    final IntArray inputTypes = new IntArray();
+    final FloatArray inputValues = new FloatArray(); // 3 je Eingabe: MOVE x, z, Tempo; JUMP Kraft
+
+    // Ende: Position und Geschwindigkeit jeder Figur nach dem letzten Tick
+    private long endTick = -1;
+    final IntArray finalIds = new IntArray();
+    final FloatArray finalStates = new FloatArray(); // 6 je Figur
+
+    private final Vector3 tmp = new Vector3();
+    private final Matrix4 tmpTransform = new Matrix4();
+
+    PhysicsRecording(float tickRate) {
+        this.tickRate = tickRate;
+    }
+
+    public float getTickRate() {
+        return tickRate;
+    }
+
+    /** Anzahl der aufgenommenen Ticks, -1 solange noch aufgenommen wird. */
+    public synchronized long getEndTick() {
+        return endTick;
+    }
+
+    public synchronized int getInputCount() {
+        return inputTicks.size;
+    }
+
+    public synchronized int getSetupCount() {
+        return setups.size;
+    }
+
+    // --- Aufnahme (aus den Physiks-Klassen) ---
+
+    synchronized void terrain(btCollisionObject body, HeightField field) {
+        Setup setup = describe(body, TERRAIN);
+        setup.terrain = field.data; // kopiert wird erst in added(), mit dem Stand, mit dem es in die Welt kommt
+        setup.values = new float[] {
+            field.corner00.x, field.corner00.y, field.corner00.z, field.corner10.x, field.corner10.y, field.corner10.z,
+            field.corner01.x, field.corner01.y, field.corner01.z, field.corner11.x, field.corner11.y, field.corner11.z,
+            field.magnitude.x, field.magnitude.y, field.magnitude.z};
+    }
+
+    /** @return Id der Figur für {@link #input} */
+    synchronized int character(btRigidBody body, float radius, float height, float mass, Vector3 position) {
+        Setup setup = describe(body, CHARACTER);
+        setup.values = new float[] {radius, height, mass, position.x, position.y, position.z};
+        return setup.id;
+    }
+
+    /** Eine Compound-Form aus dem {@link StaticPropBatch}; die Teile müssen aus cache stammen. */
+    synchronized void props(btCollisionObject body, btCompoundShape compound, Array<btCollisionShape> children, ShapeCache cache) {
+        Setup setup = describe(body, PROPS);
+        setup.shapeTypes = new int[children.size];
+        setup.shapeDimensions = new float[children.size * 3];
+        setup.transforms = new float[children.size * 16];
+        for (int i = 0; i < children.size; i++) {
+            setup.shapeTypes[i] = cache.describe(children.get(i), tmp);
+            setup.shapeDimensions[i * 3] = tmp.x;
+            setup.shapeDimensions[i * 3 + 1] = tmp.y;
+            setup.shapeDimensions[i * 3 + 2] = tmp.z;
+            System.arraycopy(compound.getChildTransform(i).val, 0, setup.transforms, i * 16, 16);
+        }
+    }
+
+    synchronized void staticObject(btCollisionObject body, btCollisionShape shape, Matrix4 transform, ShapeCache cache) {
+        Setup setup = describe(body, STATIC);
+        setup.shapeTypes = new int[] {cache.describe(shape, tmp)};
+        setup.shapeDimensions = new float[] {tmp.x, tmp.y, tmp.z};
+        setup.transforms = transform.val.clone();
+    }
+
+    /** Vom {@link PhysicsSystem} unter dem Welt-Lock: ab Tick tick gilt diese Broadphase; min null = ohne Weltgrenzen. */
+    synchronized void broadphase(BroadphaseMode mode, Vector3 min, Vector3 max, long tick) {
+        if (endTick >= 0) return;
+        Setup setup = new Setup(BROADPHASE, -1);
+        setup.tick = tick;
+        setup.values = min != null ? new float[] {mode.ordinal(), min.x, min.y, min.z, max.x, max.y, max.z} : new float[] {mode.ordinal()};
+        setups.add(setup);
+    }
+
+    private Setup describe(btCollisionObject body, int kind) {
+        Setup setup = new Setup(kind, nextId++);
+        pending.put(body, setup);
+        return setup;
+    }
+
+    /** Vom {@link PhysicsSystem} unter dem Welt-Lock: body ist ab Tick tick in der Welt. */
+    synchronized void added(btCollisionObject body, long tick) {
+        if (endTick >= 0) return;
+        Setup setup = pending.remove(body);
+        if (setup == null) {
+            if (!warnedUnknown) {
+                warnedUnknown = true;
+                Gdx.app.error("PhysicsRecording", "Object added without description, the replay will diverge: " + body);
+            }
+            return;
+        }
+        setup.tick = tick;
+        if (setup.kind == TERRAIN) setup.terrain = setup.terrain.copy(); // die Welt liest die Höhen ohne Kopie, Edits ändern sie
+        setups.add(setup);
+        live.put(body, setup);
+    }
+
+    /** Vom {@link PhysicsSystem} unter dem Welt-Lock: body ist ab Tick tick nicht mehr in der Welt. */
+    synchronized void removed(btCollisionObject body, long tick) {
+        if (endTick >= 0) return;
+        Setup setup = live.remove(body);
+        if (setup == null) return;
+        Setup removal = new Setup(REMOVE, setup.id);
+        removal.tick = tick;
+        setups.add(removal);
+    }
+
+    /** Auf dem Thread, dem die Welt gehört, direkt vor dem Ausführen der Eingabe. */
+    synchronized void input(long tick, int character, int type, float a, float b, float c) {
+        if (endTick >= 0) return;
+        inputTicks.add(tick);
+        inputCharacters.add(character);
+        inputTypes.add(type);
+        inputValues.add(a, b, c);
+    }
+
+    /** Unter dem Welt-Lock: die ersten tick Ticks sind aufgenommen, Endzustand der Figuren merken. */
+    synchronized void finish(long tick) {
+        endTick = tick;
+        for (IdentityMap.Entry<btCollisionObject, Setup> entry : live) {
+            if (entry.value.kind != CHARACTER) continue;
+            btRigidBody body = (btRigidBody)entry.key;
+            body.getWorldTransform(tmpTransform);
+            tmpTransform.getTranslation(tmp);
+            finalIds.add(entry.value.id);
+            finalStates.add(tmp.x, tmp.y, tmp.z);
+            tmp.set(body.getLinearVelocity());
+            finalStates.add(tmp.x, tmp.y, tmp.z);
+        }
+        pending.clear();
+        live.clear();
+        Gdx.app.log("PhysicsRecording", "Recorded " + endTick + " ticks, " + setups.size + " world changes, " + inputTicks.size + " inputs.");
+    }
+
+    // --- Datei ---
+
+    /** Schreibt die fertige Aufnahme komprimiert nach file. */
+    public synchronized void write(FileHandle file) {
+        if (endTick < 0) throw new GdxRuntimeException("Recording is still running");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(file.write(false)), 1 << 16));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeFloat(tickRate);
+            out.writeLong(endTick);
+            out.writeInt(setups.size);
+            for (Setup setup : setups) {
+                out.writeLong(setup.tick);
+                out.writeInt(setup.kind);
+                out.writeInt(setup.id);
+                if (setup.kind == TERRAIN) setup.terrain.write(out);
+                writeFloats(out, setup.values);
+                writeInts(out, setup.shapeTypes);
+                writeFloats(out, setup.shapeDimensions);
+                writeFloats(out, setup.transforms);
+            }
+            out.writeInt(inputTicks.size);
+            for (int i = 0; i < inputTicks.size; i++) {
+                out.writeLong(inputTicks.get(i));
+                out.writeInt(inputCharacters.get(i));
+                out.writeInt(inputTypes.get(i));
+                out.writeFloat(inputValues.get(i * 3));
+                out.writeFloat(inputValues.get(i * 3 + 1));
+                out.writeFloat(inputValues.get(i * 3 + 2));
+            }
+            out.writeInt(finalIds.size);
+            for (int i = 0; i < finalIds.size; i++) {
+                out.writeInt(finalIds.get(i));
+                for (int j = 0; j < 6; j++) out.writeFloat(finalStates.get(i * 6 + j));
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not write " + file.path(), e);
+        } finally {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+        }
+        Gdx.app.log("PhysicsRecording", "Wrote " + file.path() + " (" + file.length() / 1024 + " KB)");
+    }
+
+    public static PhysicsRecording read(FileHandle file) {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(file.read()), 1 << 16));
+        try {
+            if (in.readInt() != MAGIC) throw new GdxRuntimeException("Not a physics recording: " + file.path());
+            int version = in.readInt();
+            if (version < OLDEST_READABLE_VERSION || version > VERSION) throw new GdxRuntimeException("Unsupported recording version " + version + ": " + file.path());
+            PhysicsRecording recording = new PhysicsRecording(in.readFloat());
+            recording.endTick = in.readLong();
+            int setupCount = in.readInt();
+            for (int i = 0; i < setupCount; i++) {
+                long tick = in.readLong();
+                int kind = in.readInt();
+                Setup setup = new Setup(kind, in.readInt());
+                setup.tick = tick;
+                if (kind == TERRAIN) setup.terrain = TerrainData.read(in);
+                setup.values = readFloats(in);
+                setup.shapeTypes = readInts(in);
+                setup.shapeDimensions = readFloats(in);
+                setup.transforms = readFloats(in);
+                recording.setups.add(setup);
+            }
+            int inputCount = in.readInt();
+            for (int i = 0; i < inputCount; i++) {
+                recording.inputTicks.add(in.readLong());
+                recording.inputCharacters.add(in.readInt());
+                recording.inputTypes.add(in.readInt());
+                recording.inputValues.add(in.readFloat(), in.readFloat(), in.readFloat());
+            }
+            int finalCount = in.readInt();
+            for (int i = 0; i < finalCount; i++) {
+                recording.finalIds.add(in.readInt());
+                for (int j = 0; j < 6; j++) recording.finalStates.add(in.readFloat());
+            }
+            return recording;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read " + file.path(), e);
+        } finally {
+            try {
+                in.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static void writeFloats(DataOutputStream out, float[] values) throws IOException {
+        out.writeInt(values != null ? values.length : -1);
+        if (values != null) for (float value : values) out.writeFloat(value);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values != null ? values.length : -1);
+        if (values != null) for (int value : values) out.writeInt(value);
+    }
+
+    private static float[] readFloats(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) values[i] = in.readFloat();
+        return values;
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) values[i] = in.readInt();
+        return values;
+    }
+}
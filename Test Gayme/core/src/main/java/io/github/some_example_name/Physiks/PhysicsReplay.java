@@ -0,0 +1,212 @@
+package io.github.some_example_name.Physiks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import io.github.some_example_name.Terrain.HeightField;
+import io.github.some_example_name.enums.BroadphaseMode;
+
+/**
+ * Spielt eine {@link PhysicsRecording} in einer eigenen, frischen Welt nach: ohne Thread, ohne Grafik und ohne auf die
+ * Uhr zu warten. Vor jedem Tick kommen genau die Objekte und Eingaben dazu, die auch bei der Aufnahme vor diesem Tick da
+ * waren, in derselben Reihenfolge. Damit ist die Arbeit pro Tick zwischen zwei Builds identisch, und
+ * {@link #verify(float)} zeigt, ob am Ende dasselbe herauskommt.
+ * <p>
+ * Braucht Bullet ({@code Bullet.init()}), aber kein GL; läuft also auch im Headless-Backend.
+ */
+public class PhysicsReplay implements Disposable {
+
+    private final PhysicsRecording recording;
+    private final PhysicsSystem physicsSystem;
+    private final Model emptyModel = new Model(); // Figuren brauchen eine ModelInstance, gezeichnet wird nichts
+    private final IntMap<Disposable> objects = new IntMap<Disposable>();
+    private final IntMap<CharacterPhysics> characters = new IntMap<CharacterPhysics>();
+    private int nextSetup;
+    private int nextInput;
+    private long tick;
+
+    private final Vector3 tmp = new Vector3();
+    private final Vector3 tmp2 = new Vector3();
+    private final Matrix4 tmpTransform = new Matrix4();
+
+    public PhysicsReplay(PhysicsRecording recording) {
+        if (recording.getEndTick() < 0) throw new GdxRuntimeException("Recording is still running");
+        this.recording = recording;
+        this.physicsSystem = new PhysicsSystem(recording.getTickRate());
+    }
+
+    public PhysicsSystem getPhysicsSystem() {
+        return physicsSystem;
+    }
+
+    /** Ticks, die schon nachgespielt sind. */
+    public long getTick() {
+        return tick;
+    }
+
+    public long getEndTick() {
+        return recording.getEndTick();
+    }
+
+    /** Spielt einen Tick nach. @return false, wenn die Aufnahme schon zu Ende ist */
+    public boolean step() {
+        if (tick >= recording.getEndTick()) return false;
+        catchUp();
+        physicsSystem.tick();
+        tick++;
+        if (tick == recording.getEndTick()) {
+            // Was nach dem letzten Tick, aber vor dem Ende der Aufnahme ankam, steckt schon im Endzustand
+            catchUp();
+        }
+        return true;
+    }
+
+    /** Objekte und Eingaben, die vor dem anstehenden Tick ankamen, in Aufnahme-Reihenfolge. */
+    private void catchUp() {
+        while (nextSetup < recording.setups.size && recording.setups.get(nextSetup).tick <= tick) {
+            apply(recording.setups.get(nextSetup++));
+        }
+        while (nextInput < recording.inputTicks.size && recording.inputTicks.get(nextInput) <= tick) {
+            applyInput(nextInput++);
+        }
+    }
+
+    /** Spielt bis zum Ende der Aufnahme. @return Anzahl der nachgespielten Ticks */
+    public long run() {
+        long start = tick;
+        while (step()) {
+            // nichts weiter, step() macht alles
+        }
+        return tick - start;
+    }
+
+    /**
+     * Vergleicht Position und Geschwindigkeit jeder Figur mit dem Ende der Aufnahme (nach {@link #run()}).
+     * @return größte Abweichung einer Komponente; bei fehlender Figur unendlich
+     */
+    public float verify(float tolerance) {
+        float maxDeviation = 0;
+        for (int i = 0; i < recording.finalIds.size; i++) {
+            final int id = recording.finalIds.get(i);
+            CharacterPhysics character = characters.get(id);
+            if (character == null) {
+                Gdx.app.error("PhysicsReplay", "Character " + id + " is missing at the end of the replay.");
+                return Float.POSITIVE_INFINITY;
+            }
+            character.body.getWorldTransform(tmpTransform);
+            tmpTransform.getTranslation(tmp);
+            tmp2.set(character.body.getLinearVelocity());
+            final int o = i * 6;
+            float deviation = Math.max(Math.max(Math.abs(tmp.x - recording.finalStates.get(o)),
+                    Math.abs(tmp.y - recording.finalStates.get(o + 1))), Math.abs(tmp.z - recording.finalStates.get(o + 2)));
+            deviation = Math.max(deviation, Math.max(Math.max(Math.abs(tmp2.x - recording.finalStates.get(o + 3)),
+                    Math.abs(tmp2.y - recording.finalStates.get(o + 4))), Math.abs(tmp2.z - recording.finalStates.get(o + 5))));
+            if (deviation > tolerance) {
+                Gdx.app.error("PhysicsReplay", "Character " + id + " ends at " + tmp + " (velocity " + tmp2 + "), recorded ("
+                        + recording.finalStates.get(o) + ", " + recording.finalStates.get(o + 1) + ", " + recording.finalStates.get(o + 2) + ")");
+            }
+            maxDeviation = Math.max(maxDeviation, deviation);
+        }
+        return maxDeviation;
+    }
+
+    private void apply(PhysicsRecording.Setup setup) {
+        switch (setup.kind) {
+            case PhysicsRecording.TERRAIN: {
+                HeightField field = new HeightField(setup.terrain);
+                float[] v = setup.values;
+                field.corner00.set(v[0], v[1], v[2]);
+                field.corner10.set(v[3], v[4], v[5]);
+                field.corner01.set(v[6], v[7], v[8]);
+                field.corner11.set(v[9], v[10], v[11]);
+                field.magnitude.set(v[12], v[13], v[14]);
+                objects.put(setup.id, new TerrainPhysics(physicsSystem, field));
+                break;
+            }
+            case PhysicsRecording.CHARACTER: {
+                float[] v = setup.values;
+                CharacterPhysics character = new CharacterPhysics(physicsSystem, new ModelInstance(emptyModel),
+                        v[0], v[1], v[2], tmp.set(v[3], v[4], v[5]));
+                objects.put(setup.id, character);
+                characters.put(setup.id, character);
+                break;
+            }
+            case PhysicsRecording.PROPS: {
+                StaticPropBatch batch = new StaticPropBatch(physicsSystem);
+                for (int i = 0; i < setup.shapeTypes.length; i++) {
+                    tmp.set(setup.shapeDimensions[i * 3], setup.shapeDimensions[i * 3 + 1], setup.shapeDimensions[i * 3 + 2]);
+                    System.arraycopy(setup.transforms, i * 16, tmpTransform.val, 0, 16);
+                    batch.add(physicsSystem.getShapeCache().obtain(setup.shapeTypes[i], tmp), tmpTransform, null);
+                }
+                batch.build();
+                objects.put(setup.id, batch);
+                break;
+            }
+            case PhysicsRecording.STATIC: {
+                if (setup.shapeTypes[0] != ShapeCache.BOX) throw new GdxRuntimeException("Static objects are boxes");
+                tmp.set(setup.shapeDimensions[0], setup.shapeDimensions[1], setup.shapeDimensions[2]);
+                objects.put(setup.id, new StaticObjectPhysics(physicsSystem, tmp, tmpTransform.set(setup.transforms)));
+                break;
+            }
+            case PhysicsRecording.BROADPHASE: {
+                float[] v = setup.values;
+                BroadphaseMode mode = BroadphaseMode.values()[(int)v[0]];
+                if (v.length > 1) {
+                    physicsSystem.setBroadphase(mode, tmp.set(v[1], v[2], v[3]), tmp2.set(v[4], v[5], v[6]));
+                } else {
+                    physicsSystem.setBroadphase(mode, null, null);
+                }
+                break;
+            }
+            case PhysicsRecording.REMOVE: {
+                Disposable object = objects.remove(setup.id);
+                characters.remove(setup.id);
+                if (object instanceof TerrainPhysics) {
+                    // TerrainPhysics nimmt sich nicht selbst aus der Welt (das machen TerrainManager/TerrainStreamer)
+                    physicsSystem.removeRigidBody(((TerrainPhysics)object).body);
+                }
+                if (object != null) object.dispose();
+                break;
+            }
+            default:
+                throw new GdxRuntimeException("Unknown recording entry: " + setup.kind);
+        }
+    }
+
+    private void applyInput(int index) {
+        CharacterPhysics character = characters.get(recording.inputCharacters.get(index));
+        if (character == null) return;
+        // Ohne Thread führt CharacterPhysics die Befehle sofort aus, also vor dem anstehenden Tick wie bei der Aufnahme
+        switch (recording.inputTypes.get(index)) {
+            case PhysicsRecording.MOVE:
+                character.move(tmp.set(recording.inputValues.get(index * 3), 0, recording.inputValues.get(index * 3 + 1)),
+                        recording.inputValues.get(index * 3 + 2));
+                break;
+            case PhysicsRecording.STOP:
+                character.stop();
+                break;
+            case PhysicsRecording.JUMP:
+                character.jump(recording.inputValues.get(index * 3));
+                break;
+            default:
+                throw new GdxRuntimeException("Unknown input type: " + recording.inputTypes.get(index));
+        }
+    }
+
+    @Override
+    public void dispose() {
+        for (IntMap.Entry<Disposable> entry : objects) {
+            if (entry.value instanceof TerrainPhysics) physicsSystem.removeRigidBody(((TerrainPhysics)entry.value).body);
+            entry.value.dispose();
+        }
+        objects.clear();
+        characters.clear();
+        physicsSystem.dispose();
+        emptyModel.dispose();
+    }
+}
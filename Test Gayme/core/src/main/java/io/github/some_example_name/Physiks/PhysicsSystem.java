@@ -1,46 +1,639 @@
 package io.github.some_example_name.Physiks;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.physics.bullet.collision.*;
 import com.badlogic.gdx.physics.bullet.dynamics.*;
+import com.badlogic.gdx.physics.bullet.linearmath.btIDebugDraw;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import io.github.some_example_name.NativeLedger;
+import io.github.some_example_name.enums.BroadphaseMode;
 
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Die Bullet-Welt. Simuliert wird immer in ganzen Ticks fester Länge (Standard 1/60 s, z.B. 1/30 s über
+ * {@link #PhysicsSystem(float)}), entweder im Frame oder nach {@link #startSimulationThread()} auf einem eigenen Thread,
+ * damit Rendern und Simulation auf verschiedenen Kernen überlappen.
+ * <p>
+ * Im Frame sammelt {@link #update(float)} die echte Zeit in einem Akkumulator und rechnet so viele Ticks, wie hineinpassen
+ * (höchstens MAX_SUBSTEPS, der Rest verfällt). Die Kosten pro Tick bleiben dadurch gleich, egal wie lang ein Frame ist.
+ * Gezeichnet wird zwischen den letzten beiden Tick-Zuständen interpoliert ({@link #getTransform(int, Matrix4)}), mit
+ * dem Rest des Akkumulators als Anteil; im Thread-Modus mit der seit dem letzten Tick vergangenen Zeit. Dadurch ruckelt
+ * es auch nicht, wenn deutlich schneller gerendert als simuliert wird (z.B. 144 Hz gegenüber 30 Hz).
+ * <p>
+ * Im Thread-Modus gehört die Welt dem Physik-Thread:
+ * <ul>
+ * <li>Eingaben (z.B. vom {@link CharacterPhysics}) kommen als {@link Command} über eine lock-freie Warteschlange und
+ * werden vor jedem Schritt abgearbeitet.</li>
+ * <li>Die Transformationen der mit {@link #track(btRigidBody)} angemeldeten Körper werden nach jedem Tick (mit denen
+ * des Ticks davor) in einen dreifach gepufferten Snapshot geschrieben; der GL-Thread holt sich in {@link #update(float)}
+ * den neuesten und liest ihn mit {@link #getTransform(int, Matrix4)} ohne Locks.</li>
+ * <li>Seltene Änderungen an der Welt (Körper hinzufügen/entfernen, Debug-Zeichnen) laufen über
+ * {@link #addRigidBody(btRigidBody)}, {@link #removeRigidBody(btRigidBody)} und {@link #debugDrawWorld()}; die warten
+ * höchstens einen Schritt.</li>
+ * </ul>
+ * Ohne Thread verhalten sich alle anderen Methoden wie direkte Aufrufe auf die Bullet-Welt. Die Welt selbst ist nicht
+ * zugänglich; was von außen gebraucht wird, hat hier eine eigene Methode, die den Lock nimmt.
+ * <p>
+ * Die Broadphase ist wählbar ({@link BroadphaseMode}): DBVT ohne Grenzen (Standard) oder Sweep and Prune in einer festen
+ * Welt-AABB, die der {@code TerrainManager} aus dem Terrain ableitet ({@link #setWorldBounds(Vector3, Vector3)}).
+ */
 public class PhysicsSystem implements Disposable {
 
-    public btCollisionConfiguration collisionConfiguration;
-    public btCollisionDispatcher dispatcher;
-    public btBroadphaseInterface broadphase;
-    public btConstraintSolver solver;
-    public btDiscreteDynamicsWorld dynamicsWorld;
+    /** Eine Änderung an der Welt, die auf dem Physik-Thread ausgeführt wird. */
+    public interface Command {
+        void execute(PhysicsSystem physicsSystem);
+    }
+
+    private final btCollisionConfiguration collisionConfiguration;
+    private final btCollisionDispatcher dispatcher;
+    private btBroadphaseInterface broadphase;
+    private final btConstraintSolver solver;
+    private final btDiscreteDynamicsWorld dynamicsWorld;
+    private final ShapeCache shapeCache = new ShapeCache();
+    private PhysicsQueries queries;
+    private final PhysicsProfiler profiler;
+    private volatile PhysicsRecording recording; // null, wenn nicht aufgenommen wird
+    private BroadphaseMode broadphaseMode;
+    private final Vector3 worldMin = new Vector3();
+    private final Vector3 worldMax = new Vector3();
+    private boolean hasWorldBounds;
 
     private final int MAX_SUBSTEPS = 5;
-    private final float FIXED_TIME_STEP = 1f / 60f;
+    /** Höchstzahl der Objekte je Sweep-and-Prune-Broadphase (16 Bit: Grenze von Bullet; 32 Bit: Speicher wird vorab belegt). */
+    private static final int AXIS_SWEEP_16_MAX_HANDLES = 32766;
+    private static final int AXIS_SWEEP_32_MAX_HANDLES = 65536;
+    /** Geschätzte native Bytes pro vorab belegtem Handle (Proxy plus Kanten auf drei Achsen), für den {@link NativeLedger}. */
+    private static final long AXIS_SWEEP_16_HANDLE_BYTES = 96, AXIS_SWEEP_32_HANDLE_BYTES = 128;
+    private final float tickRate;
+    private final float fixedTimeStep;
+    private float accumulator;   // noch nicht simulierte Zeit (nur ohne Thread)
+    private float alpha;         // Interpolationsanteil für diesen Frame, 0 = vorletzter Tick, 1 = letzter Tick
+
+    // --- Thread-Modus ---
+    /** Schützt die Welt vor gleichzeitigen Zugriffen von GL- und Physik-Thread (nur bei seltenen Änderungen). */
+    private final Object worldLock = new Object();
+    private final ConcurrentLinkedQueue<Command> commands = new ConcurrentLinkedQueue<Command>();
+    private Thread simulationThread;
+    private volatile boolean running;
+
+    // Angemeldete Körper: Slot-Nummern vergibt der GL-Thread, die Liste gehört dem Physik-Thread
+    private final Array<btRigidBody> tracked = new Array<btRigidBody>();
+    private int nextSlot;
+
+    // Dreifachpuffer: einer wird geschrieben, einer gelesen, einer liegt als neuester bereit
+    private static final int FRESH = 4;
+    private static final int INDEX_MASK = 3;
+    private final Snapshot[] snapshots = {new Snapshot(), new Snapshot(), new Snapshot()};
+    private final AtomicInteger ready = new AtomicInteger(1); // Index des bereitliegenden Puffers | FRESH
+    private int writeIndex = 0; // nur Physik-Thread
+    private int readIndex = 2;  // nur GL-Thread
+    private final Matrix4 tmpTransform = new Matrix4();
+    private float[] lastTransforms = new float[0]; // Physik-Seite: Stand des letzten Ticks je Slot
+    private boolean[] lastPresent = new boolean[0];
+    private long tickCount;
+
+    // Nur GL-Thread, für die Interpolation
+    private final Matrix4 tmpPrevious = new Matrix4();
+    private final Matrix4 tmpCurrent = new Matrix4();
+    private final Quaternion tmpRotation = new Quaternion();
+    private final Quaternion tmpRotation2 = new Quaternion();
+    private final Vector3 tmpPosition = new Vector3();
+    private final Vector3 tmpPosition2 = new Vector3();
+    private long frameTick; // Tick des im letzten Frame gelesenen Snapshots
+
+    /** Transformationen aller angemeldeten Körper nach einem Tick und nach dem Tick davor. */
+    private static final class Snapshot {
+        long tick;
+        long nanoTime; // wann der Tick fertig war
+        int count;
+        float[] previous = new float[0];   // 16 Werte pro Slot
+        float[] transforms = new float[0]; // 16 Werte pro Slot
+        boolean[] present = new boolean[0];
+
+        void ensureCapacity(int slots) {
+            if (present.length >= slots) return;
+            int capacity = Math.max(slots, present.length * 2);
+            previous = grow(previous, capacity * 16);
+            transforms = grow(transforms, capacity * 16);
+            boolean[] newPresent = new boolean[capacity];
+            System.arraycopy(present, 0, newPresent, 0, present.length);
+            present = newPresent;
+        }
+    }
+
+    private static float[] grow(float[] array, int length) {
+        float[] grown = new float[length];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
 
     public PhysicsSystem() {
+        this(60f);
+    }
+
+    /** @param tickRate Physik-Ticks pro Sekunde, unabhängig von der Bildrate */
+    public PhysicsSystem(float tickRate) {
+        this(tickRate, BroadphaseMode.DBVT, null, null);
+    }
+
+    /**
+     * @param broadphaseMode Sweep-and-Prune-Modi brauchen Weltgrenzen; sind sie hier noch nicht bekannt (null), läuft bis
+     *                       zum ersten {@link #setWorldBounds(Vector3, Vector3)} DBVT
+     */
+    public PhysicsSystem(float tickRate, BroadphaseMode broadphaseMode, Vector3 worldMin, Vector3 worldMax) {
+        if (tickRate <= 0) throw new GdxRuntimeException("tickRate must be positive");
+        this.tickRate = tickRate;
+        fixedTimeStep = 1f / tickRate;
+        profiler = new PhysicsProfiler(fixedTimeStep);
         // Konfiguration für Kollisionen
-        collisionConfiguration = new btDefaultCollisionConfiguration();
-        dispatcher = new btCollisionDispatcher(collisionConfiguration);
-        // Effiziente Verwaltung von Kollisionsobjekten (DBVT = Dynamic Bounding Volume Tree)
-        broadphase = new btDbvtBroadphase();
+        collisionConfiguration = NativeLedger.track(new btDefaultCollisionConfiguration(), "PhysicsSystem");
+        dispatcher = NativeLedger.track(new btCollisionDispatcher(collisionConfiguration), "PhysicsSystem");
+        // Grobe Vorauswahl der Paare: DBVT oder Sweep and Prune in den Weltgrenzen
+        this.broadphaseMode = broadphaseMode;
+        if (worldMin != null && worldMax != null) {
+            this.worldMin.set(worldMin);
+            this.worldMax.set(worldMax);
+            hasWorldBounds = true;
+        }
+        broadphase = createBroadphase();
         // Löst Kollisionen und Constraints auf
-        solver = new btSequentialImpulseConstraintSolver();
+        solver = NativeLedger.track(new btSequentialImpulseConstraintSolver(), "PhysicsSystem");
         // Die eigentliche Physik-Welt
-        dynamicsWorld = new btDiscreteDynamicsWorld(dispatcher, broadphase, solver, collisionConfiguration);
+        dynamicsWorld = NativeLedger.track(new btDiscreteDynamicsWorld(dispatcher, broadphase, solver, collisionConfiguration), "PhysicsSystem");
         // Schwerkraft setzen (typischerweise negativ auf der Y-Achse)
         dynamicsWorld.setGravity(new Vector3(0, -9.81f, 0));
+        queries = new PhysicsQueries(dynamicsWorld, worldLock);
     }
 
+    /**
+     * Ohne Thread: deltaTime (echte Frame-Zeit, ungekürzt) aufsammeln und ganze Ticks simulieren.
+     * Mit Thread: nur den neuesten Snapshot für diesen Frame übernehmen.
+     * In beiden Fällen sehen alle {@link #getTransform} im Frame denselben Tick und denselben Interpolationsanteil.
+     */
     public void update(float deltaTime) {
-        // Physiksimulation fortschreiten lassen
-        dynamicsWorld.stepSimulation(deltaTime, MAX_SUBSTEPS, FIXED_TIME_STEP);
+        if (!running) {
+            accumulator += deltaTime;
+            int ticks = 0;
+            while (accumulator >= fixedTimeStep && ticks < MAX_SUBSTEPS) {
+                tick();
+                accumulator -= fixedTimeStep;
+                ticks++;
+            }
+            if (ticks == MAX_SUBSTEPS && accumulator >= fixedTimeStep) {
+                // Zu weit zurück: Zeit verwerfen statt nachzuholen, sonst wird jeder Frame noch langsamer
+                accumulator %= fixedTimeStep;
+            }
+        }
+        if ((ready.get() & FRESH) != 0) {
+            readIndex = ready.getAndSet(readIndex) & INDEX_MASK;
+        }
+        if (profiler.isEnabled()) profiler.recordFrame((int)(snapshots[readIndex].tick - frameTick));
+        frameTick = snapshots[readIndex].tick;
+        if (running) {
+            alpha = (System.nanoTime() - snapshots[readIndex].nanoTime) / (fixedTimeStep * 1e9f);
+        } else {
+            alpha = accumulator / fixedTimeStep;
+        }
+        alpha = MathUtils.clamp(alpha, 0f, 1f);
+    }
+
+    /**
+     * Ein fester Schritt: eingereihte Befehle, stepSimulation, Snapshot. Nur auf dem Thread aufrufen, dem die Welt gehört
+     * (auch vom {@link ShardedPhysicsSystem}, das die Ticks seiner Teilwelten selbst taktet).
+     */
+    void tick() {
+        executeCommands();
+        boolean profiling = profiler.isEnabled();
+        long start = profiling ? System.nanoTime() : 0;
+        // Genau ein Schritt mit fixedTimeStep, Bullet soll nicht selbst akkumulieren oder interpolieren
+        dynamicsWorld.stepSimulation(fixedTimeStep, 0, fixedTimeStep);
+        if (profiling) profiler.recordStep(System.nanoTime() - start, dynamicsWorld, dispatcher, broadphase);
+        tickCount++;
+        publishSnapshot();
+    }
+
+    public float getTickRate() {
+        return tickRate;
+    }
+
+    public float getFixedTimeStep() {
+        return fixedTimeStep;
+    }
+
+    /** Anteil zwischen vorletztem (0) und letztem Tick (1), mit dem in diesem Frame gezeichnet wird. */
+    public float getInterpolationAlpha() {
+        return alpha;
+    }
+
+    /** Bisher simulierte Ticks. Nur auf dem Thread lesen, dem die Welt gehört (bzw. ohne Thread). */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Startet den Physik-Thread (ein Tick pro fixedTimeStep). Ab jetzt gehört die Welt dem Physik-Thread, die Methoden
+     * dieser Klasse reihen ein oder nehmen den Lock.
+     */
+    public void startSimulationThread() {
+        if (simulationThread != null) return;
+        running = true;
+        simulationThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                simulate();
+            }
+        }, "Physics");
+        simulationThread.setDaemon(true);
+        simulationThread.start();
+        Gdx.app.log("PhysicsSystem", "Simulation thread started (" + Math.round(1f / fixedTimeStep) + " Hz).");
+    }
+
+    /** Hält den Physik-Thread an und wartet auf ihn. Danach läuft die Welt wieder über {@link #update(float)}. */
+    public void stopSimulationThread() {
+        if (simulationThread == null) return;
+        running = false;
+        LockSupport.unpark(simulationThread);
+        try {
+            simulationThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException("Interrupted while stopping the physics thread", e);
+        }
+        simulationThread = null;
+        accumulator = 0;
+        executeCommands(); // nichts Eingereihtes verlieren
+        Gdx.app.log("PhysicsSystem", "Simulation thread stopped.");
+    }
+
+    public boolean isThreaded() {
+        return running;
+    }
+
+    private void simulate() {
+        final long stepNanos = (long)(fixedTimeStep * 1e9);
+        long next = System.nanoTime();
+        while (running) {
+            synchronized (worldLock) {
+                tick();
+            }
+            next += stepNanos;
+            long now = System.nanoTime();
+            if (now - next > MAX_SUBSTEPS * stepNanos) {
+                // Zu weit zurück (wie MAX_SUBSTEPS im Frame-Modus): Zeit verwerfen statt nachzuholen
+                next = now;
+            }
+            while (running && (now = System.nanoTime()) < next) {
+                LockSupport.parkNanos(next - now);
+            }
+        }
+    }
+
+    private void executeCommands() {
+        Command command;
+        while ((command = commands.poll()) != null) {
+            command.execute(this);
+        }
+    }
+
+    /**
+     * Schreibt die Transformationen der angemeldeten Körper (jetzt und nach dem Tick davor) in den Schreibpuffer und
+     * gibt ihn frei.
+     */
+    private void publishSnapshot() {
+        final int count = tracked.size;
+        Snapshot snapshot = snapshots[writeIndex];
+        snapshot.ensureCapacity(count);
+        if (lastPresent.length < count) {
+            lastTransforms = grow(lastTransforms, snapshot.transforms.length);
+            boolean[] newPresent = new boolean[snapshot.present.length];
+            System.arraycopy(lastPresent, 0, newPresent, 0, lastPresent.length);
+            lastPresent = newPresent;
+        }
+        snapshot.count = count;
+        snapshot.tick = tickCount;
+        for (int slot = 0; slot < count; slot++) {
+            btRigidBody body = tracked.get(slot);
+            final int offset = slot * 16;
+            snapshot.present[slot] = body != null;
+            if (body == null) {
+                lastPresent[slot] = false;
+                continue;
+            }
+            body.getWorldTransform(tmpTransform);
+            // Neuer Körper: noch kein Tick davor, also nicht interpolieren
+            System.arraycopy(lastPresent[slot] ? lastTransforms : tmpTransform.val, lastPresent[slot] ? offset : 0, snapshot.previous, offset, 16);
+            System.arraycopy(tmpTransform.val, 0, snapshot.transforms, offset, 16);
+            System.arraycopy(tmpTransform.val, 0, lastTransforms, offset, 16);
+            lastPresent[slot] = true;
+        }
+        snapshot.nanoTime = System.nanoTime();
+        writeIndex = ready.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Führt command vor dem nächsten Schritt auf dem Physik-Thread aus, ohne Thread sofort.
+     * Nur vom GL-Thread aufrufen (die Reihenfolge der Befehle bleibt erhalten).
+     */
+    public void submit(Command command) {
+        if (running) {
+            commands.add(command);
+        } else {
+            executeCommands();
+            command.execute(this);
+        }
+    }
+
+    /**
+     * Meldet einen Körper an, dessen Transformation nach jedem Schritt veröffentlicht wird.
+     * @return Slot für {@link #getTransform(int, Matrix4)}
+     */
+    public int track(final btRigidBody body) {
+        final int slot = nextSlot++;
+        submit(new Command() {
+            @Override
+            public void execute(PhysicsSystem physicsSystem) {
+                if (tracked.size <= slot) tracked.setSize(slot + 1);
+                tracked.set(slot, body);
+            }
+        });
+        return slot;
+    }
+
+    public void untrack(final int slot) {
+        submit(new Command() {
+            @Override
+            public void execute(PhysicsSystem physicsSystem) {
+                if (slot < tracked.size) tracked.set(slot, null);
+            }
+        });
+    }
+
+    /**
+     * Transformation des Körpers in slot für diesen Frame: zwischen den letzten beiden Ticks interpoliert (Position
+     * linear, Rotation per Slerp). Nur auf dem GL-Thread aufrufen.
+     * @return false, wenn es noch keinen Tick mit diesem Körper gab (out bleibt unverändert)
+     */
+    public boolean getTransform(int slot, Matrix4 out) {
+        Snapshot snapshot = snapshots[readIndex];
+        if (slot >= snapshot.count || !snapshot.present[slot]) return false;
+        final int offset = slot * 16;
+        System.arraycopy(snapshot.previous, offset, tmpPrevious.val, 0, 16);
+        System.arraycopy(snapshot.transforms, offset, tmpCurrent.val, 0, 16);
+        tmpPrevious.getTranslation(tmpPosition);
+        tmpCurrent.getTranslation(tmpPosition2);
+        tmpPrevious.getRotation(tmpRotation, true);
+        tmpCurrent.getRotation(tmpRotation2, true);
+        out.set(tmpPosition.lerp(tmpPosition2, alpha), tmpRotation.slerp(tmpRotation2, alpha));
+        return true;
+    }
+
+    /** Broadphase für den aktuellen Modus; ohne Weltgrenzen DBVT. */
+    private btBroadphaseInterface createBroadphase() {
+        if (broadphaseMode == BroadphaseMode.DBVT || !hasWorldBounds) {
+            return NativeLedger.track(new btDbvtBroadphase(), "PhysicsSystem");
+        }
+        if (broadphaseMode == BroadphaseMode.AXIS_SWEEP_16) {
+            return NativeLedger.track(new btAxisSweep3(worldMin, worldMax, AXIS_SWEEP_16_MAX_HANDLES), "PhysicsSystem",
+                    AXIS_SWEEP_16_MAX_HANDLES * AXIS_SWEEP_16_HANDLE_BYTES);
+        }
+        return NativeLedger.track(new bt32BitAxisSweep3(worldMin, worldMax, AXIS_SWEEP_32_MAX_HANDLES), "PhysicsSystem",
+                AXIS_SWEEP_32_MAX_HANDLES * AXIS_SWEEP_32_HANDLE_BYTES);
+    }
+
+    public BroadphaseMode getBroadphaseMode() {
+        return broadphaseMode;
+    }
+
+    /** Kopiert die Weltgrenzen nach min/max. @return false, wenn noch keine gesetzt sind */
+    public boolean getWorldBounds(Vector3 min, Vector3 max) {
+        synchronized (worldLock) {
+            if (!hasWorldBounds) return false;
+            min.set(worldMin);
+            max.set(worldMax);
+            return true;
+        }
+    }
+
+    /**
+     * Wechselt die Broadphase, auch mit Objekten in der Welt (im Thread-Modus zwischen zwei Schritten).
+     * worldMin/worldMax null behält die bisherigen Grenzen.
+     */
+    public void setBroadphase(BroadphaseMode broadphaseMode, Vector3 worldMin, Vector3 worldMax) {
+        synchronized (worldLock) {
+            this.broadphaseMode = broadphaseMode;
+            if (worldMin != null && worldMax != null) {
+                this.worldMin.set(worldMin);
+                this.worldMax.set(worldMax);
+                hasWorldBounds = true;
+            }
+            replaceBroadphase();
+        }
+    }
+
+    /**
+     * Setzt die Welt-AABB, in der die Sweep-and-Prune-Broadphase quantisiert (Objekte außerhalb werden an den Rand
+     * geklemmt und dort nur noch grob getrennt). Bei DBVT wird sie nur gemerkt. Ändern sich die Grenzen, wird eine
+     * Sweep-and-Prune-Broadphase samt aller Objekte neu aufgebaut; das kostet einmal etwa so viel wie alle Objekte neu
+     * hinzuzufügen, also nur bei Terrain-Wechseln aufrufen.
+     */
+    public void setWorldBounds(Vector3 min, Vector3 max) {
+        if (!(max.x > min.x && max.y > min.y && max.z > min.z)) throw new GdxRuntimeException("Empty world bounds: " + min + " - " + max);
+        synchronized (worldLock) {
+            if (hasWorldBounds && worldMin.equals(min) && worldMax.equals(max)) return;
+            worldMin.set(min);
+            worldMax.set(max);
+            hasWorldBounds = true;
+            if (broadphaseMode != BroadphaseMode.DBVT) replaceBroadphase();
+        }
+    }
+
+    /**
+     * Vergisst die Weltgrenzen, z.B. für gestreamtes Terrain ohne Ende der Welt: bis zum nächsten
+     * {@link #setWorldBounds(Vector3, Vector3)} läuft auch ein Sweep-and-Prune-Modus mit DBVT.
+     */
+    public void clearWorldBounds() {
+        synchronized (worldLock) {
+            if (!hasWorldBounds) return;
+            hasWorldBounds = false;
+            if (broadphaseMode != BroadphaseMode.DBVT) replaceBroadphase();
+        }
+    }
+
+    /**
+     * Tauscht die Broadphase unter dem Welt-Lock. Bullet kann Proxys nicht umziehen, also kommen alle Objekte raus
+     * (von hinten, damit die Reihenfolge im Objekt-Array bleibt) und mit ihren Filtern wieder rein.
+     */
+    private void replaceBroadphase() {
+        btCollisionObjectArray objectArray = dynamicsWorld.getCollisionObjectArray();
+        final int count = objectArray.size();
+        btCollisionObject[] objects = new btCollisionObject[count];
+        int[] groups = new int[count];
+        int[] masks = new int[count];
+        for (int i = count - 1; i >= 0; i--) {
+            btCollisionObject object = objectArray.atConst(i);
+            objects[i] = object;
+            groups[i] = object.getBroadphaseHandle().getCollisionFilterGroup();
+            masks[i] = object.getBroadphaseHandle().getCollisionFilterMask();
+            if (object instanceof btRigidBody) {
+                dynamicsWorld.removeRigidBody((btRigidBody)object);
+            } else {
+                dynamicsWorld.removeCollisionObject(object);
+            }
+        }
+        btBroadphaseInterface old = broadphase;
+        broadphase = createBroadphase();
+        dynamicsWorld.setBroadphase(broadphase);
+        NativeLedger.untrack(old);
+        old.dispose();
+        for (int i = 0; i < count; i++) {
+            if (objects[i] instanceof btRigidBody) {
+                dynamicsWorld.addRigidBody((btRigidBody)objects[i], groups[i], masks[i]);
+            } else {
+                dynamicsWorld.addCollisionObject(objects[i], groups[i], masks[i]);
+            }
+        }
+        if (recording != null) recording.broadphase(broadphaseMode, hasWorldBounds ? worldMin : null, worldMax, tickCount);
+        Gdx.app.log("PhysicsSystem", "Broadphase is now " + (broadphase instanceof btDbvtBroadphase ? BroadphaseMode.DBVT : broadphaseMode)
+                + (hasWorldBounds ? " in " + worldMin + " - " + worldMax : "") + " (" + count + " objects moved).");
+    }
+
+    /** Gemeinsame Kollisionsformen für alle Körper dieser Welt. */
+    public ShapeCache getShapeCache() {
+        return shapeCache;
+    }
+
+    /** Messwerte pro Tick und Frame, anfangs ausgeschaltet ({@link PhysicsProfiler#setEnabled(boolean)}). */
+    public PhysicsProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Nimmt ab jetzt Aufbau und Eingaben der Welt auf (siehe {@link PhysicsRecording}). Muss vor dem ersten Objekt und
+     * dem ersten Tick passieren, sonst fehlt der Anfangszustand.
+     */
+    public void startRecording() {
+        synchronized (worldLock) {
+            if (tickCount > 0 || dynamicsWorld.getNumCollisionObjects() > 0) {
+                throw new GdxRuntimeException("Recording must start before the world is set up");
+            }
+            recording = new PhysicsRecording(tickRate);
+            recording.broadphase(broadphaseMode, hasWorldBounds ? worldMin : null, worldMax, 0);
+        }
+        Gdx.app.log("PhysicsSystem", "Recording started.");
+    }
+
+    /** Beendet die Aufnahme nach dem zuletzt fertigen Tick. @return die Aufnahme oder null, wenn keine lief */
+    public PhysicsRecording stopRecording() {
+        synchronized (worldLock) {
+            PhysicsRecording finished = recording;
+            if (finished == null) return null;
+            recording = null;
+            finished.finish(tickCount);
+            return finished;
+        }
+    }
+
+    /** Die laufende Aufnahme oder null; die Physiks-Klassen melden darüber ihre Objekte und Eingaben. */
+    PhysicsRecording getRecording() {
+        return recording;
+    }
+
+    /** Strahlen und Sweeps in Serien, ohne Garbage pro Abfrage. */
+    public PhysicsQueries getQueries() {
+        return queries;
+    }
+
+    /**
+     * Fügt ein unbewegliches Objekt ohne MotionState und ohne Rigid Body hinzu (Häuser, Requisiten). Es liegt in der
+     * Filtergruppe für Statisches und wird deshalb nie gegen anderes Statisches getestet.
+     */
+    public void addCollisionObject(btCollisionObject object) {
+        synchronized (worldLock) {
+            dynamicsWorld.addCollisionObject(object, btBroadphaseProxy.CollisionFilterGroups.StaticFilter,
+                    btBroadphaseProxy.CollisionFilterGroups.AllFilter ^ btBroadphaseProxy.CollisionFilterGroups.StaticFilter);
+            if (recording != null) recording.added(object, tickCount);
+        }
+    }
+
+    /** Nach der Rückkehr läuft kein Schritt mehr mit object, es darf also disposed werden. */
+    public void removeCollisionObject(btCollisionObject object) {
+        synchronized (worldLock) {
+            dynamicsWorld.removeCollisionObject(object);
+            if (recording != null) recording.removed(object, tickCount);
+        }
+    }
+
+    public void addRigidBody(btRigidBody body) {
+        synchronized (worldLock) {
+            dynamicsWorld.addRigidBody(body);
+            if (recording != null) recording.added(body, tickCount);
+        }
+    }
+
+    /** Nach der Rückkehr läuft kein Schritt mehr mit body, er darf also disposed werden. */
+    public void removeRigidBody(btRigidBody body) {
+        synchronized (worldLock) {
+            dynamicsWorld.removeRigidBody(body);
+            if (recording != null) recording.removed(body, tickCount);
+        }
+    }
+
+    public int getNumCollisionObjects() {
+        synchronized (worldLock) {
+            return dynamicsWorld.getNumCollisionObjects();
+        }
+    }
+
+    /** Setzt den Drawer für {@link #debugDrawWorld()} (null schaltet ihn ab). */
+    public void setDebugDrawer(btIDebugDraw debugDrawer) {
+        synchronized (worldLock) {
+            dynamicsWorld.setDebugDrawer(debugDrawer);
+        }
+    }
+
+    /**
+     * Nur die Broadphase eines Schritts: AABBs aktualisieren und Paare suchen, ohne Narrowphase und Solver. Für Benchmarks
+     * der Broadphase-Modi; im Thread-Modus wartet es auf das Ende des laufenden Schritts.
+     * @return Anzahl der überlappenden Paare
+     */
+    public int computeOverlappingPairs() {
+        synchronized (worldLock) {
+            dynamicsWorld.updateAabbs();
+            dynamicsWorld.computeOverlappingPairs();
+            return dynamicsWorld.getPairCache().getNumOverlappingPairs();
+        }
+    }
+
+    /** Debug-Zeichnen; im Thread-Modus wartet es auf das Ende des laufenden Schritts. */
+    public void debugDrawWorld() {
+        synchronized (worldLock) {
+            dynamicsWorld.debugDrawWorld();
+        }
     }
 
     @Override
     public void dispose() {
+        stopSimulationThread();
+        queries.dispose();
+        NativeLedger.untrack(dynamicsWorld);
         dynamicsWorld.dispose();
+        NativeLedger.untrack(solver);
         solver.dispose();
+        NativeLedger.untrack(broadphase);
         broadphase.dispose();
+        NativeLedger.untrack(dispatcher);
         dispatcher.dispose();
+        NativeLedger.untrack(collisionConfiguration);
         collisionConfiguration.dispose();
+        shapeCache.dispose();
     }
 }
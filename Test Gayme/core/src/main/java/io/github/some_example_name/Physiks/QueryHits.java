@@ -0,0 +1,46 @@
+package io.github.some_example_name.Physiks;
+
+/**
+ * Wiederverwendbare Ergebnisse einer Abfrage-Serie von {@link PhysicsQueries}: Eintrag i gehört zu Strahl bzw. Sweep i.
+ * Die Arrays wachsen nur, wenn eine Serie größer ist als alle davor; sonst wird nichts angelegt.
+ */
+public class QueryHits {
+
+    /** Anzahl gültiger Einträge der letzten Serie. */
+    public int count;
+    /** Getroffen oder nicht; ohne Treffer sind die übrigen Werte des Eintrags ungültig. */
+    public boolean[] hit = new boolean[0];
+    /** 0 = am Start, 1 = am Ende des Strahls bzw. Sweeps. */
+    public float[] fraction = new float[0];
+    /** Trefferpunkte in Weltkoordinaten, 3 Werte pro Eintrag. */
+    public float[] points = new float[0];
+    /** Normalen am Trefferpunkt, 3 Werte pro Eintrag. */
+    public float[] normals = new float[0];
+    /** userData des getroffenen Kollisionsobjekts (z.B. "Haus_1" oder ein {@link StaticPropBatch}). */
+    public Object[] userData = new Object[0];
+
+    public QueryHits() {
+    }
+
+    public QueryHits(int capacity) {
+        ensureCapacity(capacity);
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (hit.length >= capacity) return;
+        hit = new boolean[capacity];
+        fraction = new float[capacity];
+        points = new float[capacity * 3];
+        normals = new float[capacity * 3];
+        userData = new Object[capacity];
+    }
+
+    /** Anzahl der Einträge mit Treffer. */
+    public int countHits() {
+        int hits = 0;
+        for (int i = 0; i < count; i++) {
+            if (hit[i]) hits++;
+        }
+        return hits;
+    }
+}
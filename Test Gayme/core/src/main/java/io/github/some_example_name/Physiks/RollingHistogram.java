@@ -0,0 +1,123 @@
+package io.github.some_example_name.Physiks;
+
+import java.util.Arrays;
+
+/**
+ * Die letzten N Messwerte einer Größe in einem Ringpuffer. Aufnehmen kostet einen Array-Schreibzugriff; Mittelwert,
+ * Extremwerte und Perzentile werden erst beim Lesen über das Fenster berechnet.
+ * <p>
+ * Ein Schreiber, beliebige Leser: {@link #record(float)} darf nur ein Thread aufrufen (beim {@link PhysicsProfiler} der
+ * Physik-Thread bzw. für die Frames der GL-Thread) und nimmt keinen Lock. Es schreibt erst den Wert und veröffentlicht
+ * ihn dann über den volatile Zähler. Leser kopieren die veröffentlichten Werte und rechnen auf der Kopie; schreibt der
+ * Schreiber währenddessen weiter, können darin schon ein paar neuere Werte statt der ältesten stehen. Für eine Anzeige
+ * ist das egal. {@link #clear()} geht von jedem Thread, es verschiebt nur den Anfang, ab dem die Leser zählen.
+ */
+public class RollingHistogram {
+
+    private final String name;
+    private final float[] window;
+    private final float[] sorted; // Kopie für die Leser, unter deren Lock
+    /** Anzahl aller aufgenommenen Werte; der Schreiber erhöht ihn erst, nachdem der Wert im Fenster steht. */
+    private volatile long total;
+    /** Stand von total beim letzten {@link #clear()}. */
+    private volatile long cleared;
+
+    public RollingHistogram(String name, int windowSize) {
+        this.name = name;
+        this.window = new float[windowSize];
+        this.sorted = new float[windowSize];
+    }
+
+    /** Nur von einem Thread aufrufen (siehe Klassenbeschreibung). */
+    public void record(float value) {
+        final long index = total;
+        window[(int)(index % window.length)] = value;
+        total = index + 1;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Anzahl Werte im Fenster (höchstens die Fenstergröße). */
+    public int getCount() {
+        return (int)Math.min(getTotalCount(), window.length);
+    }
+
+    /** Anzahl aller bisher aufgenommenen Werte, auch der aus dem Fenster gefallenen. */
+    public long getTotalCount() {
+        return Math.max(0, total - cleared);
+    }
+
+    public float getLatest() {
+        final long end = total;
+        return end - cleared <= 0 ? 0 : window[(int)((end - 1) % window.length)];
+    }
+
+    public synchronized float getMean() {
+        final int count = copyWindow();
+        if (count == 0) return 0;
+        float sum = 0;
+        for (int i = 0; i < count; i++) sum += sorted[i];
+        return sum / count;
+    }
+
+    public synchronized float getMin() {
+        final int count = copyWindow();
+        if (count == 0) return 0;
+        float min = sorted[0];
+        for (int i = 1; i < count; i++) min = Math.min(min, sorted[i]);
+        return min;
+    }
+
+    public synchronized float getMax() {
+        final int count = copyWindow();
+        if (count == 0) return 0;
+        float max = sorted[0];
+        for (int i = 1; i < count; i++) max = Math.max(max, sorted[i]);
+        return max;
+    }
+
+    /** Wert, unter dem der Anteil p (0..1) des Fensters liegt, z.B. 0.99 für das 99. Perzentil. */
+    public synchronized float getPercentile(float p) {
+        final int count = copyWindow();
+        if (count == 0) return 0;
+        Arrays.sort(sorted, 0, count);
+        int index = Math.round(p * (count - 1));
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    /** Zählt die Werte im Fenster pro Bereich: counts[i] für Werte bis bounds[i], der letzte Eintrag für alles darüber. */
+    public synchronized void getBuckets(float[] bounds, int[] counts) {
+        if (counts.length != bounds.length + 1) throw new IllegalArgumentException("counts needs bounds.length + 1 entries");
+        Arrays.fill(counts, 0);
+        final int count = copyWindow();
+        for (int i = 0; i < count; i++) {
+            int bucket = 0;
+            while (bucket < bounds.length && sorted[i] > bounds[bucket]) bucket++;
+            counts[bucket]++;
+        }
+    }
+
+    /** Vergisst alle bisherigen Werte; von jedem Thread aus, der Schreiber wird dabei nicht aufgehalten. */
+    public void clear() {
+        cleared = total;
+    }
+
+    /** Kopiert die veröffentlichten Werte im Fenster (ohne die vor {@link #clear()}) nach sorted. @return ihre Anzahl */
+    private int copyWindow() {
+        final long end = total;
+        final int count = (int)Math.min(Math.max(0, end - cleared), window.length);
+        final int start = (int)((end - count) % window.length);
+        final int first = Math.min(count, window.length - start);
+        System.arraycopy(window, start, sorted, 0, first);
+        System.arraycopy(window, 0, sorted, first, count - first);
+        return count;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s: mean %.2f, p50 %.2f, p95 %.2f, p99 %.2f, max %.2f (%d samples)",
+            name, getMean(), getPercentile(0.5f), getPercentile(0.95f), getPercentile(0.99f), getMax(), getCount());
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.some_example_name.Physiks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.physics.bullet.collision.btBoxShape;
+import com.badlogic.gdx.physics.bullet.collision.btCapsuleShape;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionShape;
+import com.badlogic.gdx.physics.bullet.collision.btSphereShape;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import io.github.some_example_name.NativeLedger;
+
+/**
+ * Gemeinsame Kollisionsformen: Gleiche Boxen, Kugeln und Kapseln werden nur einmal nativ angelegt und von allen Körpern
+ * geteilt (Bullet erlaubt das, eine Form hat keinen eigenen Zustand). Jede {@code box/sphere/capsule}-Anfrage zählt eine
+ * Referenz hoch, {@link #release(btCollisionShape)} wieder herunter; bei null wird die Form freigegeben.
+ * <p>
+ * Gehört dem {@link PhysicsSystem} ({@link PhysicsSystem#getShapeCache()}) und wird mit ihm freigegeben. Thread-sicher.
+ */
+public class ShapeCache implements Disposable {
+
+    static final int BOX = 0, SPHERE = 1, CAPSULE = 2;
+
+    /** Art und Maße einer Form, Floats über ihre Bits verglichen (wie {@link Float#equals}). */
+    private static final class Key {
+        final int type;
+        final int a, b, c;
+
+        Key(int type, float a, float b, float c) {
+            this.type = type;
+            this.a = Float.floatToIntBits(a);
+            this.b = Float.floatToIntBits(b);
+            this.c = Float.floatToIntBits(c);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key)o;
+            return type == other.type && a == other.a && b == other.b && c == other.c;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((type * 31 + a) * 31 + b) * 31 + c;
+        }
+    }
+
+    private static final class Entry {
+        final Key key;
+        final btCollisionShape shape;
+        int references;
+
+        Entry(Key key, btCollisionShape shape) {
+            this.key = key;
+            this.shape = shape;
+        }
+    }
+
+    private final ObjectMap<Key, Entry> byKey = new ObjectMap<Key, Entry>();
+    private final ObjectMap<btCollisionShape, Entry> byShape = new ObjectMap<btCollisionShape, Entry>();
+    private int requests;
+
+    /** Box mit halben Kantenlängen halfExtents (wird nicht gespeichert). */
+    public synchronized btBoxShape box(Vector3 halfExtents) {
+        Key key = new Key(BOX, halfExtents.x, halfExtents.y, halfExtents.z);
+        Entry entry = byKey.get(key);
+        if (entry == null) entry = add(key, new btBoxShape(halfExtents));
+        return (btBoxShape)obtain(entry);
+    }
+
+    public synchronized btSphereShape sphere(float radius) {
+        Key key = new Key(SPHERE, radius, 0, 0);
+        Entry entry = byKey.get(key);
+        if (entry == null) entry = add(key, new btSphereShape(radius));
+        return (btSphereShape)obtain(entry);
+    }
+
+    /** Kapsel entlang Y, height ohne die Halbkugeln (wie {@link btCapsuleShape}). */
+    public synchronized btCapsuleShape capsule(float radius, float height) {
+        Key key = new Key(CAPSULE, radius, height, 0);
+        Entry entry = byKey.get(key);
+        if (entry == null) entry = add(key, new btCapsuleShape(radius, height));
+        return (btCapsuleShape)obtain(entry);
+    }
+
+    /**
+     * Art ({@link #BOX}, {@link #SPHERE}, {@link #CAPSULE}) und Maße einer Form aus diesem Cache, z.B. für eine
+     * {@link PhysicsRecording}. dimensions: halbe Kantenlängen, (Radius, 0, 0) bzw. (Radius, Höhe, 0).
+     */
+    synchronized int describe(btCollisionShape shape, Vector3 dimensions) {
+        Entry entry = byShape.get(shape);
+        if (entry == null) throw new GdxRuntimeException("Shape was not created by this cache: " + shape);
+        dimensions.set(Float.intBitsToFloat(entry.key.a), Float.intBitsToFloat(entry.key.b), Float.intBitsToFloat(entry.key.c));
+        return entry.key.type;
+    }
+
+    /** Gegenstück zu {@link #describe}: dieselbe Form wie beschrieben (eine neue Referenz). */
+    btCollisionShape obtain(int type, Vector3 dimensions) {
+        switch (type) {
+            case BOX: return box(dimensions);
+            case SPHERE: return sphere(dimensions.x);
+            case CAPSULE: return capsule(dimensions.x, dimensions.y);
+            default: throw new GdxRuntimeException("Unknown shape type: " + type);
+        }
+    }
+
+    private Entry add(Key key, btCollisionShape shape) {
+        NativeLedger.track(shape, "ShapeCache");
+        Entry entry = new Entry(key, shape);
+        byKey.put(key, entry);
+        byShape.put(shape, entry);
+        return entry;
+    }
+
+    private btCollisionShape obtain(Entry entry) {
+        entry.references++;
+        requests++;
+        return entry.shape;
+    }
+
+    /** Gibt eine Referenz zurück. Die Form darf danach nicht mehr benutzt werden (auch nicht in einem Körper in der Welt). */
+    public synchronized void release(btCollisionShape shape) {
+        Entry entry = byShape.get(shape);
+        if (entry == null) throw new GdxRuntimeException("Shape was not created by this cache: " + shape);
+        if (--entry.references > 0) return;
+        byKey.remove(entry.key);
+        byShape.remove(shape);
+        NativeLedger.untrack(shape);
+        shape.dispose();
+    }
+
+    /** Anzahl verschiedener nativer Formen. */
+    public synchronized int getShapeCount() {
+        return byKey.size;
+    }
+
+    /** Anzahl aller bisherigen Anfragen; mit {@link #getShapeCount()} sieht man, wie viel geteilt wird. */
+    public synchronized int getRequestCount() {
+        return requests;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        int leaked = 0;
+        for (Entry entry : byKey.values()) {
+            leaked += entry.references;
+            NativeLedger.untrack(entry.shape);
+            entry.shape.dispose();
+        }
+        if (leaked > 0) Gdx.app.log("ShapeCache", "Disposed " + byKey.size + " shapes with " + leaked + " references still held.");
+        byKey.clear();
+        byShape.clear();
+    }
+}
@@ -0,0 +1,283 @@
+package io.github.some_example_name.Physiks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionShape;
+import com.badlogic.gdx.physics.bullet.dynamics.btRigidBody;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import io.github.some_example_name.NativeLedger;
+import io.github.some_example_name.Terrain.HeightField;
+
+/**
+ * Optionaler Modus für viele gleichzeitig aktive dynamische Körper: Die Welt wird auf XZ in ein Raster von Regionen
+ * geteilt, jede Region ist ein eigenes {@link PhysicsSystem} mit eigener Bullet-Welt. Pro Tick werden alle Regionen
+ * gleichzeitig auf einem Thread-Pool gerechnet, danach wechseln Körper, die ihre Region verlassen haben, in die neue.
+ * <p>
+ * Statisches (Terrain, Häuser) liegt in jeder Region, die es berührt, als eigenes Kollisionsobjekt; die Form selbst
+ * wird geteilt, beim Terrain auch die Höhendaten (je Region nur eine {@link TerrainPhysics} um dasselbe HeightField).
+ * <p>
+ * Grenzen: Körper in verschiedenen Regionen sehen einander nicht. Ein Körper wechselt erst, wenn er HANDOVER_MARGIN hinter
+ * der Grenze ist (sonst pendelt er an der Kante hin und her); Stapel und Kontakte über eine Grenze hinweg reißen also
+ * ab. Das passt für viele verstreute Körper, nicht für einen großen Haufen genau auf einer Grenze.
+ * <p>
+ * Taktung wie {@link PhysicsSystem#update(float)}: Akkumulator mit festen Ticks, höchstens MAX_SUBSTEPS pro Frame,
+ * Darstellung zwischen den letzten beiden Ticks interpoliert ({@link #getTransform(Body, Matrix4)}).
+ * Alle öffentlichen Methoden nur vom GL-Thread aufrufen; zwischen zwei {@link #update(float)} ruhen alle Welten.
+ */
+public class ShardedPhysicsSystem implements Disposable {
+
+    /** Ein dynamischer Körper und die Region, in deren Welt er gerade liegt. */
+    public static final class Body {
+        public final btRigidBody rigidBody;
+        int shard;
+        final Matrix4 previous = new Matrix4();
+        final Matrix4 current = new Matrix4();
+
+        Body(btRigidBody rigidBody) {
+            this.rigidBody = rigidBody;
+        }
+
+        /** Index der Region, in deren Welt der Körper gerade liegt. */
+        public int getShard() {
+            return shard;
+        }
+    }
+
+    private final int MAX_SUBSTEPS = 5;
+    /** So weit muss ein Körper hinter der Grenze sein, bevor er in die Nachbarregion wechselt. */
+    private final float HANDOVER_MARGIN = 2f;
+
+    private final float minX, minZ, regionWidth, regionDepth;
+    private final int columns, rows;
+    private final PhysicsSystem[] shards;
+    private final Array<Array<btCollisionObject>> staticObjects = new Array<Array<btCollisionObject>>();
+    private final Array<TerrainPhysics> terrainPhysics = new Array<TerrainPhysics>();
+    private final IntArray terrainShards = new IntArray(); // Region je Eintrag in terrainPhysics
+    private final Array<Body> bodies = new Array<Body>();
+    private final AsyncExecutor executor;
+    private final Array<AsyncResult<Void>> pending = new Array<AsyncResult<Void>>();
+    private final Array<AsyncTask<Void>> tickTasks = new Array<AsyncTask<Void>>();
+    private final float fixedTimeStep;
+    private float accumulator;
+    private float alpha;
+    private int handovers;
+
+    private final Vector3 tmpPosition = new Vector3();
+    private final Vector3 tmpPosition2 = new Vector3();
+    private final Vector3 tmpMin = new Vector3();
+    private final Vector3 tmpMax = new Vector3();
+    private final Quaternion tmpRotation = new Quaternion();
+    private final Quaternion tmpRotation2 = new Quaternion();
+
+    /**
+     * Teilt das Welt-Rechteck minX..maxX / minZ..maxZ in columns x rows Regionen (Körper außerhalb gehören zur nächsten
+     * Randregion).
+     *
+     * @param tickRate            Physik-Ticks pro Sekunde
+     * @param threads             Threads, auf denen die Regionen gerechnet werden (der GL-Thread rechnet zusätzlich mit)
+     */
+    public ShardedPhysicsSystem(float minX, float minZ, float maxX, float maxZ, int columns, int rows, float tickRate, int threads) {
+        if (columns < 1 || rows < 1) throw new GdxRuntimeException("Need at least one region, got " + columns + "x" + rows);
+        if (maxX <= minX || maxZ <= minZ) throw new GdxRuntimeException("Empty world bounds");
+        this.minX = minX;
+        this.minZ = minZ;
+        this.columns = columns;
+        this.rows = rows;
+        this.regionWidth = (maxX - minX) / columns;
+        this.regionDepth = (maxZ - minZ) / rows;
+        this.fixedTimeStep = 1f / tickRate;
+        this.shards = new PhysicsSystem[columns * rows];
+        for (int i = 0; i < shards.length; i++) {
+            final PhysicsSystem shard = new PhysicsSystem(tickRate);
+            shards[i] = shard;
+            staticObjects.add(new Array<btCollisionObject>());
+            tickTasks.add(new AsyncTask<Void>() {
+                @Override
+                public Void call() {
+                    shard.tick();
+                    return null;
+                }
+            });
+        }
+        this.executor = new AsyncExecutor(Math.max(1, threads), "PhysicsShard");
+        Gdx.app.log("ShardedPhysicsSystem", "Created " + columns + "x" + rows + " regions of " + regionWidth + "x" + regionDepth
+                + " on " + Math.max(1, threads) + " thread(s).");
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public PhysicsSystem getShard(int index) {
+        return shards[index];
+    }
+
+    /** Region, in deren Rechteck (x, z) liegt; außerhalb die nächstgelegene Randregion. */
+    public int shardAt(float x, float z) {
+        return row(z) * columns + column(x);
+    }
+
+    /** Terrain-Kollision in jeder Region: eigene Heightfield-Shape und eigener Körper, Höhendaten geteilt. */
+    public void addTerrain(HeightField heightField) {
+        for (int i = 0; i < shards.length; i++) {
+            terrainPhysics.add(new TerrainPhysics(shards[i], heightField));
+            terrainShards.add(i);
+        }
+    }
+
+    /**
+     * Unbewegliches Objekt mit der (geteilten) Form shape in allen Regionen, die seine AABB (plus HANDOVER_MARGIN)
+     * berührt. Die Form gehört weiter dem Aufrufer und muss bis {@link #dispose()} leben.
+     */
+    public void addStatic(btCollisionShape shape, Matrix4 worldTransform) {
+        shape.getAabb(worldTransform, tmpMin, tmpMax);
+        final int c0 = column(tmpMin.x - HANDOVER_MARGIN), c1 = column(tmpMax.x + HANDOVER_MARGIN);
+        final int r0 = row(tmpMin.z - HANDOVER_MARGIN), r1 = row(tmpMax.z + HANDOVER_MARGIN);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                btCollisionObject object = NativeLedger.track(new btCollisionObject(), "ShardedPhysicsSystem");
+                object.setCollisionShape(shape);
+                object.setWorldTransform(worldTransform);
+                object.setCollisionFlags(object.getCollisionFlags() | btCollisionObject.CollisionFlags.CF_STATIC_OBJECT);
+                shards[r * columns + c].addCollisionObject(object);
+                staticObjects.get(r * columns + c).add(object);
+            }
+        }
+    }
+
+    private int column(float x) {
+        return MathUtils.clamp(MathUtils.floor((x - minX) / regionWidth), 0, columns - 1);
+    }
+
+    private int row(float z) {
+        return MathUtils.clamp(MathUtils.floor((z - minZ) / regionDepth), 0, rows - 1);
+    }
+
+    /** Fügt einen dynamischen Körper in die Region an seiner Position ein. Der Körper gehört weiter dem Aufrufer. */
+    public Body addDynamic(btRigidBody rigidBody) {
+        Body body = new Body(rigidBody);
+        rigidBody.getWorldTransform(body.current);
+        body.previous.set(body.current);
+        body.current.getTranslation(tmpPosition);
+        body.shard = shardAt(tmpPosition.x, tmpPosition.z);
+        shards[body.shard].addRigidBody(rigidBody);
+        bodies.add(body);
+        return body;
+    }
+
+    /** Nimmt den Körper aus seiner Welt; danach darf er disposed werden. */
+    public void removeDynamic(Body body) {
+        if (!bodies.removeValue(body, true)) return;
+        shards[body.shard].removeRigidBody(body.rigidBody);
+    }
+
+    /** Echte Frame-Zeit aufsammeln und ganze Ticks rechnen, jeden Tick in allen Regionen gleichzeitig. */
+    public void update(float deltaTime) {
+        accumulator += deltaTime;
+        int ticks = 0;
+        while (accumulator >= fixedTimeStep && ticks < MAX_SUBSTEPS) {
+            tick();
+            accumulator -= fixedTimeStep;
+            ticks++;
+        }
+        if (ticks == MAX_SUBSTEPS && accumulator >= fixedTimeStep) {
+            accumulator %= fixedTimeStep;
+        }
+        alpha = accumulator / fixedTimeStep;
+    }
+
+    private void tick() {
+        for (int i = 0; i < bodies.size; i++) {
+            Body body = bodies.get(i);
+            body.previous.set(body.current);
+        }
+        // Region 0 rechnet der aufrufende Thread selbst, statt nur zu warten
+        for (int i = 1; i < shards.length; i++) {
+            pending.add(executor.submit(tickTasks.get(i)));
+        }
+        shards[0].tick();
+        for (int i = 0; i < pending.size; i++) {
+            pending.get(i).get();
+        }
+        pending.clear();
+        // Ab hier ruhen alle Welten wieder, Körper dürfen umziehen
+        for (int i = 0; i < bodies.size; i++) {
+            Body body = bodies.get(i);
+            body.rigidBody.getWorldTransform(body.current);
+            handOver(body);
+        }
+    }
+
+    /** Wechselt die Welt, wenn der Körper weiter als HANDOVER_MARGIN aus seiner Region heraus ist. */
+    private void handOver(Body body) {
+        body.current.getTranslation(tmpPosition);
+        final int column = body.shard % columns;
+        final int row = body.shard / columns;
+        final float x0 = minX + column * regionWidth, z0 = minZ + row * regionDepth;
+        final boolean outside = (column > 0 && tmpPosition.x < x0 - HANDOVER_MARGIN)
+                || (column < columns - 1 && tmpPosition.x > x0 + regionWidth + HANDOVER_MARGIN)
+                || (row > 0 && tmpPosition.z < z0 - HANDOVER_MARGIN)
+                || (row < rows - 1 && tmpPosition.z > z0 + regionDepth + HANDOVER_MARGIN);
+        if (!outside) return;
+        final int target = shardAt(tmpPosition.x, tmpPosition.z);
+        // Der Körper behält Transformation und Geschwindigkeiten, nur seine Kontakte gehen verloren
+        shards[body.shard].removeRigidBody(body.rigidBody);
+        shards[target].addRigidBody(body.rigidBody);
+        body.rigidBody.activate();
+        body.shard = target;
+        handovers++;
+    }
+
+    /** Zwischen den letzten beiden Ticks interpoliert, wie {@link PhysicsSystem#getTransform(int, Matrix4)}. */
+    public void getTransform(Body body, Matrix4 out) {
+        body.previous.getTranslation(tmpPosition);
+        body.current.getTranslation(tmpPosition2);
+        body.previous.getRotation(tmpRotation, true);
+        body.current.getRotation(tmpRotation2, true);
+        out.set(tmpPosition.lerp(tmpPosition2, alpha), tmpRotation.slerp(tmpRotation2, alpha));
+    }
+
+    public int getBodyCount() {
+        return bodies.size;
+    }
+
+    /** Bisherige Regionswechsel aller Körper. */
+    public int getHandoverCount() {
+        return handovers;
+    }
+
+    @Override
+    public void dispose() {
+        executor.dispose();
+        for (int i = 0; i < bodies.size; i++) {
+            Body body = bodies.get(i);
+            shards[body.shard].removeRigidBody(body.rigidBody);
+        }
+        bodies.clear();
+        for (int i = 0; i < shards.length; i++) {
+            for (btCollisionObject object : staticObjects.get(i)) {
+                shards[i].removeCollisionObject(object);
+                NativeLedger.untrack(object);
+                object.dispose();
+            }
+        }
+        for (int i = 0; i < terrainPhysics.size; i++) {
+            TerrainPhysics terrain = terrainPhysics.get(i);
+            shards[terrainShards.get(i)].removeRigidBody(terrain.body);
+            terrain.dispose();
+        }
+        for (PhysicsSystem shard : shards) {
+            shard.dispose();
+        }
+    }
+}
@@ -3,19 +3,22 @@ package io.github.some_example_name.Physiks; // Oder dein Paket
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector3;
-import com.badlogic.gdx.physics.bullet.collision.btBoxShape;
 import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
 import com.badlogic.gdx.physics.bullet.collision.btCollisionShape;
-import com.badlogic.gdx.physics.bullet.dynamics.btRigidBody;
-import com.badlogic.gdx.physics.bullet.linearmath.btDefaultMotionState;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.Gdx;
+import io.github.some_example_name.NativeLedger;
 
+/**
+ * Ein einzelnes unbewegliches Objekt mit Box-Form. Nur ein {@link btCollisionObject} (kein Rigid Body, kein MotionState),
+ * die Box kommt aus dem {@link ShapeCache} und wird mit gleich großen Objekten geteilt.
+ * Viele Objekte einer Region besser mit {@link StaticPropBatch} zu einem Körper zusammenfassen.
+ */
 public class StaticObjectPhysics implements Disposable {
 
-    public final btRigidBody body;
+    public final btCollisionObject body;
     private final btCollisionShape shape;
-    private final btDefaultMotionState motionState;
+    private final PhysicsSystem physicsSystem;
     // Optional: Referenz zur ModelInstance, wenn du sie hier verwalten willst
     // public ModelInstance modelInstance;
 
@@ -27,40 +30,27 @@ public class StaticObjectPhysics implements Disposable {
      * @param worldTransform Die Transformationsmatrix (Position, Rotation) in der Welt.
      */
     public StaticObjectPhysics(PhysicsSystem physicsSystem, Vector3 halfExtents, Matrix4 worldTransform) {
-        // this.modelInstance = modelInstance; // Falls du es hier speicherst
+        this.physicsSystem = physicsSystem;
 
-        // 1. Kollisionsform erstellen (Box)
+        // 1. Kollisionsform holen (Box), gleich große Boxen teilen sich eine native Form
         // halfExtents ist die Hälfte der Breite, Höhe und Tiefe der Box vom Zentrum aus.
-        this.shape = new btBoxShape(halfExtents);
-        Gdx.app.log("StaticObjectPhysics", "Created btBoxShape with halfExtents: " + halfExtents);
+        this.shape = physicsSystem.getShapeCache().box(halfExtents);
+        Gdx.app.log("StaticObjectPhysics", "Using shared btBoxShape with halfExtents: " + halfExtents);
 
-        // 2. MotionState erstellen und Welt-Transformation setzen
-        this.motionState = new btDefaultMotionState();
-        this.motionState.setWorldTransform(worldTransform);
-        Vector3 pos = new Vector3();
-        worldTransform.getTranslation(pos);
-        Gdx.app.log("StaticObjectPhysics", "Set initial MotionState world transform position to: " + pos);
-
-
-        // 3. RigidBody Konstruktionsinfo (statisch)
-        float mass = 0f; // Masse 0 bedeutet statisch
-        Vector3 localInertia = new Vector3(0, 0, 0); // Keine Trägheit für statische Objekte
-        btRigidBody.btRigidBodyConstructionInfo constructionInfo = new btRigidBody.btRigidBodyConstructionInfo(
-                mass, motionState, shape, localInertia
-        );
-
-        // 4. RigidBody erstellen
-        this.body = new btRigidBody(constructionInfo);
+        // 2. Statisches Kollisionsobjekt: bewegt sich nie, braucht also weder Masse noch MotionState
+        this.body = NativeLedger.track(new btCollisionObject(), "StaticObjectPhysics");
+        this.body.setCollisionShape(shape);
+        this.body.setWorldTransform(worldTransform);
         this.body.setCollisionFlags(this.body.getCollisionFlags() | btCollisionObject.CollisionFlags.CF_STATIC_OBJECT);
         this.body.setFriction(0.9f); // Häuser haben oft hohe Reibung
         // Optional: UserData setzen, falls du später auf das spezifische Haus zugreifen musst
         // this.body.userData = "House"; // Oder eine komplexere ID
 
-        Gdx.app.log("StaticObjectPhysics", "Created static btRigidBody.");
-
-        // 5. Körper zur Physik-Welt hinzufügen
-        physicsSystem.dynamicsWorld.addRigidBody(this.body);
-        Gdx.app.log("StaticObjectPhysics", "Static object rigid body added to the world. Total objects: " + physicsSystem.dynamicsWorld.getNumCollisionObjects());
+        // 3. Objekt zur Physik-Welt hinzufügen (und ggf. für die Aufnahme beschreiben)
+        PhysicsRecording recording = physicsSystem.getRecording();
+        if (recording != null) recording.staticObject(this.body, shape, worldTransform, physicsSystem.getShapeCache());
+        physicsSystem.addCollisionObject(this.body);
+        Gdx.app.log("StaticObjectPhysics", "Static collision object added to the world. Total objects: " + physicsSystem.getNumCollisionObjects());
     }
 
     /**
@@ -76,16 +66,11 @@ public class StaticObjectPhysics implements Disposable {
 
     @Override
     public void dispose() {
-        // Wichtig: In umgekehrter Reihenfolge der Erstellung (oder zumindest Body vor Shape/MotionState)
-        if (body != null) {
-            // Optional: Vor dem Disposen aus der Welt entfernen
-            // if (physicsSystem != null && physicsSystem.dynamicsWorld != null) {
-            //     physicsSystem.dynamicsWorld.removeRigidBody(body);
-            // }
-            body.dispose();
-        }
-        if (motionState != null) motionState.dispose();
-        if (shape != null) shape.dispose();
+        // Erst aus der Welt, dann das Objekt; die geteilte Form nur zurückgeben
+        physicsSystem.removeCollisionObject(body);
+        NativeLedger.untrack(body);
+        body.dispose();
+        physicsSystem.getShapeCache().release(shape);
         Gdx.app.log("StaticObjectPhysics", "Disposed static object physics.");
     }
 }
@@ -0,0 +1,99 @@
+package io.github.some_example_name.Physiks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionShape;
+import com.badlogic.gdx.physics.bullet.collision.btCompoundShape;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import io.github.some_example_name.NativeLedger;
+
+/**
+ * Fasst viele unbewegliche Objekte einer Region (Häuser, Kakteen, Felsen ...) zu einem einzigen Kollisionsobjekt mit
+ * einer {@link btCompoundShape} zusammen: ein Broadphase-Proxy und ein natives Objekt statt eines pro Objekt. Die Teilformen
+ * kommen aus dem {@link ShapeCache}, tausend gleiche Boxen sind also nur eine native Form plus tausend Transformationen.
+ * Innerhalb der Compound-Form sucht ein AABB-Baum die getroffenen Teile, die Kosten wachsen also nur logarithmisch.
+ * <p>
+ * Ablauf: Teile mit {@link #addBox} / {@link #add} sammeln (Welt-Koordinaten), dann einmal {@link #build()}.
+ * Wer getroffen wurde, verrät der Teil-Index (z.B. {@code btManifoldPoint.getIndex0/1}) über {@link #getUserData(int)}.
+ */
+public class StaticPropBatch implements Disposable {
+
+    private final PhysicsSystem physicsSystem;
+    private final btCompoundShape compound;
+    private final Array<btCollisionShape> childShapes = new Array<btCollisionShape>();
+    private final Array<Object> childUserData = new Array<Object>();
+    private btCollisionObject body;
+
+    public StaticPropBatch(PhysicsSystem physicsSystem) {
+        this.physicsSystem = physicsSystem;
+        this.compound = NativeLedger.track(new btCompoundShape(true), "StaticPropBatch"); // mit AABB-Baum über die Teile
+    }
+
+    /** Box mit halben Kantenlängen halfExtents, Mittelpunkt und Drehung aus worldTransform. @return Teil-Index */
+    public int addBox(Vector3 halfExtents, Matrix4 worldTransform, Object userData) {
+        return add(physicsSystem.getShapeCache().box(halfExtents), worldTransform, userData);
+    }
+
+    /**
+     * Fügt eine Form aus dem {@link ShapeCache} dieses PhysicsSystems hinzu; die Referenz geht an den Batch über und
+     * wird mit ihm zurückgegeben. @return Teil-Index
+     */
+    public int add(btCollisionShape cachedShape, Matrix4 worldTransform, Object userData) {
+        if (body != null) throw new GdxRuntimeException("StaticPropBatch is already built");
+        compound.addChildShape(worldTransform, cachedShape);
+        childShapes.add(cachedShape);
+        childUserData.add(userData);
+        return childShapes.size - 1;
+    }
+
+    /** Legt das eine Kollisionsobjekt an und fügt es der Welt hinzu. Danach können keine Teile mehr dazukommen. */
+    public void build() {
+        if (body != null) throw new GdxRuntimeException("StaticPropBatch is already built");
+        NativeLedger.track(compound, "StaticPropBatch"); // neu schätzen, jetzt mit allen Teilen
+        body = NativeLedger.track(new btCollisionObject(), "StaticPropBatch");
+        body.setCollisionShape(compound); // Teile liegen schon in Welt-Koordinaten, Transformation bleibt Identität
+        body.setCollisionFlags(body.getCollisionFlags() | btCollisionObject.CollisionFlags.CF_STATIC_OBJECT);
+        body.setFriction(0.9f);
+        body.userData = this;
+        PhysicsRecording recording = physicsSystem.getRecording();
+        if (recording != null) recording.props(body, compound, childShapes, physicsSystem.getShapeCache());
+        physicsSystem.addCollisionObject(body);
+        Gdx.app.log("StaticPropBatch", "Built compound body with " + childShapes.size + " props ("
+                + physicsSystem.getShapeCache().getShapeCount() + " distinct shapes in cache).");
+    }
+
+    public int size() {
+        return childShapes.size;
+    }
+
+    /** UserData des Teils mit diesem Index (wie bei {@link #add} übergeben). */
+    public Object getUserData(int childIndex) {
+        return childUserData.get(childIndex);
+    }
+
+    /** Das Kollisionsobjekt, null vor {@link #build()}. Sein userData ist dieser Batch. */
+    public btCollisionObject getBody() {
+        return body;
+    }
+
+    @Override
+    public void dispose() {
+        if (body != null) {
+            physicsSystem.removeCollisionObject(body);
+            NativeLedger.untrack(body);
+            body.dispose();
+            body = null;
+        }
+        NativeLedger.untrack(compound);
+        compound.dispose(); // gibt die Teilformen nicht frei, die gehören dem Cache
+        for (btCollisionShape shape : childShapes) {
+            physicsSystem.getShapeCache().release(shape);
+        }
+        childShapes.clear();
+        childUserData.clear();
+    }
+}
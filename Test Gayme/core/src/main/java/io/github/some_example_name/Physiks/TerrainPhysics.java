@@ -15,10 +15,13 @@ import com.badlogic.gdx.physics.bullet.dynamics.btRigidBody;
 import com.badlogic.gdx.physics.bullet.linearmath.btDefaultMotionState;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import io.github.some_example_name.NativeLedger;
 import io.github.some_example_name.Terrain.HeightField; // Importiere deine HeightField-Klasse
+import io.github.some_example_name.Terrain.TerrainData;
 
+import java.nio.Buffer;
 import java.nio.FloatBuffer;
-import com.badlogic.gdx.utils.BufferUtils;
+import java.nio.ShortBuffer;
 import com.badlogic.gdx.Gdx; // Für Logging
 
 /**
@@ -31,6 +34,8 @@ public class TerrainPhysics implements Disposable {
     public final btRigidBody body;
     private final btHeightfieldTerrainShape shape;
     private final btDefaultMotionState motionState;
+    // Bullet liest die Höhen direkt aus diesem Buffer, er darf nicht vor der Shape eingesammelt werden
+    private final Buffer heightBuffer;
 
     // Temporäre Vektoren, um Garbage zu vermeiden
     private static final Vector3 tmpV1 = new Vector3();
@@ -53,60 +58,60 @@ public class TerrainPhysics implements Disposable {
         btRigidBody tempBody = null; // Temporär
 
         try {
-            // 1. Hole Daten aus dem HeightField-Objekt
+            // 1. Hole Daten aus dem HeightField-Objekt (geteilte TerrainData, keine Kopie)
             int widthVertices = heightField.width;
             int depthVertices = heightField.height;
-            float[] heightData = heightField.data;
+            TerrainData terrainData = heightField.data;
             Gdx.app.log("TerrainPhysics", "Input HeightField dimensions: " + widthVertices + "x" + depthVertices);
 
-            if (heightData == null || heightData.length != widthVertices * depthVertices) {
-                Gdx.app.error("TerrainPhysics", "HeightField data array is NULL or has incorrect size! Expected: " + (widthVertices * depthVertices) + ", Got: " + (heightData != null ? heightData.length : "null"));
-                throw new GdxRuntimeException("HeightField data array is null or has incorrect size!");
+            if (terrainData == null || terrainData.size() != widthVertices * depthVertices) {
+                Gdx.app.error("TerrainPhysics", "HeightField data is NULL or has incorrect size! Expected: " + (widthVertices * depthVertices) + ", Got: " + (terrainData != null ? terrainData.size() : "null"));
+                throw new GdxRuntimeException("HeightField data is null or has incorrect size!");
             }
-            Gdx.app.log("TerrainPhysics", "Height data array size: " + heightData.length);
-
-            // 2. Finde Min/Max-Höhe
-            float minHeight = findMinHeight(heightData);
-            float maxHeight = findMaxHeight(heightData);
-            Gdx.app.log("TerrainPhysics", "Calculated Min/Max height from data: MinH=" + minHeight + ", MaxH=" + maxHeight);
-            if (minHeight > maxHeight) {
-                //Gdx.app.warn("TerrainPhysics", "MinHeight (" + minHeight + ") is greater than MaxHeight (" + maxHeight + ")! Check height data calculation.");
-                // Hier nicht abbrechen, aber es ist ein Warnsignal
-            }
-
-            // 3. Erstelle einen DIREKTEN FloatBuffer
-            FloatBuffer heightBuffer = BufferUtils.newFloatBuffer(heightData.length);
-            heightBuffer.put(heightData);
-            heightBuffer.flip();
-            Gdx.app.log("TerrainPhysics", "Created direct FloatBuffer for height data. Capacity: " + heightBuffer.capacity() + ", Limit: " + heightBuffer.limit());
-
-            // 4. Erstelle die Bullet Heightfield Shape
-            tempShape = new btHeightfieldTerrainShape(
-                    widthVertices,       // int heightStickWidth (Anzahl Vertices X)
-                    depthVertices,       // int heightStickLength (Anzahl Vertices Z) <-- Korrigiert!
-                    heightBuffer,        // Der direkte FloatBuffer
-                    1.0f,                // float heightScale
-                    minHeight,           // float minHeight
-                    maxHeight,           // float maxHeight
-                    1,                   // int upAxis
-                    true                 // boolean useFloatData
-            );
-            Gdx.app.log("TerrainPhysics", "Created btHeightfieldTerrainShape with FloatBuffer (8 args)");
 
+            // 2. Min/Max-Höhe wurde schon beim Dekodieren bestimmt
+            float minHeight = terrainData.getMinHeight();
+            float maxHeight = terrainData.getMaxHeight();
+            Gdx.app.log("TerrainPhysics", "Min/Max height from TerrainData: MinH=" + minHeight + ", MaxH=" + maxHeight);
+
+            // 3. Derselbe direkte Buffer, aus dem auch das visuelle Terrain liest.
+            //    Bullet hält nur einen Zeiger darauf, deshalb merken wir uns die Referenz (heightBuffer).
+            Buffer tempBuffer;
+            if (terrainData.isQuantized()) {
+                // 4. 16-Bit-Höhen direkt an Bullet (PHY_SHORT): Bullet rechnet short * heightScale = Wert - offset.
+                //    Min/Max deshalb ebenfalls ohne offset; die Mitte der Shape bleibt gleich, die Transformation unten passt also.
+                ShortBuffer shorts = terrainData.getShortBuffer();
+                tempBuffer = shorts;
+                final float offset = terrainData.getOffset();
+                tempShape = new btHeightfieldTerrainShape(widthVertices, depthVertices, shorts,
+                        terrainData.getScale(), minHeight - offset, maxHeight - offset, 1, true);
+                Gdx.app.log("TerrainPhysics", "Created btHeightfieldTerrainShape with shared 16-bit ShortBuffer. Capacity: " + shorts.capacity());
+            } else {
+                FloatBuffer floats = terrainData.getBuffer();
+                tempBuffer = floats;
+                Gdx.app.log("TerrainPhysics", "Sharing direct FloatBuffer with visual terrain. Capacity: " + floats.capacity());
+
+                // 4. Erstelle die Bullet Heightfield Shape
+                tempShape = new btHeightfieldTerrainShape(
+                        widthVertices,       // int heightStickWidth (Anzahl Vertices X)
+                        depthVertices,       // int heightStickLength (Anzahl Vertices Z)
+                        floats,              // Der geteilte direkte FloatBuffer
+                        1.0f,                // float heightScale
+                        minHeight,           // float minHeight
+                        maxHeight,           // float maxHeight
+                        1,                   // int upAxis
+                        true                 // boolean flipQuadEdges
+                );
+                Gdx.app.log("TerrainPhysics", "Created btHeightfieldTerrainShape with FloatBuffer (8 args)");
+            }
 
-            // 5. Berechne Skalierung und Offset für die Physik-Shape
-            float visualCorner00X = heightField.corner00.x;
-            float visualCorner00Z = heightField.corner00.z;
-            float visualCorner10X = heightField.corner10.x;
-            float visualCorner01Z = heightField.corner01.z;
-            Gdx.app.log("TerrainPhysics", "Visual Corners: corner00=(" + visualCorner00X + "," + visualCorner00Z +
-                    "), corner10.x=" + visualCorner10X + ", corner01.z=" + visualCorner01Z);
 
-            float terrainWorldWidth = visualCorner10X - visualCorner00X;
-            float terrainWorldDepth = visualCorner01Z - visualCorner00Z;
-            Gdx.app.log("TerrainPhysics", "Calculated visual terrain world size: Width=" + terrainWorldWidth + ", Depth=" + terrainWorldDepth);
+            // 5. Berechne Skalierung für die Physik-Shape aus den Ecken und der magnitude des HeightFields
+            float terrainWorldWidth = heightField.corner10.x - heightField.corner00.x;
+            float terrainWorldDepth = heightField.corner01.z - heightField.corner00.z;
+            float scaleY = heightField.magnitude.y;
+            Gdx.app.log("TerrainPhysics", "Terrain world size: Width=" + terrainWorldWidth + ", Depth=" + terrainWorldDepth + ", Height=" + scaleY);
 
-            // Deklariere scaleX und scaleZ hier!
             float scaleX, scaleZ;
             if (widthVertices <= 1 || depthVertices <= 1) {
                 Gdx.app.error("TerrainPhysics", "Invalid vertex count for scaling calculation (<= 1). Vertices: " + widthVertices + "x" + depthVertices + ". Using scale 1.0.");
@@ -116,13 +121,17 @@ public class TerrainPhysics implements Disposable {
                 scaleX = terrainWorldWidth / (widthVertices - 1);
                 scaleZ = terrainWorldDepth / (depthVertices - 1);
             }
-            tempShape.setLocalScaling(new Vector3(scaleX, 30f, scaleZ)); // Verwende tempShape hier
-            Gdx.app.log("TerrainPhysics", "Set local scaling: X=" + scaleX + ", Y=1.0, Z=" + scaleZ);
+            tempShape.setLocalScaling(new Vector3(scaleX, scaleY, scaleZ));
+            Gdx.app.log("TerrainPhysics", "Set local scaling: X=" + scaleX + ", Y=" + scaleY + ", Z=" + scaleZ);
 
 
             // 6. Erstelle MotionState und setze die Transformation
+            // Bullet zentriert die Shape um ihre AABB: Mitte der Grundfläche und (min+max)/2 in der Höhe
             Matrix4 transform = new Matrix4();
-            transform.setToTranslation(heightField.corner00); // Positioniere Ursprung auf corner00
+            tmpV1.set(heightField.corner00)
+                    .add(heightField.corner10).add(heightField.corner01).add(heightField.corner11).scl(0.25f)
+                    .add(tmpV2.set(heightField.magnitude).scl((minHeight + maxHeight) * 0.5f));
+            transform.setToTranslation(tmpV1);
             tempMotionState = new btDefaultMotionState(); // Verwende tempMotionState
             tempMotionState.setWorldTransform(transform);
             Vector3 initialPos = new Vector3();
@@ -133,24 +142,32 @@ public class TerrainPhysics implements Disposable {
             // 7. Erstelle RigidBody (statisch)
             float mass = 0f;
             Vector3 localInertia = new Vector3(0, 0, 0);
-            // ConstructionInfo wird intern vom RigidBody gehalten, muss nicht disposed werden
+            // Bullet kopiert die ConstructionInfo in den RigidBody, danach kann sie weg
             btRigidBody.btRigidBodyConstructionInfo constructionInfo = new btRigidBody.btRigidBodyConstructionInfo(
                     mass, tempMotionState, tempShape, localInertia
             );
             tempBody = new btRigidBody(constructionInfo); // Verwende tempBody
+            constructionInfo.dispose();
             tempBody.setCollisionFlags(tempBody.getCollisionFlags() | btCollisionObject.CollisionFlags.CF_STATIC_OBJECT);
             tempBody.setFriction(0.8f);
             Gdx.app.log("TerrainPhysics", "Created btRigidBody and set flags/friction.");
 
 
-            // 8. Füge den Körper zur Physik-Welt hinzu
-            physicsSystem.dynamicsWorld.addRigidBody(tempBody);
-            Gdx.app.log("TerrainPhysics", "Static terrain rigid body added to the world. Total objects: " + physicsSystem.dynamicsWorld.getNumCollisionObjects());
+            // 8. Füge den Körper zur Physik-Welt hinzu (und beschreibe ihn ggf. für die Aufnahme)
+            PhysicsRecording recording = physicsSystem.getRecording();
+            if (recording != null) recording.terrain(tempBody, heightField);
+            physicsSystem.addRigidBody(tempBody);
+            Gdx.app.log("TerrainPhysics", "Static terrain rigid body added to the world. Total objects: " + physicsSystem.getNumCollisionObjects());
 
             // Wenn alles erfolgreich war, weise die finalen Member-Variablen zu
             this.shape = tempShape;
+            this.heightBuffer = tempBuffer;
             this.motionState = tempMotionState;
             this.body = tempBody;
+            // erst jetzt eintragen, im Fehlerfall unten wird alles gleich wieder freigegeben
+            NativeLedger.track(shape, "TerrainPhysics");
+            NativeLedger.track(motionState, "TerrainPhysics");
+            NativeLedger.track(body, "TerrainPhysics");
 
             Gdx.app.log("TerrainPhysics", "--- Finished TerrainPhysics Creation Successfully ---");
 
@@ -168,25 +185,7 @@ public class TerrainPhysics implements Disposable {
 
             throw new GdxRuntimeException("Failed to create TerrainPhysics", e);
         }
-        // Der FloatBuffer (heightBuffer) wird NICHT disposed, da Bullet ihn braucht.
-    }
-
-    // findMinHeight / findMaxHeight bleiben gleich...
-    private float findMinHeight(float[] data) {
-        if (data == null || data.length == 0) return 0f;
-        float min = data[0];
-        for (int i = 1; i < data.length; i++) {
-            if (data[i] < min) min = data[i];
-        }
-        return min;
-    }
-    private float findMaxHeight(float[] data) {
-        if (data == null || data.length == 0) return 0f;
-        float max = data[0];
-        for (int i = 1; i < data.length; i++) {
-            if (data[i] > max) max = data[i];
-        }
-        return max;
+        // Der Buffer (heightBuffer) gehört der TerrainData und wird NICHT hier freigegeben.
     }
 
     @Override
@@ -197,10 +196,17 @@ public class TerrainPhysics implements Disposable {
             // if (physicsSystem != null && physicsSystem.dynamicsWorld != null) {
             //     physicsSystem.dynamicsWorld.removeRigidBody(body);
             // }
+            NativeLedger.untrack(body);
             body.dispose();
         }
-        if (motionState != null) motionState.dispose();
-        if (shape != null) shape.dispose();
+        if (motionState != null) {
+            NativeLedger.untrack(motionState);
+            motionState.dispose();
+        }
+        if (shape != null) {
+            NativeLedger.untrack(shape);
+            shape.dispose();
+        }
         Gdx.app.log("TerrainPhysics", "Disposed terrain physics objects (if they were created).");
     }
 }
\ No newline at end of file
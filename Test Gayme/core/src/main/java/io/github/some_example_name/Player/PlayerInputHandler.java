@@ -19,9 +19,6 @@ public class PlayerInputHandler {
     // Hilfsvektoren (um Garbage zu vermeiden)
     private final Vector3 tmpVec = new Vector3();
     private final Vector3 moveDirection = new Vector3(); // Wird hier wiederverwendet
-    private final Vector3 newVelocity = new Vector3();
-    private final Vector3 stopHorizontalVelocity = new Vector3();
-    // currentLinearVelocity wird jetzt direkt geholt
 
     public PlayerInputHandler(CharacterPhysics characterPhysics, PerspectiveCamera camera, float moveSpeed, float jumpForce) {
         this.characterPhysics = characterPhysics;
@@ -73,37 +70,18 @@ public class PlayerInputHandler {
 
 
         // --- Bewegung anwenden oder stoppen ---
+        // Nur über CharacterPhysics, nicht direkt am Körper: Läuft die Physik auf eigenem Thread, gehört der Körper ihm
         if (!moveDirection.isZero()) { // Nur wenn eine Bewegungstaste gedrückt ist
             moveDirection.nor(); // Normalisieren der kombinierten Richtung
-
-            Vector3 currentLinearVelocity = characterPhysics.body.getLinearVelocity(); // Erzeugt Garbage!
-            newVelocity.set(moveDirection).scl(MOVE_SPEED);
-            newVelocity.y = currentLinearVelocity.y; // Y-Geschwindigkeit beibehalten
-            characterPhysics.body.setLinearVelocity(newVelocity);
-            characterPhysics.body.activate(); // Sicherstellen, dass der Körper reagiert
-            characterPhysics.body.setAngularVelocity(Vector3.Zero); // Unerwünschte Drehung verhindern
-
+            characterPhysics.move(moveDirection, MOVE_SPEED); // Y-Geschwindigkeit bleibt, Drehung wird gestoppt
         } else { // Keine Bewegungstaste gedrückt -> Horizontale Bewegung stoppen
-            Vector3 currentLinearVelocity = characterPhysics.body.getLinearVelocity(); // Erzeugt Garbage!
-            // Nur stoppen, wenn der Charakter sich horizontal bewegt (kleiner Schwellenwert)
-            if (Math.abs(currentLinearVelocity.x) > 0.1f || Math.abs(currentLinearVelocity.z) > 0.1f) {
-                stopHorizontalVelocity.set(0, currentLinearVelocity.y, 0);
-                characterPhysics.body.setLinearVelocity(stopHorizontalVelocity);
-            }
-            // Winkelgeschwindigkeit stoppen, wenn Charakter steht
-            characterPhysics.body.setAngularVelocity(Vector3.Zero);
+            characterPhysics.stop();
         }
 
         // --- Sprung ---
         if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-            Vector3 currentLinearVelocity = characterPhysics.body.getLinearVelocity(); // Erzeugt Garbage!
-            // Einfacher Bodencheck (könnte durch Raycast verbessert werden)
-            if (Math.abs(currentLinearVelocity.y) < 0.5f) {
-                characterPhysics.jump(JUMP_FORCE);
-                Gdx.app.log("PlayerInputHandler", "Jump initiated with force: " + JUMP_FORCE);
-            } // else {
-            // Gdx.app.log("PlayerInputHandler", "Jump blocked (in air). Current Y velocity: " + currentLinearVelocity.y);
-            //}
+            // Einfacher Bodencheck (könnte durch Raycast verbessert werden) passiert in jump()
+            characterPhysics.jump(JUMP_FORCE);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,390 @@
+package io.github.some_example_name.Terrain;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
+import com.badlogic.gdx.graphics.g3d.utils.MeshBuilder;
+import com.badlogic.gdx.graphics.g3d.utils.MeshPartBuilder.VertexInfo;
+import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ShortArray;
+import io.github.some_example_name.NativeLedger;
+import io.github.some_example_name.enums.NormalMode;
+
+/**
+ * Terrain, das das HeightField in Patches fester Größe ({@link #PATCH_SIZE} Zellen) zerlegt.
+ * <p>
+ * Die Patches hängen in einem Quadtree. Pro Frame wird nur der Teil des Baums besucht, der im Kamera-Frustum liegt;
+ * nur diese Patches (und für die Kanten ihre direkten Nachbarn) bekommen eine neue LOD-Stufe, die Kosten wachsen also mit
+ * der Sichtweite, nicht mit der Größe der Map.
+ * <p>
+ * Die Stufe folgt aus der Distanz Kamera -&gt; Patch-Mitte (auf einer gemeinsamen Höhe), mit etwas Hysterese, damit
+ * Patches an einer Grenze nicht hin- und herspringen. Solange {@link #getLodDistance()} mindestens
+ * {@link #MIN_LOD_DISTANCE_FACTOR} Patch-Breiten beträgt, liegen die Mitten benachbarter Patches so dicht beieinander,
+ * dass sich ihre Stufen höchstens um eins unterscheiden (siehe {@link #setLodDistance(float)}); ein Ausgleich über die
+ * ganze Map entfällt. Der feinere Patch zieht an der gemeinsamen Kante seine ungeraden Rand-Vertices auf den gröberen
+ * Nachbarn, damit keine Risse entstehen.
+ * <p>
+ * Die Vertices eines Patches liegen einmal auf der GPU; bei einem LOD-Wechsel werden nur die
+ * Indices getauscht. Die Index-Listen pro (LOD, Kantenmaske) sind für alle Patches gleich und werden gecacht.
+ */
+public class ChunkedTerrain extends Terrain {
+
+    /** Zellen pro Patch-Kante, muss eine Zweierpotenz sein. */
+    public static final int PATCH_SIZE = 32;
+    /** Gröbste Stufe: ein einziges Quad pro Patch. */
+    public static final int MAX_LOD = Integer.numberOfTrailingZeros(PATCH_SIZE);
+
+    // Kantenmaske: Bit gesetzt = Nachbar auf dieser Seite ist eine Stufe gröber
+    static final int EDGE_LEFT = 1;   // x == 0
+    static final int EDGE_RIGHT = 2;  // x == PATCH_SIZE
+    static final int EDGE_BOTTOM = 4; // y == 0
+    static final int EDGE_TOP = 8;    // y == PATCH_SIZE
+
+    /** Ein Patch wechselt erst dann zur gröberen Stufe, wenn er diesen Anteil jenseits der Grenze liegt. */
+    public static final float LOD_HYSTERESIS = 0.1f;
+    /**
+     * Kleinste {@link #setLodDistance(float) LOD-Distanz} in Patch-Breiten, (1 + h) / (1 - h) für die Hysterese h: Bei zwei
+     * Nachbarn liegen die Mitten eine Patch-Breite auseinander, und erst ab diesem Abstand der Stufen-Grenzen kann der eine
+     * mit Hysterese nicht zwei Stufen gröber sein als der andere ohne.
+     */
+    public static final float MIN_LOD_DISTANCE_FACTOR = (1f + LOD_HYSTERESIS) / (1f - LOD_HYSTERESIS);
+
+    private static final int ROW = PATCH_SIZE + 1;
+    private static final short[][] lodIndices = new short[(MAX_LOD + 1) * 16][];
+
+    private final HeightField field;
+    private final int patchesX;
+    private final int patchesY;
+    private final Patch[] patches;
+    private final QuadNode root;
+    private final VertexAttributes attributes = MeshBuilder.createAttributes(Usage.Position | Usage.Normal | Usage.TextureCoordinates);
+
+    /** Bis zu dieser Distanz volle Auflösung, danach halbiert jede Verdopplung der Distanz die Auflösung. */
+    private float lodDistance;
+    /** Kantenlänge eines Patches in der Welt (die längere, falls die Zellen nicht quadratisch sind). */
+    private final float patchWorldSize;
+    private final float patchWorldX;
+    private final float patchWorldZ;
+    /** Gemeinsame Höhe der Patch-Mitten für die LOD-Distanz. */
+    private final float lodHeight;
+    /** Zählt die update()-Aufrufe; Patches merken sich, in welchem ihre Stufe zuletzt bestimmt wurde. */
+    private int frame;
+    /** Die im letzten update() sichtbaren Patches, zum Ausblenden derer, die das Frustum verlassen. */
+    private Array<Patch> visible = new Array<Patch>(false, 64);
+    private Array<Patch> previousVisible = new Array<Patch>(false, 64);
+    private boolean materialAcquired; // createModel() hat eine Referenz auf das Sand-Material geholt
+
+    public ChunkedTerrain(TerrainData data, float magnitude) {
+        this(data, magnitude, NormalMode.WEIGHTED);
+    }
+
+    /** @param normalMode Normalen der Patches, siehe {@link HeightField#setNormalMode(NormalMode)} */
+    public ChunkedTerrain(TerrainData data, float magnitude, NormalMode normalMode) {
+        this.size = 800;
+        this.width = data.width;
+        this.heightMagnitude = magnitude;
+
+        // Nur Höhendaten (geteilt, keine Kopie), das Mesh entsteht pro Patch
+        field = new HeightField(data);
+        field.corner00.set(0, 0, 0);
+        field.corner10.set(size, 0, 0);
+        field.corner01.set(0, 0, size);
+        field.corner11.set(size, 0, size);
+        field.magnitude.set(0f, magnitude, 0f);
+        field.setNormalMode(normalMode);
+
+        final int cellsX = field.width - 1;
+        final int cellsY = field.height - 1;
+        patchesX = (cellsX + PATCH_SIZE - 1) / PATCH_SIZE;
+        patchesY = (cellsY + PATCH_SIZE - 1) / PATCH_SIZE;
+        patches = new Patch[patchesX * patchesY];
+        patchWorldX = PATCH_SIZE * (float)size / Math.max(cellsX, 1);
+        patchWorldZ = PATCH_SIZE * (float)size / Math.max(cellsY, 1);
+        patchWorldSize = Math.max(patchWorldX, patchWorldZ);
+        lodDistance = patchWorldSize * MIN_LOD_DISTANCE_FACTOR;
+        lodHeight = field.corner00.y + magnitude * (data.getMinHeight() + data.getMaxHeight()) * 0.5f;
+
+        // Vertices der Patches nur auf der CPU, die Meshes entstehen in createModel()
+        for (int py = 0; py < patchesY; py++) {
+            for (int px = 0; px < patchesX; px++) {
+                Patch patch = new Patch(px, py);
+                patch.vertices = buildPatchVertices(px, py, patch.bounds);
+                patches[py * patchesX + px] = patch;
+            }
+        }
+        root = buildQuadTree(0, 0, patchesX, patchesY);
+    }
+
+    @Override
+    public void createModel() {
+        Material material = createTerrainMaterial();
+        materialAcquired = true;
+        ModelBuilder mb = new ModelBuilder();
+        mb.begin();
+        for (int py = 0; py < patchesY; py++) {
+            for (int px = 0; px < patchesX; px++) {
+                Patch patch = patches[py * patchesX + px];
+                patch.mesh = NativeLedger.track(new Mesh(true, ROW * ROW, PATCH_SIZE * PATCH_SIZE * 6, attributes), "ChunkedTerrain");
+                patch.mesh.setVertices(patch.vertices);
+                patch.vertices = null;
+                mb.node().id = "patch_" + px + "_" + py;
+                mb.part("terrain", patch.mesh, GL20.GL_TRIANGLES, 0, 0, material);
+            }
+        }
+        modelInstance = new ModelInstance(mb.end());
+
+        // ModelInstance kopiert die NodeParts, also die Kopien merken
+        for (int i = 0; i < patches.length; i++) {
+            patches[i].part = modelInstance.nodes.get(i).parts.first();
+            patches[i].apply(MAX_LOD, 0);
+            patches[i].part.enabled = false; // das erste update() blendet die sichtbaren ein
+        }
+    }
+
+    private float[] buildPatchVertices(int px, int py, BoundingBox bounds) {
+        final int stride = attributes.vertexSize / 4;
+        final int posPos = attributes.getOffset(Usage.Position);
+        final int norPos = attributes.getOffset(Usage.Normal);
+        final int uvPos = attributes.getOffset(Usage.TextureCoordinates);
+        final float[] vertices = new float[ROW * ROW * stride];
+        final VertexInfo info = new VertexInfo();
+        bounds.inf();
+
+        for (int y = 0; y < ROW; y++) {
+            // Randpatches ragen über die Map hinaus: auf den Rand klemmen (ergibt nur flache Dreiecke)
+            final int gy = Math.min(py * PATCH_SIZE + y, field.height - 1);
+            for (int x = 0; x < ROW; x++) {
+                final int gx = Math.min(px * PATCH_SIZE + x, field.width - 1);
+                VertexInfo v = field.getVertexAt(info, gx, gy);
+                field.getNormalAt(v.normal, gx, gy);
+                final int i = (y * ROW + x) * stride;
+                vertices[i + posPos] = v.position.x;
+                vertices[i + posPos + 1] = v.position.y;
+                vertices[i + posPos + 2] = v.position.z;
+                vertices[i + norPos] = v.normal.x;
+                vertices[i + norPos + 1] = v.normal.y;
+                vertices[i + norPos + 2] = v.normal.z;
+                vertices[i + uvPos] = v.uv.x;
+                vertices[i + uvPos + 1] = v.uv.y;
+                bounds.ext(v.position);
+            }
+        }
+
+        return vertices;
+    }
+
+    private QuadNode buildQuadTree(int x0, int y0, int x1, int y1) {
+        QuadNode node = new QuadNode();
+        node.bounds.inf();
+        if (x1 - x0 == 1 && y1 - y0 == 1) {
+            node.patch = patches[y0 * patchesX + x0];
+            node.bounds.ext(node.patch.bounds);
+            return node;
+        }
+        final int mx = (x0 + x1 + 1) / 2;
+        final int my = (y0 + y1 + 1) / 2;
+        node.children = new QuadNode[] {
+                buildQuadTree(x0, y0, mx, my),
+                mx < x1 ? buildQuadTree(mx, y0, x1, my) : null,
+                my < y1 ? buildQuadTree(x0, my, mx, y1) : null,
+                mx < x1 && my < y1 ? buildQuadTree(mx, my, x1, y1) : null
+        };
+        for (QuadNode child : node.children) {
+            if (child != null) node.bounds.ext(child.bounds);
+        }
+        return node;
+    }
+
+    @Override
+    public void update(Camera camera) {
+        frame++;
+        final Array<Patch> hidden = previousVisible;
+        previousVisible = visible;
+        visible = hidden;
+        visible.clear();
+
+        // Nur die Knoten im Frustum; Stufe und Kanten nur für die sichtbaren Patches
+        select(root, camera);
+
+        // Was letztes Mal sichtbar war und jetzt nicht mehr, ausblenden
+        for (Patch patch : previousVisible) {
+            if (patch.visibleFrame != frame) patch.part.enabled = false;
+        }
+    }
+
+    private void select(QuadNode node, Camera camera) {
+        if (!camera.frustum.boundsInFrustum(node.bounds)) return;
+        if (node.patch == null) {
+            for (QuadNode child : node.children) {
+                if (child != null) select(child, camera);
+            }
+            return;
+        }
+        final Patch patch = node.patch;
+        final int lod = lodOf(patch, camera.position);
+        int mask = 0;
+        if (neighborLod(patch.px - 1, patch.py, camera.position) > lod) mask |= EDGE_LEFT;
+        if (neighborLod(patch.px + 1, patch.py, camera.position) > lod) mask |= EDGE_RIGHT;
+        if (neighborLod(patch.px, patch.py - 1, camera.position) > lod) mask |= EDGE_BOTTOM;
+        if (neighborLod(patch.px, patch.py + 1, camera.position) > lod) mask |= EDGE_TOP;
+        if (lod * 16 + mask != patch.currentKey) patch.apply(lod, mask);
+        patch.part.enabled = true;
+        patch.visibleFrame = frame;
+        visible.add(patch);
+    }
+
+    /** Stufe des Nachbarn für die Kantenmaske oder -1, wenn es auf dieser Seite keinen gibt (Map-Rand). */
+    private int neighborLod(int px, int py, Vector3 camera) {
+        if (px < 0 || py < 0 || px >= patchesX || py >= patchesY) return -1;
+        return lodOf(patches[py * patchesX + px], camera);
+    }
+
+    /**
+     * Die Stufe des Patches in diesem Frame, höchstens einmal pro Frame bestimmt. Mit Hysterese: Der Patch bleibt bei
+     * seiner Stufe, solange sie zwischen der Stufe für die Distanz und der für die um {@link #LOD_HYSTERESIS} größere
+     * Distanz liegt.
+     */
+    private int lodOf(Patch patch, Vector3 camera) {
+        if (patch.lodFrame == frame) return patch.lod;
+        final float distance = Vector3.dst(camera.x, camera.y, camera.z,
+                field.corner00.x + (patch.px + 0.5f) * patchWorldX, lodHeight, field.corner00.z + (patch.py + 0.5f) * patchWorldZ);
+        final int finest = lodForDistance(distance);
+        final int coarsest = lodForDistance(distance * (1f + LOD_HYSTERESIS));
+        patch.lod = Math.min(Math.max(patch.lod, finest), coarsest);
+        patch.lodFrame = frame;
+        return patch.lod;
+    }
+
+    private int lodForDistance(float distance) {
+        int lod = 0;
+        float threshold = lodDistance;
+        while (lod < MAX_LOD && distance >= threshold) {
+            lod++;
+            threshold *= 2f;
+        }
+        return lod;
+    }
+
+    public float getLodDistance() {
+        return lodDistance;
+    }
+
+    /**
+     * Bis zu dieser Distanz volle Auflösung. Wird auf mindestens {@link #MIN_LOD_DISTANCE_FACTOR} Patch-Breiten angehoben,
+     * sonst könnten Nachbarn zwei Stufen auseinanderliegen und die Kanten nicht mehr vernäht werden.
+     */
+    public void setLodDistance(float lodDistance) {
+        this.lodDistance = Math.max(lodDistance, patchWorldSize * MIN_LOD_DISTANCE_FACTOR);
+    }
+
+    public int getPatchCount() {
+        return patches.length;
+    }
+
+    /** Anzahl der Patches, die im letzten {@link #update(Camera)} als sichtbar markiert wurden. */
+    public int getVisiblePatchCount() {
+        return visible.size;
+    }
+
+    @Override
+    public HeightField getHeightField() {
+        return field;
+    }
+
+    /** Index-Liste für eine LOD-Stufe und Kantenmaske; wird beim ersten Zugriff gebaut und danach geteilt. */
+    static short[] getIndices(int lod, int mask) {
+        final int key = lod * 16 + mask;
+        if (lodIndices[key] == null) lodIndices[key] = buildIndices(lod, mask);
+        return lodIndices[key];
+    }
+
+    private static short[] buildIndices(int lod, int mask) {
+        final int step = 1 << lod;
+        final ShortArray indices = new ShortArray((PATCH_SIZE / step) * (PATCH_SIZE / step) * 6);
+        for (int y = 0; y < PATCH_SIZE; y += step) {
+            for (int x = 0; x < PATCH_SIZE; x += step) {
+                final int c00 = stitchedIndex(x, y, step, mask);
+                final int c10 = stitchedIndex(x + step, y, step, mask);
+                final int c01 = stitchedIndex(x, y + step, step, mask);
+                final int c11 = stitchedIndex(x + step, y + step, step, mask);
+                // gleiche Reihenfolge wie HeightField.setIndices()
+                addTriangle(indices, c11, c10, c00);
+                addTriangle(indices, c00, c01, c11);
+            }
+        }
+        return indices.toArray();
+    }
+
+    /** Vertex-Index im Patch; an vernähten Kanten fällt jeder zweite Vertex auf den vorherigen geraden Vertex. */
+    private static int stitchedIndex(int x, int y, int step, int mask) {
+        final int coarse = step * 2;
+        if ((y == 0 && (mask & EDGE_BOTTOM) != 0) || (y == PATCH_SIZE && (mask & EDGE_TOP) != 0)) x -= x % coarse;
+        if ((x == 0 && (mask & EDGE_LEFT) != 0) || (x == PATCH_SIZE && (mask & EDGE_RIGHT) != 0)) y -= y % coarse;
+        return y * ROW + x;
+    }
+
+    private static void addTriangle(ShortArray indices, int a, int b, int c) {
+        if (a == b || b == c || a == c) return; // durch das Vernähen entartet
+        indices.add((short)a);
+        indices.add((short)b);
+        indices.add((short)c);
+    }
+
+    @Override
+    public void dispose() {
+        //macht ram frei
+        for (Patch patch : patches) {
+            if (patch.mesh != null) {
+                NativeLedger.untrack(patch.mesh);
+                patch.mesh.dispose();
+            }
+        }
+        field.dispose();
+        if (materialAcquired) {
+            // auch wenn createModel() nach dem Material abgebrochen ist, bevor modelInstance stand
+            releaseTerrainMaterial();
+            materialAcquired = false;
+        }
+    }
+
+    private static class Patch {
+        final int px, py;
+        final BoundingBox bounds = new BoundingBox();
+        float[] vertices; // nur bis createModel()
+        Mesh mesh;
+        NodePart part;
+        int lod = MAX_LOD;
+        int lodFrame;     // Frame, in dem lod zuletzt bestimmt wurde
+        int visibleFrame; // Frame, in dem der Patch zuletzt sichtbar war
+        int currentKey = -1;
+
+        Patch(int px, int py) {
+            this.px = px;
+            this.py = py;
+        }
+
+        void apply(int lod, int mask) {
+            final int key = lod * 16 + mask;
+            if (key == currentKey) return;
+            short[] indices = getIndices(lod, mask);
+            mesh.setIndices(indices);
+            part.meshPart.offset = 0;
+            part.meshPart.size = indices.length;
+            currentKey = key;
+        }
+    }
+
+    private static class QuadNode {
+        final BoundingBox bounds = new BoundingBox();
+        QuadNode[] children; // null bei Blättern
+        Patch patch;         // nur bei Blättern gesetzt
+    }
+}
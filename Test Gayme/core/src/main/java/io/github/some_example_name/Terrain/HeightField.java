@@ -9,13 +9,21 @@ import com.badlogic.gdx.graphics.VertexAttributes;
 import com.badlogic.gdx.graphics.VertexAttributes.Usage;
 import com.badlogic.gdx.graphics.g3d.utils.MeshBuilder;
 import com.badlogic.gdx.graphics.g3d.utils.MeshPartBuilder.VertexInfo;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.Ray;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 
+import io.github.some_example_name.NativeLedger;
+import io.github.some_example_name.enums.NormalMode;
+
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /** This is a test class, showing how one could implement a height field. See also HeightMapTest. Do not expect this to be
  * a fully supported and implemented height field class.
@@ -40,18 +48,25 @@ import java.nio.ByteBuffer;
  * <p />
  * base[y * width + x] + magnitude * value[y * width + x]
  * <p />
- * Use the {@link #getPositionAt(Vector3, int, int)} method to get the coordinate of a specific point on the grid.
+ * Use the {@link #getPositionAt(Vector3, int, int)} method to get the coordinate of a specific point on the grid. To query the
+ * surface in world space use {@link #getHeightAt(float, float)}, {@link #getNormalAt(Vector3, float, float)} and
+ * {@link #intersect(Ray, float, Vector3)}.
  * <p />
  * You can set this heightfield using the constructor or one of the `set` methods. E.g. by specifying an array of values or a
  * {@link Pixmap}. The latter can be used to load a HeightMap, which is an image loaded from disc of which each texel is used to
- * specify the value for each point on the field. Be aware that the total number of vertices cannot exceed 32k. Using a large
- * height map will result in unpredicted results.
+ * specify the value for each point on the field. Mesh indices are 16 bit (rendered as unsigned short), so a single mesh cannot
+ * address more than {@link #MAX_MESH_VERTICES} vertices. Larger fields are automatically split into horizontal bands of rows,
+ * each with its own mesh, see {@link #meshes}. Use {@link #getVertexBytes()} and {@link #getIndexBytes()} to see what a field
+ * costs.
+ * <p />
+ * You can also manually modify the heightfield by directly accessing the {@link #data} member. The index within the data can be
+ * calculates as: `y * width + x`. E.g. `field.data.set(y * field.width + x, value);`. When you modify the data then you can update
+ * the {@link #meshes} using the {@link #update()} method, or only the modified area using {@link #update(int, int, int, int)}.
  * <p />
- * You can also manually modify the heightfield by directly accessing the {@link #data} member. The index within this array can be
- * calculates as: `y * width + x`. E.g. `field.data[y * field.width + x] = value;`. When you modify the data then you can update
- * the {@link #mesh} using the {@link #update()} method.
+ * The values live in a {@link TerrainData}, which can be shared: several height fields (and the Bullet heightfield shape) can read
+ * the same direct buffer, so a heightmap only has to be decoded and stored once.
  * <p />
- * The {@link #mesh} member can be used to render the height field. The vertex attributes this mesh contains are specified in the
+ * The {@link #meshes} member can be used to render the height field, one mesh part per mesh. The vertex attributes this mesh contains are specified in the
  * constructor. There are two ways for generating the mesh: smooth and sharp.
  * <p />
  * Smooth can be forced by specifying `true` for the `smooth` argument of the constructor. Otherwise it will be based on whether
@@ -60,7 +75,7 @@ import java.nio.ByteBuffer;
  * grid points. Causing vertices to be shared amongst multiple faces.
  * <p />
  * Sharp will be used if the vertex attributes contains a normal attribute and you didnt specify `true` for the `smooth` argument
- * of the constructor. This will cause the number of vertices to be around four times the amount grid points and each normal is
+ * of the constructor. This will cause the number of vertices to be around twice the amount grid points and each normal is
  * estimated for each face instead of each point.
  * @author Xoppa */
 
@@ -78,35 +93,102 @@ public class HeightField implements Disposable {
     public final Vector3 corner11 = new Vector3(1, 0, 1);
     public final Vector3 magnitude = new Vector3(0, 1, 0);
 
-    public final float[] data;
+    public final TerrainData data;
     public final int width;
     public final int height;
     public final boolean smooth;
-    public final Mesh mesh;
+    /** The band meshes, band i covers the grid rows {@code bandRows[i]} to {@code bandRows[i + 1]}. Empty for a mesh-less field. */
+    public final Mesh[] meshes;
+
+    /** 16 bit indices are read as unsigned short by GL, so this is the most vertices a single mesh can address. */
+    public static final int MAX_MESH_VERTICES = 65536;
 
     private final float vertices[];
     private final int stride;
+    private final boolean isStatic;
+    private final VertexAttributes attributes;
+    private final int[] bandRows;
 
     private final int posPos;
     private final int norPos;
     private final int uvPos;
     private final int colPos;
 
-    private final VertexInfo vertex00 = new VertexInfo();
-    private final VertexInfo vertex10 = new VertexInfo();
-    private final VertexInfo vertex01 = new VertexInfo();
-    private final VertexInfo vertex11 = new VertexInfo();
-
-    private final Vector3 tmpV1 = new Vector3();
-    private final Vector3 tmpV2 = new Vector3();
-    private final Vector3 tmpV3 = new Vector3();
-    private final Vector3 tmpV4 = new Vector3();
-    private final Vector3 tmpV5 = new Vector3();
-    private final Vector3 tmpV6 = new Vector3();
-    private final Vector3 tmpV7 = new Vector3();
-    private final Vector3 tmpV8 = new Vector3();
-    private final Vector3 tmpV9 = new Vector3();
-    private final Color tmpC = new Color();
+    /** Below this many rows per task the vertices are built on the calling thread, see {@link #setParallel(boolean)}. */
+    private static final int PARALLEL_MIN_ROWS = 16;
+    /** Heights decoded per block by {@link #heightColorsToMap(ByteBuffer, Format, int, int, FloatBuffer)}. */
+    private static final int DECODE_BLOCK = 4096;
+    private boolean parallel;
+
+    private NormalMode normalMode = NormalMode.WEIGHTED;
+    /** Built on first use, see {@link #getPyramid()}. */
+    private HeightPyramid pyramid;
+    /** Whether the current build uses {@link #getCentralDifferenceNormalAt}, decided once per build. */
+    private boolean centralDifference;
+
+    /** Temporary objects for building vertices. Each thread building vertices needs its own instance. */
+    private static final class Scratch {
+        final VertexInfo vertex00 = new VertexInfo();
+        final VertexInfo vertex10 = new VertexInfo();
+        final VertexInfo vertex01 = new VertexInfo();
+        final VertexInfo vertex11 = new VertexInfo();
+
+        final Vector3 tmpV1 = new Vector3();
+        final Vector3 tmpV2 = new Vector3();
+        final Vector3 tmpV3 = new Vector3();
+        final Vector3 tmpV4 = new Vector3();
+        final Vector3 tmpV5 = new Vector3();
+        final Vector3 tmpV6 = new Vector3();
+        final Vector3 tmpV7 = new Vector3();
+        final Vector3 tmpV8 = new Vector3();
+        final Color tmpC = new Color();
+
+        /** One row and its neighbours plus the positions and normals of the row, for the {@link HeightKernels}. */
+        float[] below, row, above, px, py, pz, nx, ny, nz;
+        /** corner00, corner10, corner01, corner11 and magnitude, see {@link HeightKernels#gridPositions}. */
+        final float[] corners = new float[15];
+
+        void ensureRows (int width) {
+            if (row != null && row.length >= width) return;
+            below = new float[width];
+            row = new float[width];
+            above = new float[width];
+            px = new float[width];
+            py = new float[width];
+            pz = new float[width];
+            nx = new float[width];
+            ny = new float[width];
+            nz = new float[width];
+        }
+    }
+
+    /** Used by the public lookups and the serial build. */
+    private final Scratch scratch = new Scratch();
+
+    /** Builds a range of rows, splitting it in halves on the fork join pool. Every task uses its own {@link Scratch}. The rows
+     * of different tasks never write the same vertices, so they can share {@link #vertices}. */
+    private final class BuildTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int x0, y0, x1, y1;
+
+        BuildTask (int x0, int y0, int x1, int y1) {
+            this.x0 = x0;
+            this.y0 = y0;
+            this.x1 = x1;
+            this.y1 = y1;
+        }
+
+        @Override
+        protected void compute () {
+            if (y1 - y0 + 1 < 2 * PARALLEL_MIN_ROWS) {
+                build(x0, y0, x1, y1, new Scratch());
+                return;
+            }
+            final int mid = (y0 + y1) >>> 1;
+            invokeAll(new BuildTask(x0, y0, x1, mid), new BuildTask(x0, mid + 1, x1, y1));
+        }
+    }
 
     public HeightField(boolean isStatic, final Pixmap map, boolean smooth, int attributes) {
         this(isStatic, map.getWidth(), map.getHeight(), smooth, attributes);
@@ -129,112 +211,412 @@ public class HeightField implements Disposable {
     }
 
     public HeightField(boolean isStatic, int width, int height, boolean smooth, VertexAttributes attributes) {
+        this(isStatic, new TerrainData(width, height), smooth, attributes);
+    }
+
+    /** Creates a height field which renders the given data; the data is shared, not copied. */
+    public HeightField(boolean isStatic, final TerrainData data, boolean smooth, int attributes) {
+        this(isStatic, data, smooth, MeshBuilder.createAttributes(attributes));
+        update();
+    }
+
+    public HeightField(boolean isStatic, final TerrainData data, boolean smooth, VertexAttributes attributes) {
+        this(isStatic, data, smooth, attributes, true);
+    }
+
+    /** With createMeshes false nothing in here touches GL, so the field can be created and filled with {@link #buildVertices()}
+     * on any thread. {@link #createMeshes()} must then be called on the GL thread before the {@link #meshes} can be used, until
+     * then they are null. */
+    public HeightField(boolean isStatic, final TerrainData data, boolean smooth, VertexAttributes attributes, boolean createMeshes) {
+        this.isStatic = isStatic;
+        this.attributes = attributes;
         this.posPos = attributes.getOffset(Usage.Position, -1);
         this.norPos = attributes.getOffset(Usage.Normal, -1);
         this.uvPos = attributes.getOffset(Usage.TextureCoordinates, -1);
         this.colPos = attributes.getOffset(Usage.ColorUnpacked, -1);
         smooth = smooth || (norPos < 0); // cant have sharp edges without normals
 
-        this.width = width;
-        this.height = height;
+        this.width = data.width;
+        this.height = data.height;
         this.smooth = smooth;
-        this.data = new float[width * height];
+        this.data = data;
 
         this.stride = attributes.vertexSize / 4;
 
-        final int numVertices = smooth ? width * height : (width - 1) * (height - 1) * 4;
-        final int numIndices = (width - 1) * (height - 1) * 6;
-
-        this.mesh = new Mesh(isStatic, numVertices, numIndices, attributes);
+        final int numVertices = height * getRowVertexStride();
+
+        // Split into bands of whole rows so every band stays addressable with 16 bit indices
+        final int cellRowsPerBand = MAX_MESH_VERTICES / getRowVertexStride() - 1;
+        if (cellRowsPerBand < 1) throw new GdxRuntimeException("Height field too wide for 16 bit indices: " + width);
+        final int cellRows = height - 1;
+        final int numBands = Math.max(1, (cellRows + cellRowsPerBand - 1) / cellRowsPerBand);
+        this.bandRows = new int[numBands + 1];
+        this.meshes = new Mesh[numBands];
+        for (int b = 0; b < numBands; ++b) {
+            final int y0 = b * cellRowsPerBand;
+            final int y1 = Math.min(y0 + cellRowsPerBand, cellRows);
+            bandRows[b] = y0;
+            bandRows[b + 1] = y1;
+        }
         this.vertices = new float[numVertices * stride];
 
+        if (createMeshes) createBandMeshes();
+    }
+
+    /** Creates a height field without any {@link #meshes}. Only the {@link #data} and the position and normal lookups are available,
+     * which is all that is needed when the vertices are built elsewhere, e.g. per patch by {@link ChunkedTerrain}. Calling
+     * {@link #update()} on such a field does nothing and {@link #meshes} is empty. */
+    public HeightField(int width, int height) {
+        this(new TerrainData(width, height));
+    }
+
+    /** Creates a mesh-less height field on top of the given (shared) data, see {@link #HeightField(int, int)}. */
+    public HeightField(final TerrainData data) {
+        this.posPos = -1;
+        this.norPos = -1;
+        this.uvPos = -1;
+        this.colPos = -1;
+
+        this.width = data.width;
+        this.height = data.height;
+        this.smooth = true;
+        this.data = data;
+
+        this.isStatic = false;
+        this.attributes = null;
+        this.stride = 0;
+        this.meshes = new Mesh[0];
+        this.bandRows = new int[] {0};
+        this.vertices = null;
+    }
+
+    /** Vertices per grid row; the sharp layout puts two vertices per cell in each row (see {@link #updateSharp()}). */
+    private int getRowVertexStride () {
+        return smooth ? width : (width - 1) * 2;
+    }
+
+    /** Index of the first vertex of the given grid row in {@link #vertices} (in vertices, not floats). */
+    private int getRowVertexOffset (int y) {
+        return y * getRowVertexStride();
+    }
+
+    private int getBandVertexCount (int y0, int y1) {
+        // the last row of a band is the first row of the next band, both meshes get a copy of it
+        return (y1 - y0 + 1) * getRowVertexStride();
+    }
+
+    /** @return whether the {@link #meshes} exist, false for a mesh-less field or before {@link #createMeshes()}. */
+    public boolean hasMeshes () {
+        return meshes.length > 0 && meshes[0] != null;
+    }
+
+    /** Creates the meshes of a field constructed without them and uploads the vertices built so far, see
+     * {@link #buildVertices()}. Must be called on the GL thread. */
+    public void createMeshes () {
+        if (meshes.length == 0 || hasMeshes()) return;
+        createBandMeshes();
+        uploadVertices();
+    }
+
+    private void createBandMeshes () {
+        for (int b = 0; b < meshes.length; ++b) {
+            final int y0 = bandRows[b];
+            final int y1 = bandRows[b + 1];
+            meshes[b] = NativeLedger.track(new Mesh(isStatic, getBandVertexCount(y0, y1), (width - 1) * (y1 - y0) * 6, attributes),
+                "HeightField");
+        }
         setIndices();
     }
 
     private void setIndices () {
         final int w = width - 1;
-        final int h = height - 1;
-        short indices[] = new short[w * h * 6];
-        int i = -1;
-        for (int y = 0; y < h; ++y) {
-            for (int x = 0; x < w; ++x) {
-                final int c00 = smooth ? (y * width + x) : (y * 2 * w + x * 2);
-                final int c10 = c00 + 1;
-                final int c01 = c00 + (smooth ? width : w * 2);
-                final int c11 = c10 + (smooth ? width : w * 2);
-                indices[++i] = (short)c11;
-                indices[++i] = (short)c10;
-                indices[++i] = (short)c00;
-                indices[++i] = (short)c00;
-                indices[++i] = (short)c01;
-                indices[++i] = (short)c11;
+        for (int b = 0; b < meshes.length; ++b) {
+            final int y0 = bandRows[b];
+            final int y1 = bandRows[b + 1];
+            final int base = getRowVertexOffset(y0);
+            short indices[] = new short[w * (y1 - y0) * 6];
+            int i = -1;
+            for (int y = y0; y < y1; ++y) {
+                for (int x = 0; x < w; ++x) {
+                    // relative to the first vertex of the band, the cast wraps above 32k which GL reads back as unsigned
+                    final int c00 = (smooth ? (y * width + x) : (y * 2 * w + x * 2)) - base;
+                    final int c10 = c00 + 1;
+                    final int c01 = c00 + (smooth ? width : w * 2);
+                    final int c11 = c10 + (smooth ? width : w * 2);
+                    indices[++i] = (short)c11;
+                    indices[++i] = (short)c10;
+                    indices[++i] = (short)c00;
+                    indices[++i] = (short)c00;
+                    indices[++i] = (short)c01;
+                    indices[++i] = (short)c11;
+                }
             }
+            meshes[b].setIndices(indices);
+        }
+    }
+
+    /** Uploads the vertices of every band to its mesh. */
+    private void uploadVertices () {
+        for (int b = 0; b < meshes.length; ++b) {
+            final int offset = getRowVertexOffset(bandRows[b]);
+            meshes[b].setVertices(vertices, offset * stride, getBandVertexCount(bandRows[b], bandRows[b + 1]) * stride);
         }
-        mesh.setIndices(indices);
+    }
+
+    /** @return the bytes of vertex data of all meshes. Roughly the same amount is kept on the Java heap for {@link #update()}. */
+    public long getVertexBytes () {
+        long vertices = 0;
+        for (int b = 0; b < meshes.length; ++b)
+            vertices += getBandVertexCount(bandRows[b], bandRows[b + 1]);
+        return vertices * stride * 4L;
+    }
+
+    /** @return the bytes of (16 bit) index data of all meshes. */
+    public long getIndexBytes () {
+        long indices = 0;
+        for (int b = 0; b < meshes.length; ++b)
+            indices += (long)(width - 1) * (bandRows[b + 1] - bandRows[b]) * 6;
+        return indices * 2L;
     }
 
     public void update () {
+        if (pyramid != null) pyramid.update();
+        if (!hasMeshes()) return;
+        buildVertices();
+        uploadVertices();
+    }
+
+    /** Builds all vertices from the {@link #data} without uploading them, so this can run on any thread. {@link #update()} does
+     * both. */
+    public void buildVertices () {
+        if (vertices == null) return;
+        if (smooth)
+            build(0, 0, width - 1, height - 1);
+        else
+            build(0, 0, width - 2, height - 2);
+    }
+
+    /** @return the number of floats in the (interleaved) vertex array, 0 for a mesh-less field. */
+    public int getVertexFloatCount () {
+        return vertices == null ? 0 : vertices.length;
+    }
+
+    /** Copies previously built vertices, e.g. from a cache, instead of building them. The remaining floats of the source must
+     * match {@link #getVertexFloatCount()} and have been built with the same {@link #getBuildKey()}. */
+    public void setVertices (final FloatBuffer source) {
+        if (source.remaining() != getVertexFloatCount()) throw new GdxRuntimeException("Incorrect vertex count");
+        source.duplicate().get(vertices);
+    }
+
+    /** Copies the vertices built so far into the destination, at its position. */
+    public void getVertices (final FloatBuffer dest) {
+        if (vertices != null) dest.put(vertices);
+    }
+
+    /** @return a hash of everything that, besides the {@link #data}, determines the built vertices: size, layout, vertex
+     * attributes, corners, magnitude, uv, colors and the normal calculation. Two fields with the same data and the same build key
+     * build the same vertices. */
+    public long getBuildKey () {
+        long h = 1125899906842597L;
+        h = 31 * h + width;
+        h = 31 * h + height;
+        h = 31 * h + (smooth ? 1 : 0);
+        h = 31 * h + (attributes == null ? 0 : attributes.hashCode());
+        for (Vector3 v : new Vector3[] {corner00, corner10, corner01, corner11, magnitude})
+            h = 31 * h + v.hashCode();
+        h = 31 * h + uvOffset.hashCode();
+        h = 31 * h + uvScale.hashCode();
+        for (Color c : new Color[] {color00, color10, color01, color11})
+            h = 31 * h + c.toIntBits();
+        h = 31 * h + (normalMode == NormalMode.UP ? 2 : normalMode == NormalMode.CENTRAL_DIFFERENCE && isAxisAlignedXZ() ? 1 : 0);
+        return h;
+    }
+
+    /** When enabled, {@link #update()} builds the vertices of large fields on the common fork join pool, in bands of rows. The
+     * result is exactly the same as the serial build. Disabled by default. */
+    public void setParallel (boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public boolean isParallel () {
+        return parallel;
+    }
+
+    /** Selects how the normals of a smooth field are calculated, see {@link NormalMode}. Applies from the next update. */
+    public void setNormalMode (NormalMode normalMode) {
+        this.normalMode = normalMode;
+    }
+
+    public NormalMode getNormalMode () {
+        return normalMode;
+    }
+
+    /** Builds the given (inclusive) range: grid points for a smooth field, cells for a sharp one. */
+    private void build (int x0, int y0, int x1, int y1) {
+        centralDifference = normalMode == NormalMode.CENTRAL_DIFFERENCE && isAxisAlignedXZ();
+        if (parallel && y1 - y0 + 1 >= 2 * PARALLEL_MIN_ROWS)
+            ForkJoinPool.commonPool().invoke(new BuildTask(x0, y0, x1, y1));
+        else
+            build(x0, y0, x1, y1, scratch);
+    }
+
+    private void build (int x0, int y0, int x1, int y1, Scratch s) {
+        if (smooth)
+            updateSmooth(x0, y0, x1, y1, s);
+        else
+            updateSharp(x0, y0, x1, y1, s);
+    }
+
+    /** Updates only the part of the meshes affected by a change of the {@link #data} within the given (inclusive) grid
+     * coordinates, e.g. after deforming the terrain at runtime. Normals are recalculated one cell beyond the region, because
+     * they depend on the neighbouring heights. Only the touched vertex ranges are copied using {@link Mesh#updateVertices},
+     * and only the meshes (bands) containing them are marked dirty. */
+    public void update (int x0, int y0, int x1, int y1) {
+        if (pyramid != null) pyramid.update(x0, y0, x1, y1);
+        if (!hasMeshes()) return;
+        x0 = Math.max(x0, 0);
+        y0 = Math.max(y0, 0);
+        x1 = Math.min(x1, width - 1);
+        y1 = Math.min(y1, height - 1);
+        if (x0 > x1 || y0 > y1) return;
+
+        final int vx0, vx1, vy0, vy1; // the affected vertices, in columns of the row layout and grid rows
         if (smooth) {
-            if (norPos < 0)
-                updateSimple();
-            else
-                updateSmooth();
-        } else
-            updateSharp();
-    }
-
-    private void updateSmooth () {
-        for (int x = 0; x < width; ++x) {
-            for (int y = 0; y < height; ++y) {
-                VertexInfo v = getVertexAt(vertex00, x, y);
-                getWeightedNormalAt(v.normal, x, y);
-                setVertex(y * width + x, v);
+            if (norPos >= 0) {
+                x0 = Math.max(x0 - 1, 0);
+                y0 = Math.max(y0 - 1, 0);
+                x1 = Math.min(x1 + 1, width - 1);
+                y1 = Math.min(y1 + 1, height - 1);
             }
+            build(x0, y0, x1, y1);
+            vx0 = x0;
+            vx1 = x1;
+            vy0 = y0;
+            vy1 = y1;
+        } else {
+            // every cell using one of the changed heights
+            final int cx0 = Math.max(x0 - 1, 0);
+            final int cy0 = Math.max(y0 - 1, 0);
+            final int cx1 = Math.min(x1, width - 2);
+            final int cy1 = Math.min(y1, height - 2);
+            if (cx0 > cx1 || cy0 > cy1) return;
+            build(cx0, cy0, cx1, cy1);
+            vx0 = cx0 * 2;
+            vx1 = cx1 * 2 + 1;
+            vy0 = cy0;
+            vy1 = cy1 == height - 2 ? cy1 + 1 : cy1;
         }
-        mesh.setVertices(vertices);
+        updateVertices(vx0, vy0, vx1, vy1);
     }
 
-    private void updateSimple () {
-        for (int x = 0; x < width; ++x) {
-            for (int y = 0; y < height; ++y) {
-                setVertex(y * width + x, getVertexAt(vertex00, x, y));
+    /** Copies the given (inclusive) range of vertices to every band containing them. The range is sent as one span per band,
+     * from the first column of the first row to the last column of the last row. */
+    private void updateVertices (int vx0, int vy0, int vx1, int vy1) {
+        final int rowStride = getRowVertexStride();
+        for (int b = 0; b < meshes.length; ++b) {
+            final int y0 = Math.max(vy0, bandRows[b]);
+            final int y1 = Math.min(vy1, bandRows[b + 1]);
+            if (y0 > y1) continue;
+            final int base = getRowVertexOffset(bandRows[b]);
+            final int first = getRowVertexOffset(y0) + vx0;
+            final int count = (y1 - y0) * rowStride + (vx1 - vx0 + 1);
+            meshes[b].updateVertices((first - base) * stride, vertices, first * stride, count * stride);
+        }
+    }
+
+    /** Builds the grid points row by row: the positions of a row are calculated at once by the {@link HeightKernels} (SIMD where
+     * available), as are the normals in {@link NormalMode#CENTRAL_DIFFERENCE} mode. Same result per vertex as
+     * {@link #getVertexAt(VertexInfo, int, int)} and {@link #getNormalAt(Vector3, int, int)}. */
+    private void updateSmooth (int x0, int y0, int x1, int y1, Scratch s) {
+        final HeightKernels kernels = HeightKernels.get();
+        final float stepX = (corner10.x - corner00.x) / (width - 1);
+        final float stepZ = (corner01.z - corner00.z) / (height - 1);
+        s.ensureRows(width);
+        setCorners(s.corners);
+        for (int y = y0; y <= y1; ++y) {
+            final float dy = (float)y / (float)(height - 1);
+            data.get(y * width, s.row, 0, width);
+            kernels.gridPositions(s.row, width, x0, x1 + 1, dy, s.corners, s.px, s.py, s.pz);
+            final boolean rowNormals = norPos >= 0 && centralDifference;
+            if (rowNormals) {
+                final int yb = y > 0 ? y - 1 : y;
+                final int yt = y < height - 1 ? y + 1 : y;
+                data.get(yb * width, s.below, 0, width);
+                data.get(yt * width, s.above, 0, width);
+                kernels.centralDifferenceNormals(s.below, s.row, s.above, width, x0, x1 + 1, yt - yb, magnitude.y, stepX, stepZ,
+                    s.nx, s.ny, s.nz);
+            }
+            for (int x = x0; x <= x1; ++x) {
+                VertexInfo v = s.vertex00;
+                v.position.set(s.px[x], s.py[x], s.pz[x]);
+                setColorAndUv(v, x, dy, s);
+                if (rowNormals)
+                    v.normal.set(s.nx[x], s.ny[x], s.nz[x]);
+                else if (norPos >= 0 && normalMode == NormalMode.UP)
+                    v.normal.set(magnitude).nor();
+                else if (norPos >= 0)
+                    getWeightedNormalAt(v.normal, x, y, s);
+                setVertex(y * width + x, v);
             }
         }
-        mesh.setVertices(vertices);
     }
 
-    private void updateSharp () {
+    private void setCorners (float[] corners) {
+        setCorner(corners, 0, corner00);
+        setCorner(corners, 3, corner10);
+        setCorner(corners, 6, corner01);
+        setCorner(corners, 9, corner11);
+        setCorner(corners, 12, magnitude);
+    }
+
+    private static void setCorner (float[] corners, int offset, Vector3 corner) {
+        corners[offset] = corner.x;
+        corners[offset + 1] = corner.y;
+        corners[offset + 2] = corner.z;
+    }
+
+    /** Updates the given (inclusive) range of cells, cell (x, y) being the quad between grid points (x, y) and (x+1, y+1).
+     * A cell row shares its top vertices with the bottom vertices of the previous row (see {@link #setIndices()}), the top
+     * vertices win. So the bottom vertices are only written for the last row, which has no row above it. */
+    private void updateSharp (int cx0, int cy0, int cx1, int cy1, Scratch s) {
         final int w = width - 1;
         final int h = height - 1;
-        for (int y = 0; y < h; ++y) {
-            for (int x = 0; x < w; ++x) {
+        for (int y = cy0; y <= cy1; ++y) {
+            for (int x = cx0; x <= cx1; ++x) {
                 final int c00 = (y * 2 * w + x * 2);
                 final int c10 = c00 + 1;
                 final int c01 = c00 + w * 2;
                 final int c11 = c10 + w * 2;
-                VertexInfo v00 = getVertexAt(vertex00, x, y);
-                VertexInfo v10 = getVertexAt(vertex10, x + 1, y);
-                VertexInfo v01 = getVertexAt(vertex01, x, y + 1);
-                VertexInfo v11 = getVertexAt(vertex11, x + 1, y + 1);
-                v01.normal.set(v01.position).sub(v00.position).nor().crs(tmpV1.set(v11.position).sub(v01.position).nor());
-                v10.normal.set(v10.position).sub(v11.position).nor().crs(tmpV1.set(v00.position).sub(v10.position).nor());
+                VertexInfo v00 = getVertexAt(s.vertex00, x, y, s);
+                VertexInfo v10 = getVertexAt(s.vertex10, x + 1, y, s);
+                VertexInfo v01 = getVertexAt(s.vertex01, x, y + 1, s);
+                VertexInfo v11 = getVertexAt(s.vertex11, x + 1, y + 1, s);
+                v01.normal.set(v01.position).sub(v00.position).nor().crs(s.tmpV1.set(v11.position).sub(v01.position).nor());
+                v10.normal.set(v10.position).sub(v11.position).nor().crs(s.tmpV1.set(v00.position).sub(v10.position).nor());
                 v00.normal.set(v01.normal).lerp(v10.normal, .5f);
                 v11.normal.set(v00.normal);
 
                 setVertex(c00, v00);
                 setVertex(c10, v10);
-                setVertex(c01, v01);
-                setVertex(c11, v11);
+                if (y == h - 1) {
+                    setVertex(c01, v01);
+                    setVertex(c11, v11);
+                }
             }
         }
-        mesh.setVertices(vertices);
     }
 
     /** Does not set the normal member! */
     protected VertexInfo getVertexAt (final VertexInfo out, int x, int y) {
+        return getVertexAt(out, x, y, scratch);
+    }
+
+    private VertexInfo getVertexAt (final VertexInfo out, int x, int y, final Scratch s) {
+        final Vector3 tmpV1 = s.tmpV1;
+        final Color tmpC = s.tmpC;
         final float dx = (float)x / (float)(width - 1);
         final float dy = (float)y / (float)(height - 1);
-        final float a = data[y * width + x];
+        final float a = data.get(y * width + x);
         out.position.set(corner00).lerp(corner10, dx).lerp(tmpV1.set(corner01).lerp(corner11, dx), dy);
         out.position.add(tmpV1.set(magnitude).scl(a));
         out.color.set(color00).lerp(color10, dx).lerp(tmpC.set(color01).lerp(color11, dx), dy);
@@ -242,40 +624,160 @@ public class HeightField implements Disposable {
         return out;
     }
 
+    /** The color and uv part of {@link #getVertexAt(VertexInfo, int, int, Scratch)}, skipped for absent attributes. */
+    private void setColorAndUv (final VertexInfo out, int x, float dy, final Scratch s) {
+        final float dx = (float)x / (float)(width - 1);
+        if (colPos >= 0) out.color.set(color00).lerp(color10, dx).lerp(s.tmpC.set(color01).lerp(color11, dx), dy);
+        if (uvPos >= 0) out.uv.set(dx, dy).scl(uvScale).add(uvOffset);
+    }
+
     public Vector3 getPositionAt (Vector3 out, int x, int y) {
+        return getPositionAt(out, x, y, scratch);
+    }
+
+    private Vector3 getPositionAt (Vector3 out, int x, int y, final Scratch s) {
+        final Vector3 tmpV1 = s.tmpV1;
         final float dx = (float)x / (float)(width - 1);
         final float dy = (float)y / (float)(height - 1);
-        final float a = data[y * width + x];
+        final float a = data.get(y * width + x);
         out.set(corner00).lerp(corner10, dx).lerp(tmpV1.set(corner01).lerp(corner11, dx), dy);
         out.add(tmpV1.set(magnitude).scl(a));
         return out;
     }
 
+    /** @return whether the world space point lies on the field (border included). Requires {@link #isAxisAlignedXZ()}. */
+    public boolean contains (float worldX, float worldZ) {
+        return worldX >= corner00.x && worldX <= corner10.x && worldZ >= corner00.z && worldZ <= corner01.z;
+    }
+
+    /** The world space height of the surface at the given world position, exactly as rendered: the point is located in its grid
+     * cell and interpolated on the same triangle that the mesh and the Bullet heightfield shape use (the cells are split along the
+     * 00-11 diagonal). Points outside the field are clamped to its border. Allocation free and O(1), so it can be called thousands
+     * of times per frame instead of a ray test. Requires {@link #isAxisAlignedXZ()}. */
+    public float getHeightAt (float worldX, float worldZ) {
+        if (!isAxisAlignedXZ()) throw new GdxRuntimeException("World space lookups need a field on the XZ plane, see isAxisAlignedXZ()");
+        final float gx = MathUtils.clamp((worldX - corner00.x) / (corner10.x - corner00.x), 0f, 1f) * (width - 1);
+        final float gy = MathUtils.clamp((worldZ - corner00.z) / (corner01.z - corner00.z), 0f, 1f) * (height - 1);
+        final int x = Math.min((int)gx, width - 2);
+        final int y = Math.min((int)gy, height - 2);
+        final float fx = gx - x;
+        final float fy = gy - y;
+        final int i = y * width + x;
+        final float h00 = data.get(i);
+        final float h11 = data.get(i + width + 1);
+        final float h;
+        if (fx >= fy)
+            h = h00 + fx * (data.get(i + 1) - h00) + fy * (h11 - data.get(i + 1));
+        else
+            h = h00 + fy * (data.get(i + width) - h00) + fx * (h11 - data.get(i + width));
+        return corner00.y + h * magnitude.y;
+    }
+
+    /** The normal of the triangle under the given world position (the same face normal Bullet reports for contacts), see
+     * {@link #getHeightAt(float, float)}. Not to be confused with {@link #getNormalAt(Vector3, int, int)}, which takes grid
+     * coordinates and returns the smoothed vertex normal. Allocation free and O(1). Requires {@link #isAxisAlignedXZ()}. */
+    public Vector3 getNormalAt (Vector3 out, float worldX, float worldZ) {
+        if (!isAxisAlignedXZ()) throw new GdxRuntimeException("World space lookups need a field on the XZ plane, see isAxisAlignedXZ()");
+        final float sizeX = corner10.x - corner00.x;
+        final float sizeZ = corner01.z - corner00.z;
+        final float gx = MathUtils.clamp((worldX - corner00.x) / sizeX, 0f, 1f) * (width - 1);
+        final float gy = MathUtils.clamp((worldZ - corner00.z) / sizeZ, 0f, 1f) * (height - 1);
+        final int x = Math.min((int)gx, width - 2);
+        final int y = Math.min((int)gy, height - 2);
+        final int i = y * width + x;
+        final float h00 = data.get(i);
+        final float h11 = data.get(i + width + 1);
+        // height change per cell along x and y on the selected triangle
+        final float dhx, dhy;
+        if (gx - x >= gy - y) {
+            final float h10 = data.get(i + 1);
+            dhx = h10 - h00;
+            dhy = h11 - h10;
+        } else {
+            final float h01 = data.get(i + width);
+            dhx = h11 - h01;
+            dhy = h01 - h00;
+        }
+        return out.set(-dhx * magnitude.y * (width - 1) / sizeX, 1f, -dhy * magnitude.y * (height - 1) / sizeZ).nor();
+    }
+
+    /** @return the min/max pyramid of the {@link #data}, built on first use. It is kept current by {@link #update()} and
+     * {@link #update(int, int, int, int)}, so call one of those after modifying the data (also for a mesh-less field). */
+    public HeightPyramid getPyramid () {
+        if (pyramid == null) pyramid = new HeightPyramid(data);
+        return pyramid;
+    }
+
+    /** Intersects a world space ray with the surface (the same triangles as the mesh and the Bullet shape), using the
+     * {@link #getPyramid() min/max pyramid} to skip empty space, so only the cells near the hit are tested. Meant for mouse
+     * picking, line of sight and camera collision without a Bullet ray test. Requires {@link #isAxisAlignedXZ()}.
+     * @param maxDistance only hits up to this distance from the ray origin count
+     * @param out receives the hit point, unchanged on a miss
+     * @return whether the ray hits the surface */
+    public boolean intersect (Ray ray, float maxDistance, Vector3 out) {
+        if (!isAxisAlignedXZ()) throw new GdxRuntimeException("World space lookups need a field on the XZ plane, see isAxisAlignedXZ()");
+        final float stepX = (corner10.x - corner00.x) / (width - 1);
+        final float stepZ = (corner01.z - corner00.z) / (height - 1);
+        // grid space keeps t, so t is still the distance along the (normalized) ray direction
+        final float t = getPyramid().intersect((ray.origin.x - corner00.x) / stepX, (ray.origin.y - corner00.y) / magnitude.y,
+            (ray.origin.z - corner00.z) / stepZ, ray.direction.x / stepX, ray.direction.y / magnitude.y, ray.direction.z / stepZ,
+            maxDistance);
+        if (t < 0f) return false;
+        ray.getEndPoint(out, t);
+        return true;
+    }
+
+    /** The normal at the grid point as selected by the {@link #setNormalMode(NormalMode) normal mode}. */
+    public Vector3 getNormalAt (Vector3 out, int x, int y) {
+        if (normalMode == NormalMode.UP) return out.set(magnitude).nor();
+        if (normalMode == NormalMode.CENTRAL_DIFFERENCE && isAxisAlignedXZ())
+            return getCentralDifferenceNormalAt(out, x, y);
+        return getWeightedNormalAt(out, x, y, scratch);
+    }
+
+    /** @return whether the field lies in the XZ plane with its edges along the positive X and Z axis and the magnitude along the
+     * Y axis, which is what {@link #getCentralDifferenceNormalAt(Vector3, int, int)} requires. */
+    public boolean isAxisAlignedXZ () {
+        return corner10.y == corner00.y && corner10.z == corner00.z && corner01.y == corner00.y && corner01.x == corner00.x
+            && corner11.x == corner10.x && corner11.y == corner00.y && corner11.z == corner01.z && magnitude.x == 0f
+            && magnitude.z == 0f && corner10.x > corner00.x && corner01.z > corner00.z;
+    }
+
+    /** Calculates the normal directly from the neighbouring heights (central differences, one sided at the border), based on
+     * http://www.flipcode.com/archives/Calculating_Vertex_Normals_for_Height_Maps.shtml. This avoids the five position lookups,
+     * four cross products and eight square roots of {@link #getWeightedNormalAt(Vector3, int, int)}, but only works if
+     * {@link #isAxisAlignedXZ()}. */
+    public Vector3 getCentralDifferenceNormalAt (Vector3 out, int x, int y) {
+        final int xl = x > 0 ? x - 1 : x;
+        final int xr = x < width - 1 ? x + 1 : x;
+        final int yb = y > 0 ? y - 1 : y;
+        final int yt = y < height - 1 ? y + 1 : y;
+        final float stepX = (corner10.x - corner00.x) / (width - 1);
+        final float stepZ = (corner01.z - corner00.z) / (height - 1);
+        final int row = y * width;
+        final float dx = xr == xl ? 0f : (data.get(row + xr) - data.get(row + xl)) * magnitude.y / ((xr - xl) * stepX);
+        final float dz = yt == yb ? 0f : (data.get(yt * width + x) - data.get(yb * width + x)) * magnitude.y / ((yt - yb) * stepZ);
+        return out.set(-dx, 1f, -dz).nor();
+    }
+
     public Vector3 getWeightedNormalAt (Vector3 out, int x, int y) {
-// This commented code is based on http://www.flipcode.com/archives/Calculating_Vertex_Normals_for_Height_Maps.shtml
-// Note that this approach only works for a heightfield on the XZ plane with a magnitude on the y axis
-// float sx = data[(x < width - 1 ? x + 1 : x) + y * width] + data[(x > 0 ? x-1 : x) + y * width];
-// if (x == 0 || x == (width - 1))
-// sx *= 2f;
-// float sy = data[(y < height - 1 ? y + 1 : y) * width + x] + data[(y > 0 ? y-1 : y) * width + x];
-// if (y == 0 || y == (height - 1))
-// sy *= 2f;
-// float xScale = (corner11.x - corner00.x) / (width - 1f);
-// float zScale = (corner11.z - corner00.z) / (height - 1f);
-// float yScale = magnitude.len();
-// out.set(-sx * yScale, 2f * xScale, sy*yScale*xScale / zScale).nor();
-// return out;
+        return getWeightedNormalAt(out, x, y, scratch);
+    }
 
+    private Vector3 getWeightedNormalAt (Vector3 out, int x, int y, final Scratch s) {
+// For a field on the XZ plane see getCentralDifferenceNormalAt, which is a lot cheaper.
 // The following approach weights the normal of the four triangles (half quad) surrounding the position.
 // A more accurate approach would be to weight the normal of the actual triangles.
         int faces = 0;
         out.set(0, 0, 0);
 
-        Vector3 center = getPositionAt(tmpV2, x, y);
-        Vector3 left = x > 0 ? getPositionAt(tmpV3, x - 1, y) : null;
-        Vector3 right = x < (width - 1) ? getPositionAt(tmpV4, x + 1, y) : null;
-        Vector3 bottom = y > 0 ? getPositionAt(tmpV5, x, y - 1) : null;
-        Vector3 top = y < (height - 1) ? getPositionAt(tmpV6, x, y + 1) : null;
+        final Vector3 tmpV7 = s.tmpV7;
+        final Vector3 tmpV8 = s.tmpV8;
+        Vector3 center = getPositionAt(s.tmpV2, x, y, s);
+        Vector3 left = x > 0 ? getPositionAt(s.tmpV3, x - 1, y, s) : null;
+        Vector3 right = x < (width - 1) ? getPositionAt(s.tmpV4, x + 1, y, s) : null;
+        Vector3 bottom = y > 0 ? getPositionAt(s.tmpV5, x, y - 1, s) : null;
+        Vector3 top = y < (height - 1) ? getPositionAt(s.tmpV6, x, y + 1, s) : null;
         if (top != null && left != null) {
             out.add(tmpV7.set(top).sub(center).nor().crs(tmpV8.set(center).sub(left).nor()).nor());
             faces++;
@@ -329,7 +831,13 @@ public class HeightField implements Disposable {
     }
 
     public void set (final ByteBuffer colorData, final Format format) {
-        set(heightColorsToMap(colorData, format, width, height));
+        if (data.isQuantized())
+            data.set(heightColorsToMap(colorData, format, width, height), 0);
+        else {
+            heightColorsToMap(colorData, format, width, height, data.getBuffer());
+            data.updateBounds();
+        }
+        update();
     }
 
     public void set (float[] data) {
@@ -337,18 +845,29 @@ public class HeightField implements Disposable {
     }
 
     public void set (float[] data, int offset) {
-        if (this.data.length > (data.length - offset)) throw new GdxRuntimeException("Incorrect data size");
-        System.arraycopy(data, offset, this.data, 0, this.data.length);
+        this.data.set(data, offset);
         update();
     }
 
     @Override
     public void dispose () {
-        mesh.dispose();
+        for (Mesh mesh : meshes) {
+            if (mesh == null) continue;
+            NativeLedger.untrack(mesh);
+            mesh.dispose();
+        }
     }
 
     /** Simply creates an array containing only all the red components of the data. */
     public static float[] heightColorsToMap (final ByteBuffer data, final Format format, int width, int height) {
+        final float[] dest = new float[width * height];
+        heightColorsToMap(data, format, width, height, FloatBuffer.wrap(dest));
+        return dest;
+    }
+
+    /** Writes the red components of the data into dest, starting at index 0. Used to decode a heightmap straight into the
+     * (direct) buffer of a {@link TerrainData} without an intermediate array. */
+    public static void heightColorsToMap (final ByteBuffer data, final Format format, int width, int height, final FloatBuffer dest) {
         final int bytesPerColor = (format == Format.RGB888 ? 3 : (format == Format.RGBA8888 ? 4 : 0));
         if (bytesPerColor == 0) throw new GdxRuntimeException("Unsupported format, should be either RGB8 or RGBA8");
         if (data.remaining() < (width * height * bytesPerColor)) throw new GdxRuntimeException("Incorrect map size");
@@ -365,13 +884,20 @@ public class HeightField implements Disposable {
             ((Buffer)data).position(startPos);
         }
 
-        float[] dest = new float[width * height];
-        for (int i = 0; i < dest.length; ++i) {
-            int v = source[sourceOffset + i * bytesPerColor];
-            v = v < 0 ? 256 + v : v;
-            dest[i] = (float)v / 255f;
+        final int n = width * height;
+        final HeightKernels kernels = HeightKernels.get();
+        if (dest.hasArray() && !dest.isReadOnly()) {
+            kernels.redToHeights(source, sourceOffset, bytesPerColor, dest.array(), dest.arrayOffset(), n);
+            return;
+        }
+        // direct buffer: decode in blocks and copy each block in one go
+        final float[] block = new float[Math.min(n, DECODE_BLOCK)];
+        final FloatBuffer out = dest.duplicate();
+        ((Buffer)out).clear();
+        for (int i = 0; i < n; i += block.length) {
+            final int count = Math.min(block.length, n - i);
+            kernels.redToHeights(source, sourceOffset + i * bytesPerColor, bytesPerColor, block, 0, count);
+            out.put(block, 0, count);
         }
-
-        return dest;
     }
 }
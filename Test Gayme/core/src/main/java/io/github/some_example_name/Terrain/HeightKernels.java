@@ -0,0 +1,150 @@
+package io.github.some_example_name.Terrain;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Die inneren Schleifen des Terrain-Aufbaus: Heightmap dekodieren, Vertex-Positionen, Normalen aus zentralen Differenzen
+ * und Min/Max.
+ * <p>
+ * Diese Klasse ist die skalare Java-8-Fassung. Im Multi-Release-Jar liegt unter {@code META-INF/versions/17} zusätzlich
+ * {@code VectorHeightKernels} mit SIMD über {@code jdk.incubator.vector}. {@link #get()} nimmt diese Variante, wenn sie
+ * sich laden lässt (Java 17+, gestartet mit {@code --add-modules jdk.incubator.vector}); sonst bleibt es bei den
+ * Schleifen hier. Dass beide bitgenau dasselbe liefern, prüft {@code HeightKernelsTest}.
+ * Mit {@code -Dterrain.scalarKernels=true} lässt sich die skalare Fassung erzwingen.
+ * <p>
+ * Alle Kernels arbeiten auf Arrays (nicht auf Buffern), sind zustandslos und damit thread-sicher.
+ */
+public class HeightKernels {
+
+    static final String VECTOR_CLASS = "io.github.some_example_name.Terrain.VectorHeightKernels";
+    private static final HeightKernels INSTANCE = load();
+
+    protected HeightKernels() {
+    }
+
+    /** Die schnellste verfügbare Implementierung. */
+    public static HeightKernels get() {
+        return INSTANCE;
+    }
+
+    private static HeightKernels load() {
+        final HeightKernels scalar = new HeightKernels();
+        if (Boolean.getBoolean("terrain.scalarKernels")) {
+            log(scalar, "erzwungen mit -Dterrain.scalarKernels");
+            return scalar;
+        }
+        final HeightKernels vector;
+        try {
+            vector = (HeightKernels)Class.forName(VECTOR_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            log(scalar, "Java 8 oder kein Multi-Release-Jar");
+            return scalar;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // Java 17+, aber ohne --add-modules jdk.incubator.vector (oder die API hat sich geändert)
+            log(scalar, "Vector-Kernels nicht ladbar (--add-modules jdk.incubator.vector?): " + e);
+            return scalar;
+        }
+        log(vector, null);
+        return vector;
+    }
+
+    /** Einmal beim Laden der Klasse; ohne Gdx.app (Tests, TileArchiveWriter) bleibt es still. */
+    private static void log(HeightKernels kernels, String fallbackReason) {
+        if (Gdx.app == null) return;
+        Gdx.app.log("HeightKernels", fallbackReason == null ? kernels.getName() : kernels.getName() + " (" + fallbackReason + ")");
+    }
+
+    /** Name für Logs, z.B. "scalar" oder "vector (256 bit)". */
+    public String getName() {
+        return "scalar";
+    }
+
+    /**
+     * Schreibt den Rotkanal von count Pixeln (3 oder 4 Bytes pro Pixel) als 0..1 nach dest.
+     */
+    public void redToHeights(byte[] source, int sourceOffset, int bytesPerColor, float[] dest, int destOffset, int count) {
+        for (int i = 0; i < count; ++i) {
+            int v = source[sourceOffset + i * bytesPerColor];
+            v = v < 0 ? 256 + v : v;
+            dest[destOffset + i] = (float)v / 255f;
+        }
+    }
+
+    /**
+     * Positionen der Spalten from bis to (exklusiv) einer Zeile, genau wie {@link HeightField#getPositionAt}: row sind die
+     * Höhen der Zeile, dy ihre Lage 0..1, corners hält corner00, corner10, corner01, corner11 und magnitude mit je x, y, z.
+     */
+    public void gridPositions(float[] row, int width, int from, int to, float dy, float[] corners, float[] px, float[] py,
+                              float[] pz) {
+        final float columns = (float)(width - 1);
+        for (int x = from; x < to; x++) {
+            final float dx = (float)x / columns;
+            px[x] = position(corners, 0, dx, dy, row[x]);
+            py[x] = position(corners, 1, dx, dy, row[x]);
+            pz[x] = position(corners, 2, dx, dy, row[x]);
+        }
+    }
+
+    /** Eine Koordinate wie Vector3.set(corner00).lerp(corner10, dx).lerp(..., dy).add(magnitude * h). */
+    private static float position(float[] corners, int c, float dx, float dy, float h) {
+        final float a = corners[c] + dx * (corners[3 + c] - corners[c]);
+        final float b = corners[6 + c] + dx * (corners[9 + c] - corners[6 + c]);
+        return a + dy * (b - a) + corners[12 + c] * h;
+    }
+
+    /**
+     * Normalen der Spalten from bis to (exklusiv) einer Zeile aus den Nachbarhöhen, genau wie
+     * {@link HeightField#getCentralDifferenceNormalAt}: below und above sind die Nachbarzeilen (am Rand die Zeile selbst),
+     * rowDistance ihr Abstand in Zeilen (0, 1 oder 2).
+     */
+    public void centralDifferenceNormals(float[] below, float[] row, float[] above, int width, int from, int to, int rowDistance,
+                                         float magnitude, float stepX, float stepZ, float[] nx, float[] ny, float[] nz) {
+        for (int x = from; x < to; x++) {
+            final int xl = x > 0 ? x - 1 : x;
+            final int xr = x < width - 1 ? x + 1 : x;
+            final float dx = xr == xl ? 0f : (row[xr] - row[xl]) * magnitude / ((xr - xl) * stepX);
+            final float dz = rowDistance == 0 ? 0f : (above[x] - below[x]) * magnitude / (rowDistance * stepZ);
+            // wie Vector3.set(-dx, 1, -dz).nor()
+            final float len2 = -dx * -dx + 1f + -dz * -dz;
+            if (len2 == 1f) {
+                nx[x] = -dx;
+                ny[x] = 1f;
+                nz[x] = -dz;
+            } else {
+                final float inv = 1f / (float)Math.sqrt(len2);
+                nx[x] = -dx * inv;
+                ny[x] = inv;
+                nz[x] = -dz * inv;
+            }
+        }
+    }
+
+    /**
+     * Min und Max der ersten count Werte nach out[0] und out[1], verrechnet mit dem, was schon darin steht
+     * (zum Start mit +/- unendlich füllen). Höhen sind nie NaN.
+     */
+    public void minMax(float[] values, int count, float[] out) {
+        float min = out[0];
+        float max = out[1];
+        for (int i = 0; i < count; i++) {
+            final float v = values[i];
+            if (v < min) min = v;
+            if (v > max) max = v;
+        }
+        out[0] = min;
+        out[1] = max;
+    }
+
+    /** Wie {@link #minMax(float[], int, float[])} für quantisierte Werte. */
+    public void minMax(short[] values, int count, int[] out) {
+        int min = out[0];
+        int max = out[1];
+        for (int i = 0; i < count; i++) {
+            final int v = values[i];
+            if (v < min) min = v;
+            if (v > max) max = v;
+        }
+        out[0] = min;
+        out[1] = max;
+    }
+}
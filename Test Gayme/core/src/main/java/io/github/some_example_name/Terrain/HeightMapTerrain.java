@@ -2,56 +2,184 @@ package io.github.some_example_name.Terrain;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.VertexAttributes;
 import com.badlogic.gdx.graphics.g3d.Material;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.utils.MeshBuilder;
 import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
-import net.mgsx.gltf.scene3d.attributes.PBRTextureAttribute;
+import io.github.some_example_name.NativeLedger;
+import io.github.some_example_name.enums.NormalMode;
+
+import java.nio.ByteBuffer;
 
 /**
  * inspiration von JamesTKhan
- *
+ * <p>
+ * Mit meshStep > 1 wird nicht mehr ein Vertex pro Höhenwert gezeichnet: Das Mesh hat nur noch jeden meshStep-ten
+ * Vertex pro Richtung (meshStep² mal weniger Vertices), die Beleuchtung kommt aus einer gebackenen Normal-Map in voller
+ * Auflösung ({@link NormalMapBaker}). Physik und Höhenabfragen benutzen weiter das volle {@link #getHeightField()}.
  */
 public class HeightMapTerrain extends Terrain {
 
     private final HeightField field;
+    /** Das gezeichnete Feld: field selbst oder bei meshStep > 1 ein gröberes Feld auf denselben Höhen. */
+    private final HeightField renderField;
+    private final ByteBuffer normalMap; // null ohne Normal-Map
+    private final boolean fromCache;
+    private Texture normalTexture;
+    private boolean materialAcquired; // createModel() hat eine Referenz auf das Sand-Material geholt
+
     //macht map
-    public HeightMapTerrain(Pixmap data, float magnitude) {
+    public HeightMapTerrain(TerrainData data, float magnitude) {
+        this(data, magnitude, null);
+    }
+
+    /**
+     * Wie oben, übernimmt aber die fertigen Vertices aus dem Cache, wenn sie zu diesem HeightField passen.
+     */
+    public HeightMapTerrain(TerrainData data, float magnitude, TerrainCache.Entry cached) {
+        this(data, magnitude, cached, 1);
+    }
+
+    /**
+     * @param meshStep Höhenwerte pro Mesh-Zelle; 1 = ein Vertex pro Höhenwert mit Vertex-Normalen, sonst gröberes Mesh
+     *                 mit Normal-Map. Normal-Map und Vertices kommen aus dem Cache, wenn sie passen.
+     */
+    public HeightMapTerrain(TerrainData data, float magnitude, TerrainCache.Entry cached, int meshStep) {
+        this(data, magnitude, cached, meshStep, NormalMode.WEIGHTED);
+    }
+
+    /**
+     * @param normalMode Vertex-Normalen bzw. Normal-Map; {@link NormalMode#CENTRAL_DIFFERENCE} ist schneller, schattiert
+     *                   aber etwas anders als das bisherige {@link NormalMode#WEIGHTED}
+     */
+    public HeightMapTerrain(TerrainData data, float magnitude, TerrainCache.Entry cached, int meshStep, NormalMode normalMode) {
         this.size = 800;
-        this.width = data.getWidth();
+        this.width = data.width;
         this.heightMagnitude = magnitude;
-        //plaziert map
-        field = new HeightField(true, data, true, VertexAttributes.Usage.Position | VertexAttributes.Usage.Normal | VertexAttributes.Usage.TextureCoordinates);
-        data.dispose();
-        field.corner00.set(0, 0, 0);
-        field.corner10.set(size, 0, 0);
-        field.corner01.set(0, 0, size);
-        field.corner11.set(size, 0, size);
-        field.magnitude.set(0f, magnitude, 0f);
-        field.update();
+        final boolean coarse = meshStep > 1 && data.width > 2 && data.height > 2;
+        //plaziert map (die Höhen werden geteilt, nicht kopiert); Meshes erst in createModel()
+        field = coarse ? new HeightField(data) : new HeightField(true, data, true,
+                MeshBuilder.createAttributes(VertexAttributes.Usage.Position | VertexAttributes.Usage.Normal | VertexAttributes.Usage.TextureCoordinates), false);
+        field.setNormalMode(normalMode);
+        place(field, magnitude);
+
+        if (coarse) {
+            if (cached != null && cached.hasNormalMapFor(field)) {
+                normalMap = cached.normalMap;
+            } else {
+                normalMap = NormalMapBaker.bake(field);
+            }
+            renderField = new HeightField(true, resample(field, meshStep), true,
+                    MeshBuilder.createAttributes(VertexAttributes.Usage.Position | VertexAttributes.Usage.Normal | VertexAttributes.Usage.TextureCoordinates), false);
+            // Normalen alle nach oben, die Normal-Map bringt die Details (siehe NormalMapBaker)
+            renderField.setNormalMode(NormalMode.UP);
+            place(renderField, magnitude);
+        } else {
+            normalMap = null;
+            renderField = field;
+        }
+        // Vertices erst nach dem Platzieren bauen, große Maps verteilt auf alle Kerne
+        renderField.setParallel(true);
+        fromCache = cached != null && cached.hasVerticesFor(renderField);
+        if (fromCache) {
+            renderField.setVertices(cached.vertices);
+        } else {
+            renderField.buildVertices();
+        }
+    }
+
+    private void place(HeightField target, float magnitude) {
+        target.corner00.set(0, 0, 0);
+        target.corner10.set(size, 0, 0);
+        target.corner01.set(0, 0, size);
+        target.corner11.set(size, 0, size);
+        target.magnitude.set(0f, magnitude, 0f);
+    }
+
+    /**
+     * Gröberes Raster über dieselbe Fläche: etwa jeder step-te Höhenwert pro Richtung, gleichmäßig verteilt und genau
+     * auf der Oberfläche des vollen Feldes.
+     */
+    private static TerrainData resample(HeightField source, int step) {
+        final int w = (source.width - 2) / step + 2;
+        final int h = (source.height - 2) / step + 2;
+        TerrainData data = new TerrainData(w, h);
+        final float sizeX = source.corner10.x - source.corner00.x;
+        final float sizeZ = source.corner01.z - source.corner00.z;
+        for (int y = 0; y < h; y++) {
+            final float worldZ = source.corner00.z + sizeZ * y / (h - 1);
+            for (int x = 0; x < w; x++) {
+                final float worldX = source.corner00.x + sizeX * x / (w - 1);
+                data.set(y * w + x, (source.getHeightAt(worldX, worldZ) - source.corner00.y) / source.magnitude.y);
+            }
+        }
+        data.updateBounds();
+        return data;
+    }
+
+    /** true, wenn die Vertices aus dem Cache kamen und nicht berechnet wurden. */
+    public boolean isFromCache() {
+        return fromCache;
+    }
+
+    /** Das gezeichnete (bei meshStep > 1 gröbere) Feld; seine Vertices gehören in den Cache. */
+    public HeightField getRenderField() {
+        return renderField;
+    }
+
+    /** Die gebackenen Texel der Normal-Map (RGB888, volle Auflösung) oder null bei meshStep 1. */
+    public ByteBuffer getNormalMap() {
+        return normalMap;
+    }
+
+    @Override
+    public void createModel() {
+        renderField.createMeshes();
         //gibt map textur
-        Texture texture = new Texture(Gdx.files.internal("textures/sand-dunes1_albedo.png"), true);
-        texture.setFilter(Texture.TextureFilter.MipMapLinearLinear, Texture.TextureFilter.MipMapLinearLinear);
-        texture.setWrap(Texture.TextureWrap.Repeat, Texture.TextureWrap.Repeat);
-        //größe von Textur
-        PBRTextureAttribute textureAttribute = PBRTextureAttribute.createBaseColorTexture(texture);
-        textureAttribute.scaleU = 40f;
-        textureAttribute.scaleV = 40f;
-        //macht Material
-        Material material = new Material();
-        material.set(textureAttribute);
+        Material material = createTerrainMaterial();
+        materialAcquired = true;
+        if (normalMap != null) {
+            normalTexture = NativeLedger.track(NormalMapBaker.createTexture(normalMap, field.width, field.height), "HeightMapTerrain");
+            material.set(NormalMapBaker.createAttribute(normalTexture, field.width, field.height));
+        }
         //macht alles zu nem rendderbaren objekt
         ModelBuilder mb = new ModelBuilder();
         mb.begin();
-        mb.part("terrain", field.mesh, GL20.GL_TRIANGLES, material);
+        // große Maps bestehen aus mehreren Meshes (max. 65536 Vertices pro Mesh)
+        for (int i = 0; i < renderField.meshes.length; i++) {
+            mb.part("terrain" + i, renderField.meshes[i], GL20.GL_TRIANGLES, material);
+        }
         modelInstance = new ModelInstance(mb.end());
+        Gdx.app.log("HeightMapTerrain", "Terrain " + field.width + "x" + field.height + ": " + renderField.meshes.length + " mesh(es) of "
+                + renderField.width + "x" + renderField.height + " vertices, "
+                + "vertices " + toMegabytes(renderField.getVertexBytes()) + " MB, indices " + toMegabytes(renderField.getIndexBytes()) + " MB"
+                + (normalTexture != null ? ", normal map " + field.width + "x" + field.height : ""));
+    }
+
+    @Override
+    public HeightField getHeightField() {
+        return field;
+    }
+
+    private static String toMegabytes(long bytes) {
+        return String.format("%.2f", bytes / (1024f * 1024f));
     }
 
     @Override
     public void dispose() {
         //macht ram frei
+        if (renderField != field) renderField.dispose();
         field.dispose();
+        if (normalTexture != null) {
+            NativeLedger.untrack(normalTexture);
+            normalTexture.dispose();
+        }
+        if (materialAcquired) {
+            // auch wenn createModel() nach dem Material abgebrochen ist, bevor modelInstance stand
+            releaseTerrainMaterial();
+            materialAcquired = false;
+        }
     }
-}
\ No newline at end of file
+}
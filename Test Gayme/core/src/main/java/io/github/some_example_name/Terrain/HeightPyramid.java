@@ -0,0 +1,215 @@
+package io.github.some_example_name.Terrain;
+
+/** A min/max mip pyramid over the cells of a {@link TerrainData} grid, used to skip empty space when intersecting rays with a
+ * {@link HeightField}.
+ * <p />
+ * Level 0 has one entry per grid cell (the min and max of its four corner heights), every further level combines 2x2 entries of
+ * the level below, up to a single entry holding the overall min and max. A ray is traced front to back through the quadtree: a
+ * node is only entered when the ray passes through its box (the node's area times its height range), so large empty regions are
+ * skipped with a handful of box tests and only the cells near the hit are tested exactly.
+ * <p />
+ * All values are in grid space: x and y are grid coordinates and heights are the raw (normalized) values of the data. Use
+ * {@link HeightField#intersect(com.badlogic.gdx.math.collision.Ray, float, com.badlogic.gdx.math.Vector3)} for world space
+ * rays. Not thread safe, the traversal uses a shared stack.
+ * @see HeightField#getPyramid() */
+public class HeightPyramid {
+    public final TerrainData data;
+    /** The number of cells on each level. */
+    private final int[] levelWidth;
+    private final int[] levelHeight;
+    private final float[][] min;
+    private final float[][] max;
+
+    private final int[] stackLevel;
+    private final int[] stackX;
+    private final int[] stackY;
+
+    public HeightPyramid (TerrainData data) {
+        this.data = data;
+        int levels = 1;
+        for (int w = Math.max(data.width - 1, 1), h = Math.max(data.height - 1, 1); w > 1 || h > 1; w = (w + 1) / 2, h = (h + 1) / 2)
+            levels++;
+        levelWidth = new int[levels];
+        levelHeight = new int[levels];
+        min = new float[levels][];
+        max = new float[levels][];
+        for (int l = 0, w = Math.max(data.width - 1, 0), h = Math.max(data.height - 1, 0); l < levels; l++, w = (w + 1) / 2, h = (h + 1) / 2) {
+            levelWidth[l] = w;
+            levelHeight[l] = h;
+            min[l] = new float[w * h];
+            max[l] = new float[w * h];
+        }
+        // front to back descent pushes at most four children per level
+        stackLevel = new int[4 * levels + 1];
+        stackX = new int[stackLevel.length];
+        stackY = new int[stackLevel.length];
+        update();
+    }
+
+    public int getLevelCount () {
+        return levelWidth.length;
+    }
+
+    /** @return the lowest height of the whole grid, without scanning it. */
+    public float getMin () {
+        return min[min.length - 1].length > 0 ? min[min.length - 1][0] : 0f;
+    }
+
+    /** @return the highest height of the whole grid, without scanning it. */
+    public float getMax () {
+        return max[max.length - 1].length > 0 ? max[max.length - 1][0] : 0f;
+    }
+
+    /** Rebuilds all levels from the data. */
+    public void update () {
+        update(0, 0, data.width - 1, data.height - 1);
+    }
+
+    /** Updates the entries affected by a change of the data within the given (inclusive) grid coordinates, in O(area + log n). */
+    public void update (int x0, int y0, int x1, int y1) {
+        if (levelWidth[0] == 0 || levelHeight[0] == 0) return;
+        // every cell touching one of the changed heights
+        int cx0 = Math.max(x0 - 1, 0);
+        int cy0 = Math.max(y0 - 1, 0);
+        int cx1 = Math.min(x1, levelWidth[0] - 1);
+        int cy1 = Math.min(y1, levelHeight[0] - 1);
+        if (cx0 > cx1 || cy0 > cy1) return;
+
+        final int w = data.width;
+        final float[] min0 = min[0], max0 = max[0];
+        for (int y = cy0; y <= cy1; y++) {
+            for (int x = cx0; x <= cx1; x++) {
+                final int i = y * w + x;
+                final float h00 = data.get(i), h10 = data.get(i + 1), h01 = data.get(i + w), h11 = data.get(i + w + 1);
+                min0[y * levelWidth[0] + x] = Math.min(Math.min(h00, h10), Math.min(h01, h11));
+                max0[y * levelWidth[0] + x] = Math.max(Math.max(h00, h10), Math.max(h01, h11));
+            }
+        }
+        for (int l = 1; l < levelWidth.length; l++) {
+            cx0 >>= 1;
+            cy0 >>= 1;
+            cx1 >>= 1;
+            cy1 >>= 1;
+            final int cw = levelWidth[l - 1], ch = levelHeight[l - 1];
+            final float[] cmin = min[l - 1], cmax = max[l - 1], pmin = min[l], pmax = max[l];
+            for (int y = cy0; y <= cy1; y++) {
+                for (int x = cx0; x <= cx1; x++) {
+                    float lo = Float.POSITIVE_INFINITY, hi = Float.NEGATIVE_INFINITY;
+                    for (int yy = y * 2, ye = Math.min(yy + 2, ch); yy < ye; yy++) {
+                        for (int xx = x * 2, xe = Math.min(xx + 2, cw); xx < xe; xx++) {
+                            lo = Math.min(lo, cmin[yy * cw + xx]);
+                            hi = Math.max(hi, cmax[yy * cw + xx]);
+                        }
+                    }
+                    pmin[y * levelWidth[l] + x] = lo;
+                    pmax[y * levelWidth[l] + x] = hi;
+                }
+            }
+        }
+    }
+
+    /** Intersects a ray given in grid space with the surface, see the class description. The surface of each cell consists of the
+     * same two triangles as the mesh and the Bullet shape (split along the 00-11 diagonal).
+     * @param ox the origin, x in grid columns
+     * @param oh the origin, in (normalized) height units
+     * @param oy the origin, y in grid rows
+     * @param maxT the ray is only tested for 0 <= t <= maxT
+     * @return the ray parameter t of the first hit, or a negative value if the ray misses the surface */
+    public float intersect (float ox, float oh, float oy, float dx, float dh, float dy, float maxT) {
+        if (levelWidth[0] == 0 || levelHeight[0] == 0) return -1f;
+        final float invX = 1f / dx, invH = 1f / dh, invY = 1f / dy;
+        // children nearest to the ray origin are visited first, so the first hit found is the closest one
+        final int nearX = dx >= 0 ? 0 : 1;
+        final int nearY = dy >= 0 ? 0 : 1;
+
+        int sp = 0;
+        stackLevel[sp] = levelWidth.length - 1;
+        stackX[sp] = 0;
+        stackY[sp] = 0;
+        sp++;
+        while (sp > 0) {
+            sp--;
+            final int l = stackLevel[sp], x = stackX[sp], y = stackY[sp];
+            final int i = y * levelWidth[l] + x;
+            // the box of the node in grid space
+            final float bx0 = x << l, by0 = y << l;
+            final float bx1 = Math.min((x + 1) << l, levelWidth[0]), by1 = Math.min((y + 1) << l, levelHeight[0]);
+            float t0 = 0f, t1 = maxT, a, b;
+            a = (bx0 - ox) * invX;
+            b = (bx1 - ox) * invX;
+            if (Float.isNaN(a) || Float.isNaN(b)) { // ray parallel and on the slab border
+                a = Float.NEGATIVE_INFINITY;
+                b = Float.POSITIVE_INFINITY;
+            }
+            t0 = Math.max(t0, Math.min(a, b));
+            t1 = Math.min(t1, Math.max(a, b));
+            a = (by0 - oy) * invY;
+            b = (by1 - oy) * invY;
+            if (Float.isNaN(a) || Float.isNaN(b)) {
+                a = Float.NEGATIVE_INFINITY;
+                b = Float.POSITIVE_INFINITY;
+            }
+            t0 = Math.max(t0, Math.min(a, b));
+            t1 = Math.min(t1, Math.max(a, b));
+            a = (min[l][i] - oh) * invH;
+            b = (max[l][i] - oh) * invH;
+            if (Float.isNaN(a) || Float.isNaN(b)) {
+                a = Float.NEGATIVE_INFINITY;
+                b = Float.POSITIVE_INFINITY;
+            }
+            t0 = Math.max(t0, Math.min(a, b));
+            t1 = Math.min(t1, Math.max(a, b));
+            if (t0 > t1) continue;
+
+            if (l == 0) {
+                final float t = intersectCell(x, y, ox, oh, oy, dx, dh, dy, t0, t1);
+                if (t >= 0f) return t;
+                continue;
+            }
+            // push the children far to near, so the nearest is popped first
+            final int cl = l - 1;
+            for (int k = 3; k >= 0; k--) {
+                final int cx = x * 2 + ((k & 1) ^ nearX);
+                final int cy = y * 2 + ((k >> 1) ^ nearY);
+                if (cx >= levelWidth[cl] || cy >= levelHeight[cl]) continue;
+                stackLevel[sp] = cl;
+                stackX[sp] = cx;
+                stackY[sp] = cy;
+                sp++;
+            }
+        }
+        return -1f;
+    }
+
+    /** Exact test against the two triangles of a cell, only accepting hits within [t0, t1] (the part of the ray inside the cell). */
+    private float intersectCell (int x, int y, float ox, float oh, float oy, float dx, float dh, float dy, float t0, float t1) {
+        final int w = data.width;
+        final int i = y * w + x;
+        final float h00 = data.get(i), h10 = data.get(i + 1), h01 = data.get(i + w), h11 = data.get(i + w + 1);
+        final float lx = ox - x, ly = oy - y;
+        final float eps = 1e-5f * Math.max(1f, t1);
+        float best = -1f;
+        // triangle 00-10-11 (fx >= fy): h = h00 + fx * (h10 - h00) + fy * (h11 - h10)
+        float sx = h10 - h00, sy = h11 - h10;
+        float denom = dh - dx * sx - dy * sy;
+        if (denom != 0f) {
+            final float t = (h00 + lx * sx + ly * sy - oh) / denom;
+            if (t >= t0 - eps && t <= t1 + eps) {
+                final float fx = lx + dx * t, fy = ly + dy * t;
+                if (fx >= fy - 1e-5f) best = t;
+            }
+        }
+        // triangle 00-01-11 (fx <= fy): h = h00 + fy * (h01 - h00) + fx * (h11 - h01)
+        sx = h11 - h01;
+        sy = h01 - h00;
+        denom = dh - dx * sx - dy * sy;
+        if (denom != 0f) {
+            final float t = (h00 + lx * sx + ly * sy - oh) / denom;
+            if (t >= t0 - eps && t <= t1 + eps && (best < 0f || t < best)) {
+                final float fx = lx + dx * t, fy = ly + dy * t;
+                if (fx <= fy + 1e-5f) best = t;
+            }
+        }
+        return best < 0f ? -1f : Math.max(best, 0f);
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.some_example_name.Terrain;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.sudoplay.joise.module.Module;
+import com.sudoplay.joise.module.ModuleBasisFunction;
+import com.sudoplay.joise.module.ModuleFractal;
+import com.sudoplay.joise.module.ModuleScaleOffset;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Erzeugt Kacheln aus einem Joise-Noise-Graphen statt sie von der Platte zu lesen: eine unbegrenzte Welt ohne Heightmap.
+ * <p>
+ * Jede Höhe wird an ihrer globalen Zellkoordinate (tx * tileSize + x, ty * tileSize + y) abgetastet. Die Ergebnisse
+ * hängen damit nur vom Seed und der Kachelkoordinate ab, und Nachbarkacheln haben an der gemeinsamen Kante exakt dieselben
+ * Höhen. Joise-Module cachen intern und sind nicht thread-sicher, deshalb baut jeder Worker-Thread seinen eigenen Graphen
+ * über die {@link GraphFactory}.
+ * <p>
+ * Erzeugte Kacheln kommen in einen LRU-Cache mit fester Größe, damit kurz verlassene Kacheln beim Zurückkehren nicht neu
+ * berechnet werden müssen; mehr als {@code cacheTiles} Kacheln werden nie gehalten.
+ */
+public class NoiseTileSource implements TileSource {
+
+    /** Baut einen Noise-Graphen; Ausgabe soll ungefähr 0..1 sein (wird begrenzt). Wird pro Worker-Thread einmal aufgerufen. */
+    public interface GraphFactory {
+        Module create(long seed);
+    }
+
+    /** fBm aus Gradient-Noise, auf 0..1 verschoben. */
+    public static final GraphFactory DEFAULT_GRAPH = new GraphFactory() {
+        @Override
+        public Module create(long seed) {
+            ModuleFractal fractal = new ModuleFractal(ModuleFractal.FractalType.FBM,
+                    ModuleBasisFunction.BasisType.GRADIENT, ModuleBasisFunction.InterpolationType.QUINTIC);
+            fractal.setNumOctaves(6);
+            fractal.setFrequency(1.0);
+            fractal.setSeed(seed);
+
+            ModuleScaleOffset scaled = new ModuleScaleOffset();
+            scaled.setSource(fractal);
+            scaled.setScale(0.5);
+            scaled.setOffset(0.5);
+            return scaled;
+        }
+    };
+
+    private final long seed;
+    private final int tileSize;
+    private final double frequency; // Noise-Einheiten pro Zelle
+    private final ThreadLocal<Module> graphs;
+    private final Map<Long, TerrainData> cache;
+
+    /**
+     * @param cellsPerFeature Zellen pro Noise-Einheit, bestimmt die Größe von Hügeln und Tälern
+     * @param cacheTiles      höchstens so viele erzeugte Kacheln bleiben im Speicher (0 = kein Cache)
+     */
+    public NoiseTileSource(long seed, int tileSize, float cellsPerFeature, int cacheTiles, final GraphFactory factory) {
+        if (tileSize < 1) throw new GdxRuntimeException("tileSize must be at least 1");
+        this.seed = seed;
+        this.tileSize = tileSize;
+        this.frequency = 1.0 / cellsPerFeature;
+        this.graphs = new ThreadLocal<Module>() {
+            @Override
+            protected Module initialValue() {
+                return factory.create(NoiseTileSource.this.seed);
+            }
+        };
+        final int maxEntries = Math.max(0, cacheTiles);
+        this.cache = new LinkedHashMap<Long, TerrainData>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, TerrainData> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public NoiseTileSource(long seed, int tileSize, float cellsPerFeature, int cacheTiles) {
+        this(seed, tileSize, cellsPerFeature, cacheTiles, DEFAULT_GRAPH);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    @Override
+    public boolean contains(int tx, int ty) {
+        return true;
+    }
+
+    @Override
+    public int getCenterTileX() {
+        return 0;
+    }
+
+    @Override
+    public int getCenterTileY() {
+        return 0;
+    }
+
+    /** Anzahl der Kacheln im LRU-Cache. */
+    public int getCachedTileCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Liefert die Kachel aus dem Cache oder erzeugt sie auf dem aufrufenden Thread. Die Daten werden nie verändert,
+     * deshalb dürfen mehrere {@link TerrainTile}s dieselbe Instanz benutzen.
+     */
+    @Override
+    public TerrainData readTile(int tx, int ty) {
+        final Long key = ((long)ty << 32) | (tx & 0xFFFFFFFFL);
+        synchronized (cache) {
+            TerrainData cached = cache.get(key);
+            if (cached != null) return cached;
+        }
+        TerrainData data = generate(tx, ty);
+        synchronized (cache) {
+            cache.put(key, data);
+        }
+        return data;
+    }
+
+    private TerrainData generate(int tx, int ty) {
+        final Module graph = graphs.get();
+        final int samples = tileSize + 1;
+        final long x0 = (long)tx * tileSize;
+        final long y0 = (long)ty * tileSize;
+        TerrainData data = TerrainData.quantized(samples, samples, 0f, 1f);
+        for (int y = 0; y < samples; y++) {
+            final double ny = (y0 + y) * frequency;
+            for (int x = 0; x < samples; x++) {
+                final double nx = (x0 + x) * frequency;
+                data.set(y * samples + x, MathUtils.clamp((float)graph.get(nx, ny), 0f, 1f));
+            }
+        }
+        data.updateBounds();
+        return data;
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+}
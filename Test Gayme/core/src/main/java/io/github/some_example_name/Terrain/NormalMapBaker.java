@@ -0,0 +1,135 @@
+package io.github.some_example_name.Terrain;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import net.mgsx.gltf.scene3d.attributes.PBRTextureAttribute;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Backt die Normalen eines {@link HeightField}s in eine Textur (ein Texel pro Höhenwert), damit das Mesh deutlich gröber
+ * sein kann als die Heightmap, ohne dass die Beleuchtung gröber wird.
+ * <p>
+ * Die Normalen stammen aus den Nachbarhöhen ({@link HeightField#getCentralDifferenceNormalAt}), also genau die, die
+ * das volle Mesh als Vertex-Normalen hätte. Kodiert werden sie im Tangentenraum einer flachen Ebene: Der PBR-Shader baut
+ * ohne Tangenten-Attribut seine Basis aus der Vertex-Normale und der Richtung, in der U wächst. Hat das grobe Mesh überall
+ * die Normale nach oben ({@link io.github.some_example_name.enums.NormalMode#UP}) und läuft U entlang +X, ist die Basis
+ * (T, B, N) = (+X, -Z, +Y) – unabhängig von der Neigung der groben Dreiecke. Eine Welt-Normale (x, y, z) wird deshalb als
+ * (x, -z, y) gespeichert.
+ * <p>
+ * Das Backen ist reine CPU-Arbeit und läuft in Zeilenblöcken auf dem Fork-Join-Pool; die Textur entsteht erst mit
+ * {@link #createTexture(ByteBuffer, int, int)} auf dem GL-Thread.
+ */
+public final class NormalMapBaker {
+
+    /** Bytes pro Texel (RGB888). */
+    public static final int BYTES_PER_TEXEL = 3;
+    /** Unter so vielen Zeilen pro Auftrag wird nicht weiter geteilt. */
+    private static final int MIN_ROWS_PER_TASK = 32;
+
+    private NormalMapBaker() {
+    }
+
+    /**
+     * Backt die Normalen aller Höhenwerte, Zeile für Zeile (Index = (y * width + x) * 3).
+     * Braucht ein achsenparalleles Feld auf XZ ({@link HeightField#isAxisAlignedXZ()}).
+     */
+    public static ByteBuffer bake(HeightField field) {
+        if (!field.isAxisAlignedXZ()) throw new GdxRuntimeException("Normal maps need a field on the XZ plane, see isAxisAlignedXZ()");
+        ByteBuffer texels = BufferUtils.newByteBuffer(field.width * field.height * BYTES_PER_TEXEL);
+        ForkJoinPool.commonPool().invoke(new BakeTask(field, texels, 0, field.height - 1));
+        return texels;
+    }
+
+    /** Zeilen y0 bis y1 (inklusive); jede Zeile wird nur von einem Auftrag geschrieben. */
+    private static final class BakeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final HeightField field;
+        private final ByteBuffer texels;
+        private final int y0, y1;
+
+        BakeTask(HeightField field, ByteBuffer texels, int y0, int y1) {
+            this.field = field;
+            this.texels = texels;
+            this.y0 = y0;
+            this.y1 = y1;
+        }
+
+        @Override
+        protected void compute() {
+            if (y1 - y0 + 1 < 2 * MIN_ROWS_PER_TASK) {
+                bakeRows(field, texels, y0, y1);
+                return;
+            }
+            final int mid = (y0 + y1) >>> 1;
+            invokeAll(new BakeTask(field, texels, y0, mid), new BakeTask(field, texels, mid + 1, y1));
+        }
+    }
+
+    /** Wie {@link HeightField#getCentralDifferenceNormalAt}, aber zeilenweise über die {@link HeightKernels}. */
+    private static void bakeRows(HeightField field, ByteBuffer texels, int y0, int y1) {
+        final int w = field.width;
+        final float stepX = (field.corner10.x - field.corner00.x) / (w - 1);
+        final float stepZ = (field.corner01.z - field.corner00.z) / (field.height - 1);
+        final float[] below = new float[w], row = new float[w], above = new float[w];
+        final float[] nx = new float[w], ny = new float[w], nz = new float[w];
+        final HeightKernels kernels = HeightKernels.get();
+        for (int y = y0; y <= y1; y++) {
+            final int yb = y > 0 ? y - 1 : y;
+            final int yt = y < field.height - 1 ? y + 1 : y;
+            field.data.get(yb * w, below, 0, w);
+            field.data.get(y * w, row, 0, w);
+            field.data.get(yt * w, above, 0, w);
+            kernels.centralDifferenceNormals(below, row, above, w, 0, w, yt - yb, field.magnitude.y, stepX, stepZ, nx, ny, nz);
+            int i = y * w * BYTES_PER_TEXEL;
+            for (int x = 0; x < w; x++) {
+                texels.put(i++, encode(nx[x]));
+                texels.put(i++, encode(-nz[x]));
+                texels.put(i++, encode(ny[x]));
+            }
+        }
+    }
+
+    /** -1..1 -> 0..255, gerundet. */
+    private static byte encode(float value) {
+        return (byte)Math.round((value * 0.5f + 0.5f) * 255f);
+    }
+
+    /**
+     * Lädt gebackene Texel als Textur hoch (mit Mipmaps, damit das Terrain in der Ferne nicht flimmert).
+     * Nur auf dem GL-Thread aufrufen.
+     */
+    public static Texture createTexture(ByteBuffer texels, int width, int height) {
+        Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGB888);
+        try {
+            ByteBuffer pixels = pixmap.getPixels();
+            pixels.clear();
+            pixels.put(texels.duplicate());
+            pixels.clear();
+            Texture texture = new Texture(pixmap, true);
+            texture.setFilter(Texture.TextureFilter.MipMapLinearLinear, Texture.TextureFilter.Linear);
+            texture.setWrap(Texture.TextureWrap.ClampToEdge, Texture.TextureWrap.ClampToEdge);
+            return texture;
+        } finally {
+            pixmap.dispose();
+        }
+    }
+
+    /**
+     * Normal-Map-Attribut für ein Terrain, dessen UVs von 0 bis 1 über das ganze Feld laufen: Skaliert so, dass jeder
+     * Vertex des vollen Rasters genau auf die Mitte seines Texels fällt.
+     */
+    public static PBRTextureAttribute createAttribute(Texture texture, int width, int height) {
+        PBRTextureAttribute attribute = PBRTextureAttribute.createNormalTexture(texture);
+        attribute.scaleU = (width - 1f) / width;
+        attribute.scaleV = (height - 1f) / height;
+        attribute.offsetU = 0.5f / width;
+        attribute.offsetV = 0.5f / height;
+        return attribute;
+    }
+}
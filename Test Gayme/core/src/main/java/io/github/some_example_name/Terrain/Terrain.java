@@ -1,11 +1,21 @@
 package io.github.some_example_name.Terrain;
 
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g3d.Material;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
 import com.badlogic.gdx.utils.Disposable;
+import io.github.some_example_name.NativeLedger;
+import net.mgsx.gltf.scene3d.attributes.PBRTextureAttribute;
 
 /**
  *inspiration von JamesTKhan
+ * <p>
+ * Der Aufbau ist zweigeteilt: Die Konstruktoren der Unterklassen machen nur CPU-Arbeit (Höhen, Vertices, Normalen)
+ * und dürfen auf einem Worker-Thread laufen. {@link #createModel()} lädt danach auf dem GL-Thread hoch und baut die
+ * {@link ModelInstance}; vorher gibt {@link #getModelInstance()} null zurück.
  */
 public abstract class Terrain implements Disposable {
     /** A value we can set to change the actual size of the terrain **/
@@ -17,7 +27,58 @@ public abstract class Terrain implements Disposable {
 
     protected ModelInstance modelInstance;
 
+    // Die Sand-Textur teilen sich alle Terrains, sie wird nur einmal geladen (nicht bei jedem F1 neu)
+    private static Texture sandTexture;
+    private static int sandTextureReferences;
+
     public ModelInstance getModelInstance() {
         return modelInstance;
     }
+
+    /**
+     * GL-Teil des Aufbaus: Meshes und Textur anlegen, Vertices hochladen, ModelInstance bauen.
+     * Nur auf dem GL-Thread und genau einmal aufrufen.
+     */
+    public abstract void createModel();
+
+    /** Das HeightField mit den Höhendaten und der Platzierung in der Welt (wird auch für die Physik verwendet). */
+    public abstract HeightField getHeightField();
+
+    /**
+     * Wird einmal pro Frame mit der aktuellen Kamera aufgerufen.
+     * Terrains mit LOD oder Culling wählen hier aus, was gezeichnet wird; Standard: nichts tun.
+     */
+    public void update(Camera camera) {
+    }
+
+    /**
+     * Sand-Material, das alle Terrain-Varianten gemeinsam verwenden. Die Textur wird geteilt, jeder Aufruf braucht
+     * deshalb ein {@link #releaseTerrainMaterial()}. Nur auf dem GL-Thread aufrufen.
+     */
+    protected static Material createTerrainMaterial() {
+        //gibt map textur
+        if (sandTexture == null) {
+            sandTexture = new Texture(Gdx.files.internal("textures/sand-dunes1_albedo.png"), true);
+            sandTexture.setFilter(Texture.TextureFilter.MipMapLinearLinear, Texture.TextureFilter.MipMapLinearLinear);
+            sandTexture.setWrap(Texture.TextureWrap.Repeat, Texture.TextureWrap.Repeat);
+            NativeLedger.track(sandTexture, "Terrain");
+        }
+        sandTextureReferences++;
+        //größe von Textur
+        PBRTextureAttribute textureAttribute = PBRTextureAttribute.createBaseColorTexture(sandTexture);
+        textureAttribute.scaleU = 40f;
+        textureAttribute.scaleV = 40f;
+        //macht Material
+        Material material = new Material();
+        material.set(textureAttribute);
+        return material;
+    }
+
+    /** Gegenstück zu {@link #createTerrainMaterial()}; mit dem letzten Material wird die Textur freigegeben. */
+    protected static void releaseTerrainMaterial() {
+        if (sandTextureReferences == 0 || --sandTextureReferences > 0) return;
+        NativeLedger.untrack(sandTexture);
+        sandTexture.dispose();
+        sandTexture = null;
+    }
 }
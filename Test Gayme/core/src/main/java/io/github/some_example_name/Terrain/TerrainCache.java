@@ -0,0 +1,281 @@
+package io.github.some_example_name.Terrain;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Gebackene Terrains auf der Platte, damit der Start nicht jedes Mal dekodiert und Vertices/Normalen neu berechnet.
+ * <p>
+ * Eine Datei pro Heightmap, benannt nach dem Hash ihres Inhalts und einer laufenden Nummer. Sie enthält die Höhen (Floats oder quantisiert als
+ * 16-Bit mit Scale/Offset, wie in der {@link TerrainData}), Min/Max, optional eine gebackene Normal-Map
+ * ({@link NormalMapBaker}) und optional die fertigen, interleavten Vertices eines {@link HeightField}s, jeweils zusammen mit
+ * dem {@link HeightField#getBuildKey()} des Feldes, aus dem sie entstanden sind.
+ * Beim Laden wird die Datei memory-mapped (copy-on-write): Die Höhen gehen ohne Kopie an {@link TerrainData} und
+ * damit auch an Bullet, Änderungen zur Laufzeit landen nicht in der Datei.
+ * <p>
+ * Eine gemappte Datei wird nie überschrieben: Unter Windows geht das nicht, solange die Abbildung besteht, und sie trägt
+ * womöglich noch die Höhen des laufenden Terrains. Ein neuer Stand kommt deshalb unter die nächste Nummer (temporäre Datei,
+ * dann Umbenennen auf einen freien Namen), ältere Stände werden gelöscht, sobald sie in dieser Sitzung nicht gemappt wurden.
+ * <p>
+ * Indices werden nicht gespeichert, sie ergeben sich aus Breite und Höhe und sind schneller erzeugt als gelesen.
+ */
+public class TerrainCache {
+
+    private static final int MAGIC = 0x54474331; // "TGC1"
+    /** Erhöhen, wenn sich das Dateiformat oder die Vertex-Erzeugung im HeightField ändert. */
+    private static final int VERSION = 3;
+    private static final int HEADER_BYTES = 72;
+    private static final int FORMAT_FLOAT = 0;
+    private static final int FORMAT_SHORT = 1;
+
+    private final FileHandle directory;
+    /** Namen der in dieser Sitzung gemappten Dateien; die werden weder überschrieben noch gelöscht. */
+    private final ObjectSet<String> mappedFiles = new ObjectSet<String>();
+
+    public TerrainCache(FileHandle directory) {
+        this.directory = directory;
+    }
+
+    /** Ein geladener Eintrag; die Buffer zeigen direkt in die gemappte Datei. */
+    public static class Entry {
+        public final TerrainData data;
+        /** Build-Key der Vertices, 0 wenn keine gespeichert sind. */
+        public final long buildKey;
+        /** Die gespeicherten Vertices oder null. */
+        public final FloatBuffer vertices;
+        /** Build-Key des Feldes, aus dem die Normal-Map gebacken wurde. */
+        public final long normalMapKey;
+        /** Die gespeicherte Normal-Map (RGB888) oder null. */
+        public final ByteBuffer normalMap;
+
+        Entry(TerrainData data, long buildKey, FloatBuffer vertices, long normalMapKey, ByteBuffer normalMap) {
+            this.data = data;
+            this.buildKey = buildKey;
+            this.vertices = vertices;
+            this.normalMapKey = normalMapKey;
+            this.normalMap = normalMap;
+        }
+
+        /** true, wenn die gespeicherte Normal-Map aus diesem HeightField gebacken wurde. */
+        public boolean hasNormalMapFor(HeightField field) {
+            return normalMap != null && normalMapKey == field.getBuildKey()
+                    && normalMap.remaining() == field.width * field.height * NormalMapBaker.BYTES_PER_TEXEL;
+        }
+
+        /** true, wenn die gespeicherten Vertices für dieses HeightField passen. */
+        public boolean hasVerticesFor(HeightField field) {
+            return vertices != null && buildKey == field.getBuildKey() && vertices.remaining() == field.getVertexFloatCount();
+        }
+    }
+
+    /** Hash über den Inhalt der Quelldatei (z.B. die PNG-Bytes), bestimmt den Dateinamen. */
+    public static long hash(byte[] source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(source);
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new GdxRuntimeException(e);
+        }
+    }
+
+    private static String prefix(long sourceHash) {
+        return "terrain-" + Long.toHexString(sourceHash) + "-";
+    }
+
+    private FileHandle file(long sourceHash, int generation) {
+        return directory.child(prefix(sourceHash) + generation + ".bin");
+    }
+
+    /** Laufende Nummer der Datei zu dieser Quelle, -1 für fremde Dateien (auch die .tmp-Dateien). */
+    private static int generation(FileHandle file, String prefix) {
+        final String name = file.name();
+        if (!name.startsWith(prefix) || !name.endsWith(".bin")) return -1;
+        try {
+            return Integer.parseInt(name.substring(prefix.length(), name.length() - 4));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Höchste vorhandene Nummer zur Quelle, -1 wenn es keine Datei gibt. */
+    private int newestGeneration(long sourceHash) {
+        final String prefix = prefix(sourceHash);
+        int newest = -1;
+        for (FileHandle file : directory.list()) {
+            newest = Math.max(newest, generation(file, prefix));
+        }
+        return newest;
+    }
+
+    /** Löscht die Stände vor generation, außer den in dieser Sitzung gemappten (die räumt ein späterer Start auf). */
+    private synchronized void deleteOlder(long sourceHash, int generation) {
+        final String prefix = prefix(sourceHash);
+        for (FileHandle file : directory.list()) {
+            final int older = generation(file, prefix);
+            if (older >= 0 && older < generation && !mappedFiles.contains(file.name())) file.delete();
+        }
+        directory.child("terrain-" + Long.toHexString(sourceHash) + ".bin").delete(); // Name vor den laufenden Nummern
+    }
+
+    /**
+     * Mappt den Eintrag zur Quelle. Gibt null zurück, wenn es keinen gibt oder er nicht passt
+     * (andere Version, Byte-Reihenfolge oder kaputte Datei).
+     */
+    public Entry load(long sourceHash) {
+        final int generation = newestGeneration(sourceHash);
+        if (generation < 0) return null;
+        deleteOlder(sourceHash, generation);
+        FileHandle file = file(sourceHash, generation);
+        try {
+            ByteBuffer buffer = file.map(FileChannel.MapMode.PRIVATE).order(ByteOrder.nativeOrder());
+            synchronized (this) {
+                mappedFiles.add(file.name());
+            }
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getInt(8) != (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? 1 : 2)
+                    || buffer.getLong(16) != sourceHash) {
+                Gdx.app.log("TerrainCache", "Ignoring outdated cache file " + file.name());
+                return null;
+            }
+            final long buildKey = buffer.getLong(24);
+            final int width = buffer.getInt(32);
+            final int height = buffer.getInt(36);
+            final float minHeight = buffer.getFloat(40);
+            final float maxHeight = buffer.getFloat(44);
+            final int format = buffer.getInt(12);
+            final int heightCount = width * height;
+            final int heightBytes = heightBytes(format, heightCount);
+            final int normalMapBytes = buffer.getInt(56);
+            final int vertexCount = (buffer.capacity() - HEADER_BYTES - heightBytes - padded(normalMapBytes)) / 4;
+            if (width < 1 || height < 1 || heightBytes < 0 || normalMapBytes < 0 || vertexCount < 0) {
+                Gdx.app.log("TerrainCache", "Ignoring broken cache file " + file.name());
+                return null;
+            }
+
+            TerrainData data;
+            if (format == FORMAT_SHORT) {
+                data = new TerrainData(width, height, slice(buffer, HEADER_BYTES, heightBytes).asShortBuffer(),
+                        buffer.getFloat(48), buffer.getFloat(52), minHeight, maxHeight);
+            } else {
+                data = new TerrainData(width, height, slice(buffer, HEADER_BYTES, heightBytes).asFloatBuffer(), minHeight, maxHeight);
+            }
+            ByteBuffer normalMap = normalMapBytes > 0 ? slice(buffer, HEADER_BYTES + heightBytes, normalMapBytes) : null;
+            final int vertexOffset = HEADER_BYTES + heightBytes + padded(normalMapBytes);
+            FloatBuffer vertices = vertexCount > 0 ? slice(buffer, vertexOffset, vertexCount * 4).asFloatBuffer() : null;
+            Gdx.app.log("TerrainCache", "Mapped " + file.name() + " (" + width + "x" + height + (format == FORMAT_SHORT ? " 16-bit" : "")
+                    + ", " + vertexCount + " vertex floats" + (normalMap != null ? ", normal map" : "") + ")");
+            return new Entry(data, buildKey, vertices, buffer.getLong(64), normalMap);
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("TerrainCache", "Could not map " + file.path(), e);
+            return null;
+        }
+    }
+
+    /** Ein Ausschnitt der gemappten Datei; slice() setzt die Byte-Reihenfolge zurück, daher neu setzen. */
+    private static ByteBuffer slice(ByteBuffer buffer, int offset, int bytes) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(offset);
+        duplicate.limit(offset + bytes);
+        return duplicate.slice().order(ByteOrder.nativeOrder());
+    }
+
+    /** Bytes der Höhen in der Datei, bei Shorts auf 4 aufgerundet, damit die Vertices ausgerichtet bleiben; -1 bei unbekanntem Format. */
+    private static int heightBytes(int format, int heightCount) {
+        if (format == FORMAT_FLOAT) return heightCount * 4;
+        if (format == FORMAT_SHORT) return padded(heightCount * 2);
+        return -1;
+    }
+
+    /** Auf ein Vielfaches von 4 aufgerundet, damit die folgenden Floats ausgerichtet bleiben. */
+    private static int padded(int bytes) {
+        return (bytes + 3) & ~3;
+    }
+
+    /**
+     * Schreibt Höhen, Min/Max und (wenn field nicht null ist) die Vertices des HeightFields.
+     * Geschrieben wird in eine temporäre Datei, die dann auf die nächste freie Nummer umbenannt wird, also nie über eine
+     * vorhandene (womöglich gemappte) Datei; ein Fehler wird nur geloggt.
+     */
+    public void save(long sourceHash, TerrainData data, HeightField field) {
+        save(sourceHash, data, field, null, null);
+    }
+
+    /**
+     * Wie {@link #save(long, TerrainData, HeightField)}, zusätzlich mit der Normal-Map, die aus normalField gebacken wurde
+     * (beide null = keine Normal-Map).
+     */
+    public void save(long sourceHash, TerrainData data, HeightField field, HeightField normalField, ByteBuffer normalMap) {
+        final int heightCount = data.size();
+        final int format = data.isQuantized() ? FORMAT_SHORT : FORMAT_FLOAT;
+        final int heightBytes = heightBytes(format, heightCount);
+        final int normalMapBytes = normalMap != null ? normalMap.remaining() : 0;
+        final int vertexCount = field != null ? field.getVertexFloatCount() : 0;
+        final FileHandle file;
+        final FileHandle tmp;
+        synchronized (this) {
+            directory.mkdirs();
+            file = file(sourceHash, newestGeneration(sourceHash) + 1);
+            tmp = directory.child(file.name() + ".tmp");
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(HEADER_BYTES + heightBytes + padded(normalMapBytes) + vertexCount * 4).order(ByteOrder.nativeOrder());
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putInt(ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? 1 : 2);
+            buffer.putInt(format);
+            buffer.putLong(sourceHash);
+            buffer.putLong(field != null ? field.getBuildKey() : 0L);
+            buffer.putInt(data.width);
+            buffer.putInt(data.height);
+            buffer.putFloat(data.getMinHeight());
+            buffer.putFloat(data.getMaxHeight());
+            buffer.putFloat(data.getOffset());
+            buffer.putFloat(data.getScale());
+            buffer.putInt(normalMapBytes);
+            buffer.putInt(0);
+            buffer.putLong(normalMap != null ? normalField.getBuildKey() : 0L);
+
+            if (data.isQuantized()) {
+                ShortBuffer heights = data.getShortBuffer().duplicate();
+                heights.clear().limit(heightCount);
+                buffer.asShortBuffer().put(heights);
+            } else {
+                FloatBuffer heights = data.getBuffer().duplicate();
+                heights.clear().limit(heightCount);
+                buffer.asFloatBuffer().put(heights);
+            }
+            buffer.position(HEADER_BYTES + heightBytes);
+            if (normalMap != null) buffer.put(normalMap.duplicate());
+            buffer.position(HEADER_BYTES + heightBytes + padded(normalMapBytes));
+            if (field != null) field.getVertices(buffer.asFloatBuffer());
+            buffer.clear();
+
+            FileOutputStream out = new FileOutputStream(tmp.file());
+            try {
+                FileChannel channel = out.getChannel();
+                while (buffer.hasRemaining()) channel.write(buffer);
+            } finally {
+                out.close();
+            }
+            // das Ziel gibt es noch nicht, also ein einfaches Umbenennen (auch unter Windows)
+            if (!tmp.file().renameTo(file.file())) throw new IOException("Could not rename " + tmp.path() + " to " + file.name());
+            Gdx.app.log("TerrainCache", "Wrote " + file.path() + " (" + buffer.capacity() / 1024 + " KB)");
+            deleteOlder(sourceHash, generation(file, prefix(sourceHash)));
+        } catch (IOException | GdxRuntimeException e) {
+            Gdx.app.error("TerrainCache", "Could not write " + file.path(), e);
+            tmp.delete();
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package io.github.some_example_name.Terrain;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * Die Höhenwerte eines Terrains, genau einmal im Speicher.
+ * <p>
+ * Die Werte liegen in einem direkten {@link FloatBuffer} (Zeile für Zeile, Index = y * width + x).
+ * Das visuelle Terrain ({@link HeightField}) liest daraus seine Vertices, und {@code TerrainPhysics}
+ * gibt denselben Buffer ohne Kopie an {@code btHeightfieldTerrainShape} weiter.
+ * Änderungen über {@link #set(int, float)} sind deshalb sofort auch in der Physik sichtbar.
+ * <p>
+ * Quantisiert ({@link #quantized(int, int, float, float)}) liegen die Werte stattdessen als 16-Bit-Zahlen in einem
+ * direkten {@link ShortBuffer}: Wert = offset + scale * short. Das halbiert den Speicher in Java und in Bullet
+ * (PHY_SHORT); in Floats umgerechnet wird nur beim Lesen über {@link #get(int)}, also beim Bauen der Vertices.
+ */
+public class TerrainData {
+
+    public final int width;
+    public final int height;
+
+    private final FloatBuffer heights;       // null, wenn quantisiert
+    private final ShortBuffer quantized;     // null, wenn Floats
+    private final float scale;
+    private final float offset;
+    private float minHeight;
+    private float maxHeight;
+
+    /** Werte pro Block in {@link #updateBounds()}. */
+    private static final int BOUNDS_CHUNK = 4096;
+
+    public TerrainData(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.heights = BufferUtils.newFloatBuffer(width * height);
+        this.quantized = null;
+        this.scale = 1f;
+        this.offset = 0f;
+    }
+
+    /**
+     * Übernimmt fertige quantisierte Höhen (Wert = offset + scale * short) samt Min/Max, z.B. aus dem {@link TileArchive}.
+     * Beim Setzen wird auf den darstellbaren Bereich begrenzt.
+     */
+    TerrainData(int width, int height, ShortBuffer quantized, float offset, float scale, float minHeight, float maxHeight) {
+        if (!quantized.isDirect() || quantized.capacity() < width * height) throw new GdxRuntimeException("Height buffer must be direct and hold width * height values");
+        if (scale <= 0f) throw new GdxRuntimeException("Scale must be positive");
+        this.width = width;
+        this.height = height;
+        this.heights = null;
+        this.quantized = quantized;
+        this.scale = scale;
+        this.offset = offset;
+        this.minHeight = minHeight;
+        this.maxHeight = maxHeight;
+    }
+
+    /**
+     * Leere quantisierte Höhen für Werte von minValue bis maxValue, aufgeteilt auf die 65535 Stufen eines Shorts.
+     * Bei einer 8-Bit-Heightmap (0..1) ist der Fehler kleiner als 1/100000 des Bereichs.
+     */
+    public static TerrainData quantized(int width, int height, float minValue, float maxValue) {
+        if (!(maxValue > minValue)) throw new GdxRuntimeException("maxValue must be greater than minValue");
+        return new TerrainData(width, height, BufferUtils.newShortBuffer(width * height),
+                (minValue + maxValue) * 0.5f, (maxValue - minValue) / 65534f, 0f, 0f);
+    }
+
+    /**
+     * Übernimmt einen fertigen direkten Buffer samt Min/Max, z.B. aus dem {@link TerrainCache}.
+     */
+    TerrainData(int width, int height, FloatBuffer heights, float minHeight, float maxHeight) {
+        if (!heights.isDirect() || heights.capacity() < width * height) throw new GdxRuntimeException("Height buffer must be direct and hold width * height values");
+        this.width = width;
+        this.height = height;
+        this.heights = heights;
+        this.quantized = null;
+        this.scale = 1f;
+        this.offset = 0f;
+        this.minHeight = minHeight;
+        this.maxHeight = maxHeight;
+    }
+
+    /**
+     * Dekodiert die Heightmap (roter Kanal) direkt in den Höhen-Buffer.
+     * Die Pixmap wird nicht disposed.
+     */
+    public static TerrainData fromPixmap(Pixmap map) {
+        return fromPixmap(map, false);
+    }
+
+    /**
+     * Wie {@link #fromPixmap(Pixmap)}, mit quantized = true als 16-Bit-Werte (0..1).
+     * Dabei wird einmal kurz über ein Float-Array dekodiert.
+     */
+    public static TerrainData fromPixmap(Pixmap map, boolean quantized) {
+        if (quantized) {
+            TerrainData data = quantized(map.getWidth(), map.getHeight(), 0f, 1f);
+            data.set(HeightField.heightColorsToMap(map.getPixels(), map.getFormat(), data.width, data.height), 0);
+            return data;
+        }
+        TerrainData data = new TerrainData(map.getWidth(), map.getHeight());
+        HeightField.heightColorsToMap(map.getPixels(), map.getFormat(), data.width, data.height, data.heights);
+        data.updateBounds();
+        return data;
+    }
+
+    public float get(int index) {
+        return quantized != null ? offset + scale * quantized.get(index) : heights.get(index);
+    }
+
+    public float get(int x, int y) {
+        return get(y * width + x);
+    }
+
+    /** Kopiert count Werte ab index nach dest (bei quantisierten Werten umgerechnet), z.B. eine Zeile für die {@link HeightKernels}. */
+    public void get(int index, float[] dest, int destOffset, int count) {
+        if (quantized != null) {
+            for (int i = 0; i < count; i++) dest[destOffset + i] = offset + scale * quantized.get(index + i);
+        } else {
+            FloatBuffer source = heights.duplicate();
+            ((Buffer)source).position(index);
+            source.get(dest, destOffset, count);
+        }
+    }
+
+    /** Ändert einen Wert; Min/Max werden erst mit {@link #updateBounds()} neu berechnet. */
+    public void set(int index, float value) {
+        if (quantized != null) {
+            quantized.put(index, (short)MathUtils.clamp(Math.round((value - offset) / scale), Short.MIN_VALUE, Short.MAX_VALUE));
+        } else {
+            heights.put(index, value);
+        }
+    }
+
+    /** Übernimmt width * height Werte aus dem Array ab offset. */
+    public void set(float[] values, int offset) {
+        if (values.length - offset < width * height) throw new GdxRuntimeException("Incorrect data size");
+        if (quantized != null) {
+            final int n = width * height;
+            for (int i = 0; i < n; i++) set(i, values[offset + i]);
+        } else {
+            heights.clear();
+            heights.put(values, offset, width * height);
+            heights.flip();
+        }
+        updateBounds();
+    }
+
+    public int size() {
+        return width * height;
+    }
+
+    /** true, wenn die Werte als 16-Bit-Zahlen gespeichert sind, siehe {@link #getShortBuffer()}. */
+    public boolean isQuantized() {
+        return quantized != null;
+    }
+
+    /**
+     * Der direkte Buffer mit allen Höhen. Nicht neu positionieren, Bullet liest ab Position 0.
+     * Null, wenn die Werte {@link #isQuantized() quantisiert} sind.
+     */
+    public FloatBuffer getBuffer() {
+        return heights;
+    }
+
+    /**
+     * Die quantisierten Werte (Wert = {@link #getOffset()} + {@link #getScale()} * short), sonst null.
+     * Nicht neu positionieren, Bullet liest ab Position 0.
+     */
+    public ShortBuffer getShortBuffer() {
+        return quantized;
+    }
+
+    /** Schrittweite einer Stufe der quantisierten Werte, 1 für Floats. */
+    public float getScale() {
+        return scale;
+    }
+
+    /** Wert, der dem Short 0 entspricht, 0 für Floats. */
+    public float getOffset() {
+        return offset;
+    }
+
+    public float getMinHeight() {
+        return minHeight;
+    }
+
+    public float getMaxHeight() {
+        return maxHeight;
+    }
+
+    /**
+     * Sucht Min/Max einmal über alle Werte, statt dass jeder Verbraucher selbst scannt. Läuft blockweise über die
+     * {@link HeightKernels}; quantisiert werden nur die Shorts verglichen (die Umrechnung ist monoton).
+     */
+    public void updateBounds() {
+        final int n = width * height;
+        if (n == 0) {
+            minHeight = maxHeight = 0f;
+            return;
+        }
+        final HeightKernels kernels = HeightKernels.get();
+        final int chunk = Math.min(n, BOUNDS_CHUNK);
+        if (quantized != null) {
+            final ShortBuffer source = quantized.duplicate();
+            ((Buffer)source).clear();
+            final short[] values = new short[chunk];
+            final int[] bounds = {Integer.MAX_VALUE, Integer.MIN_VALUE};
+            for (int i = 0; i < n; i += chunk) {
+                final int count = Math.min(chunk, n - i);
+                source.get(values, 0, count);
+                kernels.minMax(values, count, bounds);
+            }
+            minHeight = offset + scale * (short)bounds[0];
+            maxHeight = offset + scale * (short)bounds[1];
+        } else {
+            final float[] values = new float[chunk];
+            final float[] bounds = {Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY};
+            for (int i = 0; i < n; i += chunk) {
+                final int count = Math.min(chunk, n - i);
+                get(i, values, 0, count);
+                kernels.minMax(values, count, bounds);
+            }
+            minHeight = bounds[0];
+            maxHeight = bounds[1];
+        }
+    }
+
+    /**
+     * Schreibt Größe, Format (Floats oder Shorts mit Scale/Offset), Min/Max und alle Werte unverändert, sodass
+     * {@link #read(DataInputStream)} eine bitgleiche Kopie liefert (z.B. für Aufnahmen der Physik-Welt).
+     */
+    public void write(DataOutputStream out) throws IOException {
+        final int n = size();
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeBoolean(quantized != null);
+        out.writeFloat(offset);
+        out.writeFloat(scale);
+        out.writeFloat(minHeight);
+        out.writeFloat(maxHeight);
+        final ByteBuffer chunk = ByteBuffer.allocate(Math.min(n, BOUNDS_CHUNK) * 4);
+        for (int i = 0; i < n; i += BOUNDS_CHUNK) {
+            final int count = Math.min(BOUNDS_CHUNK, n - i);
+            chunk.clear();
+            if (quantized != null) {
+                for (int j = 0; j < count; j++) chunk.putShort(quantized.get(i + j));
+            } else {
+                for (int j = 0; j < count; j++) chunk.putFloat(heights.get(i + j));
+            }
+            out.write(chunk.array(), 0, chunk.position());
+        }
+    }
+
+    /** Liest, was {@link #write(DataOutputStream)} geschrieben hat. */
+    public static TerrainData read(DataInputStream in) throws IOException {
+        final int width = in.readInt();
+        final int height = in.readInt();
+        final boolean isQuantized = in.readBoolean();
+        final float offset = in.readFloat();
+        final float scale = in.readFloat();
+        final float minHeight = in.readFloat();
+        final float maxHeight = in.readFloat();
+        final int n = width * height;
+        final byte[] bytes = new byte[Math.min(n, BOUNDS_CHUNK) * 4];
+        final ByteBuffer chunk = ByteBuffer.wrap(bytes);
+        if (isQuantized) {
+            final ShortBuffer values = BufferUtils.newShortBuffer(n);
+            for (int i = 0; i < n; i += BOUNDS_CHUNK) {
+                final int count = Math.min(BOUNDS_CHUNK, n - i);
+                in.readFully(bytes, 0, count * 2);
+                chunk.clear();
+                for (int j = 0; j < count; j++) values.put(i + j, chunk.getShort());
+            }
+            return new TerrainData(width, height, values, offset, scale, minHeight, maxHeight);
+        }
+        final FloatBuffer values = BufferUtils.newFloatBuffer(n);
+        for (int i = 0; i < n; i += BOUNDS_CHUNK) {
+            final int count = Math.min(BOUNDS_CHUNK, n - i);
+            in.readFully(bytes, 0, count * 4);
+            chunk.clear();
+            for (int j = 0; j < count; j++) values.put(i + j, chunk.getFloat());
+        }
+        return new TerrainData(width, height, values, minHeight, maxHeight);
+    }
+
+    /**
+     * Bitgleiche Kopie in eigene Buffer, z.B. als Stand zu einem Zeitpunkt, den spätere {@link #set(int, float)} nicht mehr
+     * ändern.
+     */
+    public TerrainData copy() {
+        final int n = size();
+        if (quantized != null) {
+            final ShortBuffer values = BufferUtils.newShortBuffer(n);
+            values.put((ShortBuffer)quantized.duplicate().clear().limit(n)).clear();
+            return new TerrainData(width, height, values, offset, scale, minHeight, maxHeight);
+        }
+        final FloatBuffer values = BufferUtils.newFloatBuffer(n);
+        values.put((FloatBuffer)heights.duplicate().clear().limit(n)).clear();
+        return new TerrainData(width, height, values, minHeight, maxHeight);
+    }
+
+    /** Bytes der Höhenwerte (einmal, egal wie viele Verbraucher). */
+    public long getBytes() {
+        return (long)width * height * (quantized != null ? 2L : 4L);
+    }
+}
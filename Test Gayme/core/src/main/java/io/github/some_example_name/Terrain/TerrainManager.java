@@ -2,18 +2,35 @@ package io.github.some_example_name.Terrain;
 
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.Ray;
 import io.github.some_example_name.Terrain.HeightField;
 import io.github.some_example_name.Physiks.PhysicsSystem;
 import io.github.some_example_name.Physiks.TerrainPhysics;
+import io.github.some_example_name.enums.NormalMode;
+import io.github.some_example_name.enums.TerrainMode;
 import net.mgsx.gltf.scene3d.scene.Scene;
 import net.mgsx.gltf.scene3d.scene.SceneManager;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 /**
  * Verwaltet die Erstellung, das Ersetzen und das Aufräumen
  * des visuellen und physikalischen Terrains.
+ * <p>
+ * Neues Terrain wird immer erst komplett gebaut und dann in einem Schritt gegen das alte getauscht,
+ * entweder sofort ({@link #createOrReplaceTerrain()}) oder im Hintergrund ({@link #rebuildTerrainAsync()}).
+ * <p>
+ * Im Modus {@link TerrainMode#STREAMING} gibt es kein einzelnes Terrain; ein {@link TerrainStreamer} lädt die
+ * Kacheln eines {@link TileArchive} rund um den Fokus (Spieler) nach und entlädt sie wieder.
+ * Im Modus {@link TerrainMode#PROCEDURAL} erzeugt er sie stattdessen aus Noise ({@link NoiseTileSource}), ohne Ende der Welt.
  */
 public class TerrainManager implements Disposable {
 
@@ -27,13 +44,46 @@ public class TerrainManager implements Disposable {
     private final float terrainMaxHeight;
     private final float visualTerrainWidth;
     private final float visualTerrainDepth;
+    // Einzelnes Mesh oder Patches mit LOD
+    private TerrainMode terrainMode = TerrainMode.SINGLE_MESH;
 
     // Aktuell verwaltete Terrain-Objekte
     private Terrain visualTerrain;          // HeightMapTerrain
     private Scene terrainScene;             // Szene für visuelles Terrain
-    private HeightField physicsHeightField; // HeightField für Physik-Daten
     private TerrainPhysics terrainPhysics;      // Bullet-Objekt
 
+    // Neuaufbau im Hintergrund: ein Worker, höchstens ein Auftrag gleichzeitig
+    private final AsyncExecutor executor = new AsyncExecutor(1, "TerrainBuilder");
+    private AsyncResult<Terrain> pendingTerrain; // null, wenn kein Neuaufbau läuft
+
+    // Gebackene Terrains für einen schnellen Start; null (Standard) = jedes Mal neu berechnen, siehe setTerrainCache
+    private volatile TerrainCache terrainCache;
+    // Höhen als 16-Bit-Werte statt Floats speichern (halber Speicher in Java und Bullet)
+    private volatile boolean quantizedHeights;
+    // SINGLE_MESH: Höhenwerte pro Mesh-Zelle; > 1 = gröberes Mesh mit gebackener Normal-Map
+    private volatile int meshStep = 1;
+    // Normalen von SINGLE_MESH und CHUNKED
+    private volatile NormalMode normalMode = NormalMode.WEIGHTED;
+
+    // Streaming: Archiv, Kachelgröße in der Welt und Laderadius; streamer != null nur im STREAMING-Modus
+    private FileHandle tileArchiveFile;
+    private float tileWorldSize;
+    private int tileLoadRadius;
+    private TerrainStreamer streamer;
+    // Prozedural: Seed und Noise-Einstellungen; proceduralTileSize == 0 = nicht konfiguriert
+    private long proceduralSeed;
+    private int proceduralTileSize;
+    private float proceduralCellsPerFeature;
+    private float proceduralTileWorldSize;
+    private int proceduralLoadRadius;
+    private final Vector3 streamingFocus = new Vector3(Float.NaN, 0, 0); // NaN = noch kein Fokus, Mitte der Welt nehmen
+
+    // Weltgrenzen für die Broadphase: Rand um das Terrain und Platz nach oben (Sprünge, fallende Objekte)
+    private static final float WORLD_BOUNDS_MARGIN = 10f;
+    private static final float WORLD_BOUNDS_HEADROOM = 100f;
+    private final Vector3 tmpMin = new Vector3();
+    private final Vector3 tmpMax = new Vector3();
+
     public TerrainManager(SceneManager sceneManager, PhysicsSystem physicsSystem,
                           String heightmapPath, float terrainMaxHeight,
                           float visualTerrainWidth, float visualTerrainDepth) {
@@ -51,91 +101,301 @@ public class TerrainManager implements Disposable {
     }
 
     /**
-     * Erstellt neues Terrain oder ersetzt vorhandenes.
-     * Gibt vorherige Terrain-Ressourcen frei.
-     * Gibt true zurück, wenn erfolgreich, false bei Fehlern.
+     * Erstellt neues Terrain oder ersetzt vorhandenes, komplett auf dem aufrufenden (GL-)Thread.
+     * Das alte Terrain bleibt bestehen, bis das neue fertig ist, und wird erst dann freigegeben.
+     * Gibt true zurück, wenn erfolgreich, false bei Fehlern (dann bleibt das alte Terrain aktiv).
      */
     public boolean createOrReplaceTerrain() {
         Gdx.app.log("TerrainManager", "Attempting to create or replace terrain...");
-
-        // 1. Altes Terrain sicher aufräumen
-        disposeCurrentTerrain();
-
-        // --- Neues Visuelles Terrain ---
-        Pixmap visualPixmap = null;
+        if (terrainMode == TerrainMode.STREAMING || terrainMode == TerrainMode.PROCEDURAL) {
+            return startStreaming(terrainMode);
+        }
+        Terrain newTerrain;
         try {
-            visualPixmap = new Pixmap(Gdx.files.internal(heightmapPath));
-            Gdx.app.log("TerrainManager", "Loaded heightmap Pixmap for visual terrain.");
-            // ANNAHME: HeightMapTerrain disposed die Pixmap intern!
-            this.visualTerrain = new HeightMapTerrain(visualPixmap, terrainMaxHeight);
-            this.terrainScene = new Scene(this.visualTerrain.getModelInstance());
-            this.sceneManager.addScene(this.terrainScene);
-            Gdx.app.log("TerrainManager", "Created visual terrain and added to SceneManager.");
+            newTerrain = buildTerrain(terrainMode);
         } catch (Exception e) {
-            Gdx.app.error("TerrainManager", "Error creating visual terrain", e);
-            if (visualPixmap != null && !visualPixmap.isDisposed()) visualPixmap.dispose();
-            disposeCurrentTerrain(); // Sicherstellen, dass alles aufgeräumt ist
+            Gdx.app.error("TerrainManager", "Error building terrain", e);
             return false; // Fehler signalisieren
         }
-        // visualPixmap sollte disposed sein
+        return swapInTerrain(newTerrain);
+    }
+
+    /**
+     * Startet den Neuaufbau im Hintergrund: Dekodieren, Höhen, Vertices, Normalen und Min/Max laufen auf einem
+     * Worker-Thread, das alte Terrain bleibt solange sichtbar und begehbar. Hochladen und Tauschen passieren
+     * in {@link #update(Camera)} auf dem GL-Thread.
+     * Gibt false zurück, wenn bereits ein Neuaufbau läuft.
+     * Im STREAMING- und PROCEDURAL-Modus wird nur der Streamer neu gestartet, die Kacheln selbst kommen ohnehin aus dem Hintergrund.
+     */
+    public boolean rebuildTerrainAsync() {
+        if (pendingTerrain != null) {
+            Gdx.app.log("TerrainManager", "Terrain rebuild already in progress, ignoring request.");
+            return false;
+        }
+        final TerrainMode mode = terrainMode;
+        if (mode == TerrainMode.STREAMING || mode == TerrainMode.PROCEDURAL) {
+            return startStreaming(mode);
+        }
+        pendingTerrain = executor.submit(new AsyncTask<Terrain>() {
+            @Override
+            public Terrain call() {
+                return buildTerrain(mode);
+            }
+        });
+        Gdx.app.log("TerrainManager", "Started terrain rebuild in background (" + mode + ").");
+        return true;
+    }
+
+    /** true, solange ein mit {@link #rebuildTerrainAsync()} gestarteter Neuaufbau noch nicht übernommen wurde. */
+    public boolean isRebuilding() {
+        return pendingTerrain != null;
+    }
+
+    /**
+     * CPU-Teil des Aufbaus: Heightmap einmal dekodieren und das Terrain ohne GL-Aufrufe bauen.
+     * Darf auf jedem Thread laufen.
+     */
+    private Terrain buildTerrain(TerrainMode mode) {
+        final TerrainCache cache = terrainCache;
+        final byte[] heightmapBytes = Gdx.files.internal(heightmapPath).readBytes();
+        final long sourceHash = cache != null ? TerrainCache.hash(heightmapBytes) : 0L;
+        TerrainCache.Entry cached = cache != null ? cache.load(sourceHash) : null;
+        final boolean quantized = quantizedHeights;
+        if (cached != null && cached.data.isQuantized() != quantized) {
+            cached = null; // anderes Höhenformat gespeichert, neu dekodieren und überschreiben
+        }
+
+        // Visuelles Terrain und Physik teilen sich denselben Höhen-Buffer (TerrainData)
+        TerrainData terrainData;
+        if (cached != null) {
+            terrainData = cached.data; // gemappt, kein Dekodieren und kein Min/Max-Scan
+        } else {
+            Pixmap heightmapPixmap = new Pixmap(heightmapBytes, 0, heightmapBytes.length);
+            try {
+                terrainData = TerrainData.fromPixmap(heightmapPixmap, quantized);
+            } finally {
+                // Die Pixmap wird nach dem Dekodieren nicht mehr gebraucht
+                heightmapPixmap.dispose();
+            }
+            Gdx.app.log("TerrainManager", "Decoded heightmap " + terrainData.width + "x" + terrainData.height
+                    + " once (" + terrainData.getBytes() / 1024 + " KB).");
+        }
+
+        if (mode == TerrainMode.CHUNKED) {
+            ChunkedTerrain chunked = new ChunkedTerrain(terrainData, terrainMaxHeight, normalMode);
+            Gdx.app.log("TerrainManager", "Built chunked terrain with " + chunked.getPatchCount() + " patches.");
+            // Patches haben eigene Vertices, gespeichert werden nur die Höhen
+            if (cache != null && cached == null) cache.save(sourceHash, terrainData, null);
+            return chunked;
+        }
+        HeightMapTerrain terrain = new HeightMapTerrain(terrainData, terrainMaxHeight, cached, meshStep, normalMode);
+        final boolean normalMapCached = terrain.getNormalMap() == null || cached != null && cached.normalMap == terrain.getNormalMap();
+        if (terrain.isFromCache() && normalMapCached) {
+            Gdx.app.log("TerrainManager", "Using baked terrain vertices" + (terrain.getNormalMap() != null ? " and normal map" : "") + " from cache.");
+        } else if (cache != null) {
+            cache.save(sourceHash, terrainData, terrain.getRenderField(),
+                    terrain.getNormalMap() != null ? terrain.getHeightField() : null, terrain.getNormalMap());
+        }
+        return terrain;
+    }
+
+    /**
+     * Speichert die Höhen ab dem nächsten Aufbau als 16-Bit-Werte (Scale/Offset) statt als Floats. Vertices werden
+     * trotzdem aus Floats gebaut, Bullet bekommt die Shorts direkt (PHY_SHORT). Gestreamte Kacheln sind immer 16 Bit.
+     */
+    public void setQuantizedHeights(boolean quantizedHeights) {
+        this.quantizedHeights = quantizedHeights;
+    }
+
+    public boolean isQuantizedHeights() {
+        return quantizedHeights;
+    }
+
+    /**
+     * Zeichnet das SINGLE_MESH-Terrain ab dem nächsten Aufbau nur mit jedem step-ten Vertex pro Richtung; die Beleuchtung
+     * kommt dann aus einer Normal-Map in voller Auflösung (gebacken und mit im Cache). 1 = ein Vertex pro Höhenwert.
+     * Physik und Höhenabfragen bleiben in voller Auflösung.
+     */
+    public void setMeshStep(int meshStep) {
+        this.meshStep = Math.max(1, meshStep);
+    }
+
+    public int getMeshStep() {
+        return meshStep;
+    }
+
+    /**
+     * Normalen für SINGLE_MESH (auch die gebackene Normal-Map) und CHUNKED ab dem nächsten Aufbau. Standard ist
+     * {@link NormalMode#WEIGHTED}; {@link NormalMode#CENTRAL_DIFFERENCE} baut deutlich schneller, schattiert aber etwas anders.
+     * Gestreamte Kacheln nehmen immer CENTRAL_DIFFERENCE.
+     */
+    public void setNormalMode(NormalMode normalMode) {
+        this.normalMode = normalMode;
+    }
+
+    public NormalMode getNormalMode() {
+        return normalMode;
+    }
+
+    /**
+     * Setzt den Cache für gebackene Terrains (null schaltet ihn ab, so ist es anfangs). Gilt ab dem nächsten Aufbau.
+     */
+    public void setTerrainCache(TerrainCache terrainCache) {
+        this.terrainCache = terrainCache;
+    }
+
+    /**
+     * Setzt das Kachel-Archiv für {@link TerrainMode#STREAMING} (erzeugt mit {@link TileArchiveWriter}).
+     *
+     * @param tileWorldSize Kantenlänge einer Kachel in Welteinheiten
+     * @param loadRadius    Kacheln in jede Richtung um den Spieler, die geladen bleiben
+     */
+    public void setTileArchive(FileHandle file, float tileWorldSize, int loadRadius) {
+        this.tileArchiveFile = file;
+        this.tileWorldSize = tileWorldSize;
+        this.tileLoadRadius = loadRadius;
+    }
+
+    /** true, wenn ein Kachel-Archiv gesetzt ist und STREAMING damit möglich ist. */
+    public boolean hasTileArchive() {
+        return tileArchiveFile != null && tileArchiveFile.exists();
+    }
+
+    /**
+     * Konfiguriert {@link TerrainMode#PROCEDURAL}: Kacheln werden aus Noise erzeugt, gleicher Seed = gleiche Welt.
+     *
+     * @param tileSize        Zellen pro Kachelkante
+     * @param cellsPerFeature Zellen pro Noise-Einheit (Größe der Hügel)
+     * @param tileWorldSize   Kantenlänge einer Kachel in Welteinheiten
+     * @param loadRadius      Kacheln in jede Richtung um den Spieler, die geladen bleiben
+     */
+    public void setProceduralTerrain(long seed, int tileSize, float cellsPerFeature, float tileWorldSize, int loadRadius) {
+        this.proceduralSeed = seed;
+        this.proceduralTileSize = tileSize;
+        this.proceduralCellsPerFeature = cellsPerFeature;
+        this.proceduralTileWorldSize = tileWorldSize;
+        this.proceduralLoadRadius = loadRadius;
+    }
 
-        // --- Neues Physikalisches Terrain ---
-        Pixmap physicsPixmap = null;
+    /** true, wenn {@link #setProceduralTerrain} aufgerufen wurde und PROCEDURAL damit möglich ist. */
+    public boolean hasProceduralTerrain() {
+        return proceduralTileSize > 0;
+    }
+
+    /**
+     * Öffnet das Archiv bzw. die Noise-Quelle, lädt die Kacheln um den Fokus sofort (damit Boden da ist) und ersetzt
+     * das aktuelle Terrain bzw. den alten Streamer. Nur auf dem GL-Thread aufrufen.
+     */
+    private boolean startStreaming(TerrainMode mode) {
+        final boolean procedural = mode == TerrainMode.PROCEDURAL;
+        if (procedural ? !hasProceduralTerrain() : !hasTileArchive()) {
+            Gdx.app.error("TerrainManager", mode + " mode is not configured, keeping the current terrain.");
+            return false;
+        }
+        TerrainStreamer newStreamer = null;
         try {
-            physicsPixmap = new Pixmap(Gdx.files.internal(heightmapPath)); // Erneut laden
-            Gdx.app.log("TerrainManager", "Loaded heightmap Pixmap AGAIN for physics terrain.");
-
-            this.physicsHeightField = new HeightField(
-                    true, physicsPixmap, true,
-                    VertexAttributes.Usage.Position | VertexAttributes.Usage.Normal | VertexAttributes.Usage.TextureCoordinates
-            );
-            Gdx.app.log("TerrainManager", "Created physics HeightField instance.");
-
-            // physicsHeightField Dimensionen konfigurieren
-            // Annahme: Visuelles Terrain ist zentriert
-            final float actualVisualWidth = 1200.0f;  // Z.B. Breite von -50 bis +50
-            final float actualVisualDepth = 1200.0f;  // Z.B. Tiefe von -50 bis +50
-            final float visualBaseY = 14.5f;      // Y-Position der Basis des visuellen Terrains
-
-            // Setze die Eckpunkte des physicsHeightField entsprechend.
-            //Wenn dein visuelles Terrain bei (0,0,0) beginnt und nach +X/+Z geht:
-            physicsHeightField.corner00.set(400,               visualBaseY, 400);
-            physicsHeightField.corner10.set(actualVisualWidth, visualBaseY, 400);
-            physicsHeightField.corner01.set(400,               visualBaseY, actualVisualDepth);
-            physicsHeightField.corner11.set(actualVisualDepth, visualBaseY, actualVisualDepth);
-            Gdx.app.log("TerrainManager", "Configured physics HeightField dimensions (W:" + visualTerrainWidth + ", D:" + visualTerrainDepth + ")");
-
-            // TerrainPhysics erstellen
-            this.terrainPhysics = new TerrainPhysics(physicsSystem, this.physicsHeightField);
-            Gdx.app.log("TerrainManager", "Created TerrainPhysics.");
+            if (procedural) {
+                // Noise ist rechenintensiv: mehrere Worker, aber einen Kern für das Spiel frei lassen
+                final int workers = MathUtils.clamp(Runtime.getRuntime().availableProcessors() - 1, 1, 4);
+                final int residentTiles = (2 * proceduralLoadRadius + 3) * (2 * proceduralLoadRadius + 3);
+                // der LRU-Cache hält höchstens noch einmal so viele Kacheln, wie geladen sein können
+                TileSource source = new NoiseTileSource(proceduralSeed, proceduralTileSize, proceduralCellsPerFeature, residentTiles);
+                newStreamer = new TerrainStreamer(source, sceneManager, physicsSystem,
+                        proceduralTileWorldSize, terrainMaxHeight, proceduralLoadRadius, workers);
+            } else {
+                newStreamer = new TerrainStreamer(new TileArchive(tileArchiveFile), sceneManager, physicsSystem,
+                        tileWorldSize, terrainMaxHeight, tileLoadRadius);
+            }
+            if (Float.isNaN(streamingFocus.x)) {
+                newStreamer.getCenter(streamingFocus);
+            }
+            newStreamer.loadAround(streamingFocus);
+        } catch (Exception e) {
+            Gdx.app.error("TerrainManager", "Error starting terrain streaming, keeping the current terrain", e);
+            if (newStreamer != null) newStreamer.dispose();
+            return false;
+        }
+        disposeCurrentTerrain();
+        streamer = newStreamer;
+        physicsSystem.clearWorldBounds(); // gestreamte Welten haben kein Ende, die Broadphase läuft ohne Grenzen
+        Gdx.app.log("TerrainManager", "Terrain streaming started from " + (procedural ? "noise, seed " + proceduralSeed : tileArchiveFile.path())
+                + " (" + streamer.getLoadedTileCount() + " tiles loaded).");
+        return true;
+    }
 
+    /**
+     * GL-Teil: Meshes hochladen, Physik anlegen und das alte Terrain im selben Frame ersetzen.
+     * Zwischen Entfernen des alten und Hinzufügen des neuen Terrains läuft kein Physik-Schritt und kein Rendern.
+     * Nur auf dem GL-Thread aufrufen.
+     */
+    private boolean swapInTerrain(Terrain newTerrain) {
+        Scene newScene;
+        TerrainPhysics newPhysics;
+        try {
+            newTerrain.createModel();
+            newScene = new Scene(newTerrain.getModelInstance());
+            // Grenzen vor dem neuen Körper setzen, dann zieht nur das Bisherige einmal in die neue Broadphase um
+            computeWorldBounds(newTerrain.getHeightField(), tmpMin, tmpMax);
+            physicsSystem.setWorldBounds(tmpMin, tmpMax);
+            // Die Physik liest Ecken, Höhe und Höhenwerte direkt aus dem HeightField des visuellen Terrains,
+            // damit Kollision und Darstellung immer deckungsgleich sind. Räumt bei Fehlern selbst auf.
+            newPhysics = new TerrainPhysics(physicsSystem, newTerrain.getHeightField());
         } catch (Exception e) {
-            Gdx.app.error("TerrainManager", "Error creating physics terrain", e);
-            if (physicsPixmap != null && !physicsPixmap.isDisposed()) physicsPixmap.dispose();
-            disposeCurrentTerrain(); // Alles wieder aufräumen
-            return false; // Fehler signalisieren
-        } finally {
-            // Die Physik-Pixmap immer freigeben
-            if (physicsPixmap != null && !physicsPixmap.isDisposed()) {
-                physicsPixmap.dispose();
-                Gdx.app.log("TerrainManager", "Disposed physics heightmap Pixmap.");
+            Gdx.app.error("TerrainManager", "Error creating new terrain, keeping the current one", e);
+            newTerrain.dispose();
+            if (visualTerrain != null) {
+                computeWorldBounds(visualTerrain.getHeightField(), tmpMin, tmpMax);
+                physicsSystem.setWorldBounds(tmpMin, tmpMax);
             }
+            return false; // Fehler signalisieren
         }
 
-        Gdx.app.log("TerrainManager", "Terrain creation/replacement successful.");
+        // Ab hier kann nichts mehr schiefgehen: altes Terrain raus, neues rein
+        disposeCurrentTerrain();
+        this.visualTerrain = newTerrain;
+        this.terrainScene = newScene;
+        this.terrainPhysics = newPhysics;
+        this.sceneManager.addScene(newScene);
+        Gdx.app.log("TerrainManager", "Terrain creation/replacement successful (W:" + visualTerrainWidth + ", D:" + visualTerrainDepth + ").");
         return true; // Erfolg
     }
 
+    /**
+     * Welt-AABB für die Broadphase aus Ecken und magnitude des HeightFields: alle vier Ecken bei minimaler und maximaler
+     * Höhe, plus WORLD_BOUNDS_MARGIN ringsum und WORLD_BOUNDS_HEADROOM nach oben.
+     */
+    public static void computeWorldBounds(HeightField field, Vector3 min, Vector3 max) {
+        final float minHeight = field.data.getMinHeight();
+        final float maxHeight = field.data.getMaxHeight();
+        min.set(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY);
+        max.set(Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY);
+        for (Vector3 corner : new Vector3[] {field.corner00, field.corner10, field.corner01, field.corner11}) {
+            for (float height : new float[] {minHeight, maxHeight}) {
+                final float x = corner.x + field.magnitude.x * height;
+                final float y = corner.y + field.magnitude.y * height;
+                final float z = corner.z + field.magnitude.z * height;
+                min.set(Math.min(min.x, x), Math.min(min.y, y), Math.min(min.z, z));
+                max.set(Math.max(max.x, x), Math.max(max.y, y), Math.max(max.z, z));
+            }
+        }
+        min.sub(WORLD_BOUNDS_MARGIN);
+        max.add(WORLD_BOUNDS_MARGIN, WORLD_BOUNDS_MARGIN + WORLD_BOUNDS_HEADROOM, WORLD_BOUNDS_MARGIN);
+    }
+
     /**
      * Gibt die aktuell verwalteten Terrain-Ressourcen sicher frei.
      */
     private void disposeCurrentTerrain() {
         Gdx.app.log("TerrainManager", "Disposing current terrain resources...");
-        // Reihenfolge: Physik -> HeightField -> Visuell (Szene + Objekt)
+        if (streamer != null) {
+            streamer.dispose(); // entfernt Körper und Szenen aller Kacheln
+            streamer = null;
+        }
+        // Reihenfolge: Physik -> Visuell (Szene + Objekt); die Physik liest aus den Höhendaten des visuellen Terrains
         if (terrainPhysics != null) {
-            if (physicsSystem != null && physicsSystem.dynamicsWorld != null && terrainPhysics.body != null) {
+            if (physicsSystem != null && terrainPhysics.body != null) {
                 try {
-                    physicsSystem.dynamicsWorld.removeRigidBody(terrainPhysics.body);
+                    physicsSystem.removeRigidBody(terrainPhysics.body);
                     Gdx.app.log("TerrainManager", "Removed terrain body from physics world.");
                 } catch (Exception e) {
                     Gdx.app.error("TerrainManager", "Error removing terrain body from world", e);
@@ -145,11 +405,6 @@ public class TerrainManager implements Disposable {
             terrainPhysics = null; // Wichtig: Referenz löschen
             Gdx.app.log("TerrainManager", "Disposed TerrainPhysics.");
         }
-        if (physicsHeightField != null) {
-            physicsHeightField.dispose();
-            physicsHeightField = null;
-            Gdx.app.log("TerrainManager", "Disposed physics HeightField object.");
-        }
         if (terrainScene != null) {
             if (sceneManager != null) {
                 try {
@@ -169,12 +424,92 @@ public class TerrainManager implements Disposable {
         }
     }
 
+    /**
+     * Wie {@link #update(Camera, Vector3)} mit der Kameraposition als Fokus für das Streaming.
+     */
+    public void update(Camera camera) {
+        update(camera, camera != null ? camera.position : null);
+    }
+
+    /**
+     * Pro Frame aufrufen: Übernimmt ein fertig im Hintergrund gebautes Terrain,
+     * dann wählt das Terrain anhand der Kamera LOD und sichtbare Patches aus.
+     * Im STREAMING-Modus werden die Kacheln um focus (normalerweise der Spieler) geladen und entladen.
+     */
+    public void update(Camera camera, Vector3 focus) {
+        if (focus != null) {
+            streamingFocus.set(focus);
+        }
+        if (pendingTerrain != null && pendingTerrain.isDone()) {
+            AsyncResult<Terrain> result = pendingTerrain;
+            pendingTerrain = null;
+            try {
+                swapInTerrain(result.get());
+            } catch (GdxRuntimeException e) {
+                Gdx.app.error("TerrainManager", "Background terrain rebuild FAILED, keeping the current terrain", e);
+            }
+        }
+        if (visualTerrain != null && camera != null) {
+            visualTerrain.update(camera);
+        }
+        if (streamer != null && !Float.isNaN(streamingFocus.x)) {
+            streamer.update(streamingFocus);
+        }
+    }
+
+    public TerrainMode getTerrainMode() {
+        return terrainMode;
+    }
+
+    /**
+     * Setzt den Modus für das nächste {@link #createOrReplaceTerrain()}; das aktuelle Terrain bleibt unverändert.
+     */
+    public void setTerrainMode(TerrainMode terrainMode) {
+        this.terrainMode = terrainMode;
+    }
+
     // Optional: Getter, falls andere Teile des Spiels Zugriff brauchen
     public TerrainPhysics getCurrentTerrainPhysics() {
         return terrainPhysics;
     }
-    public HeightField getPhysicsHeightField() {
-        return physicsHeightField;
+    /**
+     * Das HeightField des aktuellen Terrains (Höhendaten + Platzierung), gemeinsam für Darstellung und Physik.
+     * Beim Streaming das der Kachel unter dem Fokus, null wenn sie (noch) nicht geladen ist.
+     */
+    public HeightField getHeightField() {
+        if (streamer != null) return streamer.getHeightFieldAt(streamingFocus.x, streamingFocus.z);
+        return visualTerrain != null ? visualTerrain.getHeightField() : null;
+    }
+
+    /** Das HeightField, das an dieser Weltposition liegt (beim Streaming die passende Kachel), sonst null. */
+    public HeightField getHeightFieldAt(float worldX, float worldZ) {
+        if (streamer != null) return streamer.getHeightFieldAt(worldX, worldZ);
+        HeightField field = visualTerrain != null ? visualTerrain.getHeightField() : null;
+        return field != null && field.contains(worldX, worldZ) ? field : null;
+    }
+
+    /**
+     * Terrainhöhe an einer Weltposition, genau wie gerendert und wie in der Physik, ohne Raycast.
+     * Gibt Float.NaN zurück, wenn dort kein Terrain (geladen) ist.
+     */
+    public float getHeightAt(float worldX, float worldZ) {
+        HeightField field = getHeightFieldAt(worldX, worldZ);
+        return field != null ? field.getHeightAt(worldX, worldZ) : Float.NaN;
+    }
+
+    /**
+     * Erster Schnittpunkt des Strahls mit dem Terrain (z.B. Mausklick, Sichtlinie, Kamera-Kollision), ohne Bullet-Raycast.
+     * Gibt false zurück, wenn der Strahl innerhalb von maxDistance kein Terrain trifft; out bleibt dann unverändert.
+     */
+    public boolean intersect(Ray ray, float maxDistance, Vector3 out) {
+        if (streamer != null) return streamer.intersect(ray, maxDistance, out);
+        HeightField field = visualTerrain != null ? visualTerrain.getHeightField() : null;
+        return field != null && field.intersect(ray, maxDistance, out);
+    }
+
+    /** Der aktive Streamer im STREAMING-Modus, sonst null. */
+    public TerrainStreamer getStreamer() {
+        return streamer;
     }
 
     /**
@@ -184,6 +519,16 @@ public class TerrainManager implements Disposable {
     @Override
     public void dispose() {
         Gdx.app.log("TerrainManager", "Disposing TerrainManager...");
+        // Wartet auf einen laufenden Neuaufbau; dessen Terrain hat noch keine GL-Ressourcen, nur aufräumen
+        executor.dispose();
+        if (pendingTerrain != null) {
+            try {
+                pendingTerrain.get().dispose();
+            } catch (GdxRuntimeException e) {
+                // Neuaufbau war ohnehin fehlgeschlagen
+            }
+            pendingTerrain = null;
+        }
         disposeCurrentTerrain(); // Stellt sicher, dass das letzte Terrain aufgeräumt wird
         // Die übergebenen sceneManager und physicsSystem werden *nicht* hier disposed!
     }
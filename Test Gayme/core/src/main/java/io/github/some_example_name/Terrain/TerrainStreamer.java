@@ -0,0 +1,293 @@
+package io.github.some_example_name.Terrain;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.Ray;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import io.github.some_example_name.Physiks.PhysicsSystem;
+import io.github.some_example_name.Physiks.TerrainPhysics;
+import net.mgsx.gltf.scene3d.scene.Scene;
+import net.mgsx.gltf.scene3d.scene.SceneManager;
+
+/**
+ * Offene Welt aus einer {@link TileSource} (Kachel-Archiv oder Noise): Nur die Kacheln rund um einen Fokuspunkt
+ * (den Spieler) sind geladen.
+ * <p>
+ * Kacheln im Laderadius werden auf eigenen Worker-Threads gelesen bzw. erzeugt und gebaut (Höhen, Vertices, Normalen),
+ * nächstgelegene zuerst. {@link #update(Vector3)} übernimmt fertige Kacheln auf dem GL-Thread (Meshes, Szene,
+ * eigener Physik-Körper) und entfernt Kacheln, die weiter als ein Ring außerhalb des Radius liegen.
+ * Dadurch sind nie mehr als (2 * loadRadius + 3)² Kacheln im Speicher, egal wie groß die Welt ist.
+ * <p>
+ * Welt-Koordinaten: Kachel (tx, ty) liegt auf x = tx * tileWorldSize .. (tx + 1) * tileWorldSize, z entsprechend.
+ */
+public class TerrainStreamer implements Disposable {
+
+    /** Höchstens so viele Kacheln pro Worker gleichzeitig in Arbeit, damit bei schneller Bewegung keine lange Warteschlange entsteht. */
+    private static final int PENDING_PER_WORKER = 4;
+    /** Höchstens so viele Kacheln pro Frame hochladen und in die Physik einfügen (verteilt die GL-Arbeit). */
+    private static final int MAX_ACTIVATIONS_PER_FRAME = 2;
+
+    private final TileSource source;
+    private final SceneManager sceneManager;
+    private final PhysicsSystem physicsSystem;
+    private final float tileWorldSize;
+    private final float magnitude;
+    private final int loadRadius;
+    private final Material material; // gemeinsam für alle Kacheln
+
+    private final AsyncExecutor executor;
+    private final int maxPending;
+    private final LongMap<Tile> tiles = new LongMap<Tile>();
+    private int pendingCount;
+    private final Vector3 tmpHit = new Vector3();
+
+    /** Eine Kachel: erst in Arbeit (pending), dann aktiv (terrain, scene, physics). */
+    private static class Tile {
+        final int x;
+        final int y;
+        AsyncResult<TerrainTile> pending;
+        TerrainTile terrain;
+        Scene scene;
+        TerrainPhysics physics;
+
+        Tile(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /** Wie {@link #TerrainStreamer(TileSource, SceneManager, PhysicsSystem, float, float, int, int)} mit einem Worker. */
+    public TerrainStreamer(TileSource source, SceneManager sceneManager, PhysicsSystem physicsSystem,
+                           float tileWorldSize, float magnitude, int loadRadius) {
+        this(source, sceneManager, physicsSystem, tileWorldSize, magnitude, loadRadius, 1);
+    }
+
+    /**
+     * Übernimmt die Quelle (wird mit dem Streamer freigegeben). Nur auf dem GL-Thread erzeugen, das Material lädt die Textur.
+     *
+     * @param loadRadius Kacheln in jede Richtung um die Kachel des Fokus, 1 = 3x3 Kacheln
+     * @param workers    Threads, die Kacheln lesen/erzeugen und bauen
+     */
+    public TerrainStreamer(TileSource source, SceneManager sceneManager, PhysicsSystem physicsSystem,
+                           float tileWorldSize, float magnitude, int loadRadius, int workers) {
+        this.source = source;
+        this.sceneManager = sceneManager;
+        this.physicsSystem = physicsSystem;
+        this.tileWorldSize = tileWorldSize;
+        this.magnitude = magnitude;
+        this.loadRadius = loadRadius;
+        this.executor = new AsyncExecutor(Math.max(1, workers), "TerrainStreamer");
+        this.maxPending = Math.max(1, workers) * PENDING_PER_WORKER;
+        this.material = Terrain.createTerrainMaterial();
+        Gdx.app.log("TerrainStreamer", "Streaming tiles of " + (source.getTileSize() + 1) + "² samples from " + source.getClass().getSimpleName()
+                + " on " + Math.max(1, workers) + " worker(s), radius " + loadRadius + ", at most " + getMaxResidentTiles() + " resident.");
+    }
+
+    /** Die Mitte der Start-Kachel der Quelle in Weltkoordinaten (y bleibt unverändert). */
+    public Vector3 getCenter(Vector3 out) {
+        out.x = (source.getCenterTileX() + 0.5f) * tileWorldSize;
+        out.z = (source.getCenterTileY() + 0.5f) * tileWorldSize;
+        return out;
+    }
+
+    /** Obergrenze der gleichzeitig geladenen Kacheln (Laderadius plus ein Ring Hysterese). */
+    public int getMaxResidentTiles() {
+        final int side = 2 * loadRadius + 3;
+        return side * side;
+    }
+
+    private int tileX(float worldX) {
+        return MathUtils.floor(worldX / tileWorldSize);
+    }
+
+    private int tileY(float worldZ) {
+        return MathUtils.floor(worldZ / tileWorldSize);
+    }
+
+    /**
+     * Lädt alle Kacheln im Radius sofort auf dem aufrufenden (GL-)Thread, z.B. beim Start,
+     * damit der Spieler nicht ins Leere fällt.
+     */
+    public void loadAround(Vector3 focus) {
+        final int cx = tileX(focus.x);
+        final int cy = tileY(focus.z);
+        for (int ty = cy - loadRadius; ty <= cy + loadRadius; ty++) {
+            for (int tx = cx - loadRadius; tx <= cx + loadRadius; tx++) {
+                if (!source.contains(tx, ty) || tiles.containsKey(key(tx, ty))) continue;
+                Tile tile = new Tile(tx, ty);
+                tiles.put(key(tx, ty), tile);
+                activate(tile, buildTile(tx, ty));
+            }
+        }
+    }
+
+    /**
+     * Pro Frame auf dem GL-Thread: fertige Kacheln übernehmen, entfernte entladen, fehlende anfordern.
+     */
+    public void update(Vector3 focus) {
+        final int cx = tileX(focus.x);
+        final int cy = tileY(focus.z);
+
+        int activations = 0;
+        LongMap.Values<Tile> values = tiles.values();
+        while (values.hasNext()) {
+            Tile tile = values.next();
+            final int distance = Math.max(Math.abs(tile.x - cx), Math.abs(tile.y - cy));
+            if (tile.pending != null) {
+                if (!tile.pending.isDone()) continue;
+                if (distance > loadRadius + 1) {
+                    // inzwischen außer Reichweite: gar nicht erst hochladen
+                    discardPending(tile);
+                    values.remove();
+                } else if (activations < MAX_ACTIVATIONS_PER_FRAME) {
+                    AsyncResult<TerrainTile> result = tile.pending;
+                    tile.pending = null;
+                    pendingCount--;
+                    activations++;
+                    try {
+                        activate(tile, result.get());
+                    } catch (RuntimeException e) {
+                        // bleibt leer in der Map, damit sie nicht jeden Frame neu angefordert wird
+                        Gdx.app.error("TerrainStreamer", "Could not load tile " + tile.x + ", " + tile.y, e);
+                    }
+                }
+            } else if (distance > loadRadius + 1) {
+                deactivate(tile);
+                values.remove();
+            }
+        }
+
+        // Fehlende Kacheln ringweise von innen nach außen anfordern
+        for (int ring = 0; ring <= loadRadius && pendingCount < maxPending; ring++) {
+            for (int ty = cy - ring; ty <= cy + ring && pendingCount < maxPending; ty++) {
+                for (int tx = cx - ring; tx <= cx + ring && pendingCount < maxPending; tx++) {
+                    if (Math.max(Math.abs(tx - cx), Math.abs(ty - cy)) != ring) continue;
+                    if (!source.contains(tx, ty) || tiles.containsKey(key(tx, ty))) continue;
+                    request(tx, ty);
+                }
+            }
+        }
+    }
+
+    /** Kachelkoordinaten dürfen bei unbegrenzten Quellen negativ und groß sein, daher ein long. */
+    private static long key(int tx, int ty) {
+        return ((long)ty << 32) | (tx & 0xFFFFFFFFL);
+    }
+
+    private void request(final int tx, final int ty) {
+        Tile tile = new Tile(tx, ty);
+        tile.pending = executor.submit(new AsyncTask<TerrainTile>() {
+            @Override
+            public TerrainTile call() {
+                return buildTile(tx, ty);
+            }
+        });
+        tiles.put(key(tx, ty), tile);
+        pendingCount++;
+    }
+
+    /** CPU-Teil einer Kachel, läuft auf dem Worker. */
+    private TerrainTile buildTile(int tx, int ty) {
+        return new TerrainTile(tx, ty, source.readTile(tx, ty), tileWorldSize, magnitude, material);
+    }
+
+    /** GL-Teil: Meshes, Szene und Physik-Körper der Kachel anlegen. */
+    private void activate(Tile tile, TerrainTile terrain) {
+        try {
+            terrain.createModel();
+            tile.physics = new TerrainPhysics(physicsSystem, terrain.getHeightField());
+        } catch (RuntimeException e) {
+            terrain.dispose();
+            throw e;
+        }
+        tile.terrain = terrain;
+        tile.scene = new Scene(terrain.getModelInstance());
+        sceneManager.addScene(tile.scene);
+    }
+
+    private void deactivate(Tile tile) {
+        if (tile.physics != null) {
+            physicsSystem.removeRigidBody(tile.physics.body);
+            tile.physics.dispose();
+            tile.physics = null;
+        }
+        if (tile.scene != null) {
+            sceneManager.removeScene(tile.scene);
+            tile.scene = null;
+        }
+        if (tile.terrain != null) {
+            tile.terrain.dispose();
+            tile.terrain = null;
+        }
+    }
+
+    private void discardPending(Tile tile) {
+        AsyncResult<TerrainTile> result = tile.pending;
+        tile.pending = null;
+        pendingCount--;
+        try {
+            result.get().dispose(); // hat noch keine GL-Ressourcen
+        } catch (GdxRuntimeException e) {
+            // Kachel war ohnehin fehlgeschlagen
+        }
+    }
+
+    /** Das HeightField der geladenen Kachel unter der Weltposition, sonst null. */
+    public HeightField getHeightFieldAt(float worldX, float worldZ) {
+        final int tx = tileX(worldX);
+        final int ty = tileY(worldZ);
+        if (!source.contains(tx, ty)) return null;
+        Tile tile = tiles.get(key(tx, ty));
+        return tile != null && tile.terrain != null ? tile.terrain.getHeightField() : null;
+    }
+
+    /**
+     * Schneidet den Strahl mit allen geladenen Kacheln und gibt den nächsten Treffer zurück, siehe
+     * {@link HeightField#intersect(Ray, float, Vector3)}.
+     */
+    public boolean intersect(Ray ray, float maxDistance, Vector3 out) {
+        boolean hit = false;
+        for (Tile tile : tiles.values()) {
+            if (tile.terrain == null) continue;
+            if (tile.terrain.getHeightField().intersect(ray, maxDistance, tmpHit)) {
+                maxDistance = tmpHit.dst(ray.origin); // weitere Kacheln nur noch davor
+                out.set(tmpHit);
+                hit = true;
+            }
+        }
+        return hit;
+    }
+
+    /** Anzahl der Kacheln, die nicht mehr in Arbeit sind (hochgeladen oder fehlgeschlagen). */
+    public int getLoadedTileCount() {
+        return tiles.size - pendingCount;
+    }
+
+    public int getPendingTileCount() {
+        return pendingCount;
+    }
+
+    @Override
+    public void dispose() {
+        // Wartet auf den Worker, danach gehört alles wieder dem GL-Thread
+        executor.dispose();
+        for (Tile tile : tiles.values()) {
+            if (tile.pending != null) {
+                discardPending(tile);
+            } else {
+                deactivate(tile);
+            }
+        }
+        tiles.clear();
+        source.dispose();
+        Terrain.releaseTerrainMaterial();
+        Gdx.app.log("TerrainStreamer", "Disposed all streamed tiles.");
+    }
+}
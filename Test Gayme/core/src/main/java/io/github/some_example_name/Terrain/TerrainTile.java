@@ -0,0 +1,73 @@
+package io.github.some_example_name.Terrain;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.utils.MeshBuilder;
+import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
+import io.github.some_example_name.enums.NormalMode;
+
+/**
+ * Eine Kachel aus einer {@link TileSource} (Archiv oder Noise), an ihrer Stelle in der Welt platziert.
+ * <p>
+ * Wie {@link HeightMapTerrain}, aber mit beliebiger Position und Größe und einem gemeinsamen Material,
+ * damit nicht jede Kachel die Textur neu lädt. Die Texturkoordinaten laufen über die Kachelgrenzen weiter.
+ */
+public class TerrainTile extends Terrain {
+
+    /** Weltgröße, über die sich die Textur einmal (mit dem scaleU/V des Materials) erstreckt, wie bei HeightMapTerrain. */
+    private static final float UV_WORLD_SIZE = 800f;
+
+    public final int tileX;
+    public final int tileY;
+
+    private final HeightField field;
+    private final Material material;
+
+    /** CPU-Teil, darf auf einem Worker-Thread laufen. */
+    public TerrainTile(int tileX, int tileY, TerrainData data, float worldSize, float magnitude, Material material) {
+        this.tileX = tileX;
+        this.tileY = tileY;
+        this.size = (int)worldSize;
+        this.width = data.width;
+        this.heightMagnitude = magnitude;
+        this.material = material;
+
+        final float x0 = tileX * worldSize;
+        final float z0 = tileY * worldSize;
+        field = new HeightField(true, data, true,
+                MeshBuilder.createAttributes(VertexAttributes.Usage.Position | VertexAttributes.Usage.Normal | VertexAttributes.Usage.TextureCoordinates), false);
+        field.setNormalMode(NormalMode.CENTRAL_DIFFERENCE);
+        field.corner00.set(x0, 0, z0);
+        field.corner10.set(x0 + worldSize, 0, z0);
+        field.corner01.set(x0, 0, z0 + worldSize);
+        field.corner11.set(x0 + worldSize, 0, z0 + worldSize);
+        field.magnitude.set(0f, magnitude, 0f);
+        field.uvOffset.set(x0 / UV_WORLD_SIZE, z0 / UV_WORLD_SIZE);
+        field.uvScale.set(worldSize / UV_WORLD_SIZE, worldSize / UV_WORLD_SIZE);
+        field.buildVertices();
+    }
+
+    @Override
+    public void createModel() {
+        field.createMeshes();
+        ModelBuilder mb = new ModelBuilder();
+        mb.begin();
+        for (int i = 0; i < field.meshes.length; i++) {
+            mb.part("tile" + i, field.meshes[i], GL20.GL_TRIANGLES, material);
+        }
+        modelInstance = new ModelInstance(mb.end());
+    }
+
+    @Override
+    public HeightField getHeightField() {
+        return field;
+    }
+
+    @Override
+    public void dispose() {
+        // das Material gehört dem TerrainStreamer
+        field.dispose();
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.some_example_name.Terrain;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Eine große Heightmap, offline in gleich große Kacheln geschnitten ({@link TileArchiveWriter}), in einer Datei.
+ * <p>
+ * Aufbau (Little Endian): Header, dann ein Index mit Offset und Min/Max pro Kachel, dann die Kacheln mit je
+ * (tileSize + 1)² vorzeichenlosen 16-Bit-Höhen, Zeile für Zeile. Nachbarkacheln teilen sich die Randzeile bzw.
+ * -spalte, dadurch passen Meshes und Physik an den Nahtstellen ohne Nachbarn zu kennen.
+ * <p>
+ * Beim Öffnen wird nur der Index gelesen. {@link #readTile(int, int)} mappt genau die eine Kachel und darf von
+ * einem Worker-Thread aufgerufen werden; der Speicher bleibt so unabhängig von der Größe der Welt.
+ */
+public class TileArchive implements TileSource {
+
+    static final int MAGIC = 0x54475441; // "TGTA"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int INDEX_ENTRY_BYTES = 16;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+
+    /** Zellen pro Kachelkante; eine Kachel hat tileSize + 1 Höhen pro Kante. */
+    public final int tileSize;
+    public final int tilesX;
+    public final int tilesY;
+    /** Größe der Quell-Heightmap in Höhenwerten. */
+    public final int width;
+    public final int height;
+
+    private final long[] offsets;
+    private final char[] minHeights;
+    private final char[] maxHeights;
+
+    /** Öffnet das Archiv und liest Header und Index; die Kacheln bleiben auf der Platte. */
+    public TileArchive(FileHandle fileHandle) {
+        try {
+            file = new RandomAccessFile(fileHandle.file(), "r");
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not open tile archive " + fileHandle.path(), e);
+        }
+        channel = file.getChannel();
+        try {
+            ByteBuffer header = read(0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new GdxRuntimeException("Not a tile archive (or wrong version): " + fileHandle.path());
+            }
+            tileSize = header.getInt(8);
+            tilesX = header.getInt(12);
+            tilesY = header.getInt(16);
+            width = header.getInt(20);
+            height = header.getInt(24);
+            if (tileSize < 1 || tilesX < 1 || tilesY < 1) throw new GdxRuntimeException("Broken tile archive header: " + fileHandle.path());
+
+            final int count = tilesX * tilesY;
+            ByteBuffer index = read(HEADER_BYTES, count * INDEX_ENTRY_BYTES);
+            offsets = new long[count];
+            minHeights = new char[count];
+            maxHeights = new char[count];
+            for (int i = 0; i < count; i++) {
+                offsets[i] = index.getLong();
+                minHeights[i] = index.getChar();
+                maxHeights[i] = index.getChar();
+                index.getInt();
+            }
+        } catch (IOException | GdxRuntimeException e) {
+            dispose();
+            throw e instanceof GdxRuntimeException ? (GdxRuntimeException)e : new GdxRuntimeException("Could not read tile archive " + fileHandle.path(), e);
+        }
+    }
+
+    private ByteBuffer read(long position, int bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new IOException("Unexpected end of tile archive");
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    @Override
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /** Höhen pro Kachelkante (tileSize + 1). */
+    public int getTileSamples() {
+        return tileSize + 1;
+    }
+
+    @Override
+    public boolean contains(int tx, int ty) {
+        return tx >= 0 && ty >= 0 && tx < tilesX && ty < tilesY;
+    }
+
+    @Override
+    public int getCenterTileX() {
+        return tilesX / 2;
+    }
+
+    @Override
+    public int getCenterTileY() {
+        return tilesY / 2;
+    }
+
+    /** Kleinste Höhe der Kachel, normalisiert auf 0..1 (aus dem Index, ohne die Kachel zu lesen). */
+    public float getMinHeight(int tx, int ty) {
+        return minHeights[ty * tilesX + tx] / 65535f;
+    }
+
+    /** Größte Höhe der Kachel, normalisiert auf 0..1 (aus dem Index, ohne die Kachel zu lesen). */
+    public float getMaxHeight(int tx, int ty) {
+        return maxHeights[ty * tilesX + tx] / 65535f;
+    }
+
+    /**
+     * Mappt eine Kachel und kopiert sie in einen neuen direkten Buffer. Die Höhen bleiben 16 Bit
+     * ({@link TerrainData#isQuantized() quantisiert}, normalisiert auf 0..1) und gehen so auch an Bullet.
+     * Thread-sicher; der gemappte Bereich wird danach nicht mehr gebraucht.
+     */
+    @Override
+    public TerrainData readTile(int tx, int ty) {
+        if (!contains(tx, ty)) throw new GdxRuntimeException("Tile out of range: " + tx + ", " + ty);
+        final int samples = getTileSamples();
+        final int count = samples * samples;
+        final int i = ty * tilesX + tx;
+        ShortBuffer source;
+        try {
+            source = channel.map(FileChannel.MapMode.READ_ONLY, offsets[i], count * 2L).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not map tile " + tx + ", " + ty, e);
+        }
+        // vorzeichenlos -> vorzeichenbehaftet (Bullet liest signed short): Wert = (u - 32768 + 32768) / 65535
+        ShortBuffer heights = BufferUtils.newShortBuffer(count);
+        for (int j = 0; j < count; j++) {
+            heights.put(j, (short)(source.get(j) ^ 0x8000));
+        }
+        return new TerrainData(samples, samples, heights, 32768f / 65535f, 1f / 65535f, getMinHeight(tx, ty), getMaxHeight(tx, ty));
+    }
+
+    @Override
+    public void dispose() {
+        try {
+            file.close();
+        } catch (IOException e) {
+            // beim Schließen gibt es nichts mehr zu retten
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.some_example_name.Terrain;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Offline-Werkzeug: schneidet eine große 16-Bit-Heightmap im Raw-Format (z.B. .r16 aus World Machine oder Gaea,
+ * 16k x 16k) in ein {@link TileArchive}.
+ * <p>
+ * Die Quelle wird Kachelzeile für Kachelzeile gemappt, es liegt also nie die ganze Heightmap im Speicher.
+ * Kacheln über den Rand der Quelle hinaus wiederholen die letzte Zeile bzw. Spalte.
+ * <p>
+ * Aufruf: {@code ./gradlew :core:tileHeightmap -Praw=world.r16 -PrawWidth=16384 -PrawHeight=16384}
+ * oder direkt über {@link #main(String[])}.
+ */
+public final class TileArchiveWriter {
+
+    public static final int DEFAULT_TILE_SIZE = 128;
+
+    private TileArchiveWriter() {
+    }
+
+    /**
+     * @param raw       width * height vorzeichenlose 16-Bit-Werte, Zeile für Zeile
+     * @param rawOrder  Byte-Reihenfolge der Quelle (.r16 ist meistens Little Endian)
+     * @param tileSize  Zellen pro Kachelkante, z.B. 128 (eine Kachel = ein Mesh) oder 256
+     */
+    public static void write(File raw, int width, int height, ByteOrder rawOrder, int tileSize, File out) throws IOException {
+        if (width < 2 || height < 2) throw new IOException("Heightmap must be at least 2x2");
+        if (tileSize < 1) throw new IOException("Tile size must be positive");
+        if (raw.length() < (long)width * height * 2L) {
+            throw new IOException("Raw file too small for " + width + "x" + height + " 16-bit samples: " + raw.length() + " bytes");
+        }
+        final int tilesX = (width - 2) / tileSize + 1;
+        final int tilesY = (height - 2) / tileSize + 1;
+        final int samples = tileSize + 1;
+        final int tileBytes = samples * samples * 2;
+
+        ByteBuffer header = ByteBuffer.allocate(TileArchive.HEADER_BYTES + tilesX * tilesY * TileArchive.INDEX_ENTRY_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(TileArchive.MAGIC);
+        header.putInt(TileArchive.VERSION);
+        header.putInt(tileSize);
+        header.putInt(tilesX);
+        header.putInt(tilesY);
+        header.putInt(width);
+        header.putInt(height);
+        header.putInt(0);
+
+        ByteBuffer tile = ByteBuffer.allocateDirect(tileBytes).order(ByteOrder.LITTLE_ENDIAN);
+        long offset = header.capacity();
+
+        RandomAccessFile in = new RandomAccessFile(raw, "r");
+        try {
+            RandomAccessFile target = new RandomAccessFile(out, "rw");
+            try {
+                target.setLength(0);
+                FileChannel source = in.getChannel();
+                FileChannel destination = target.getChannel();
+                for (int ty = 0; ty < tilesY; ty++) {
+                    // Nur die Zeilen dieser Kachelzeile mappen (inklusive der geteilten Randzeile)
+                    final int y0 = ty * tileSize;
+                    final int rows = Math.min(y0 + tileSize, height - 1) - y0 + 1;
+                    MappedByteBuffer band = source.map(FileChannel.MapMode.READ_ONLY, (long)y0 * width * 2L, (long)rows * width * 2L);
+                    band.order(rawOrder);
+                    for (int tx = 0; tx < tilesX; tx++) {
+                        final int x0 = tx * tileSize;
+                        int min = 0xFFFF;
+                        int max = 0;
+                        tile.clear();
+                        for (int y = 0; y < samples; y++) {
+                            final int row = Math.min(y, rows - 1) * width;
+                            for (int x = 0; x < samples; x++) {
+                                final int v = band.getShort((row + Math.min(x0 + x, width - 1)) * 2) & 0xFFFF;
+                                if (v < min) min = v;
+                                if (v > max) max = v;
+                                tile.putShort((short)v);
+                            }
+                        }
+                        tile.flip();
+                        write(destination, tile, offset);
+                        header.putLong(offset);
+                        header.putShort((short)min);
+                        header.putShort((short)max);
+                        header.putInt(0);
+                        offset += tileBytes;
+                    }
+                }
+                // Header und Index zum Schluss, erst dann sind Min/Max aller Kacheln bekannt
+                header.flip();
+                write(destination, header, 0);
+            } finally {
+                target.close();
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /** Argumente: raw width height out [tileSize] [le|be] */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: TileArchiveWriter <raw> <width> <height> <out> [tileSize=" + DEFAULT_TILE_SIZE + "] [le|be]");
+            System.exit(1);
+        }
+        File raw = new File(args[0]);
+        int width = Integer.parseInt(args[1]);
+        int height = Integer.parseInt(args[2]);
+        File out = new File(args[3]);
+        int tileSize = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_TILE_SIZE;
+        ByteOrder order = args.length > 5 && args[5].equalsIgnoreCase("be") ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+
+        File parent = out.getAbsoluteFile().getParentFile();
+        if (parent != null) parent.mkdirs();
+        long start = System.nanoTime();
+        write(raw, width, height, order, tileSize, out);
+        System.out.println("Wrote " + out.getPath() + " (" + out.length() / (1024 * 1024) + " MB) in "
+                + (System.nanoTime() - start) / 1000000L + " ms");
+    }
+}
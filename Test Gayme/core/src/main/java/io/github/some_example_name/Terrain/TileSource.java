@@ -0,0 +1,26 @@
+package io.github.some_example_name.Terrain;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Liefert die Höhen einzelner Kacheln für den {@link TerrainStreamer}, z.B. aus einem {@link TileArchive}
+ * oder erzeugt aus Noise ({@link NoiseTileSource}).
+ * <p>
+ * Eine Kachel hat {@link #getTileSize()} + 1 Höhen pro Kante; Nachbarkacheln teilen sich die Randzeile bzw. -spalte.
+ */
+public interface TileSource extends Disposable {
+
+    /** Zellen pro Kachelkante. */
+    int getTileSize();
+
+    /** true, wenn es die Kachel gibt (unbegrenzte Quellen: immer). */
+    boolean contains(int tx, int ty);
+
+    /** Kachel, um die beim Start geladen wird, wenn noch kein Fokus bekannt ist. */
+    int getCenterTileX();
+
+    int getCenterTileY();
+
+    /** Die Höhen einer Kachel (normalisiert auf 0..1). Muss thread-sicher sein, wird auf Worker-Threads aufgerufen. */
+    TerrainData readTile(int tx, int ty);
+}
@@ -0,0 +1,7 @@
+package io.github.some_example_name.enums;
+
+public enum BroadphaseMode {
+    DBVT,          // Dynamischer AABB-Baum, braucht keine Weltgrenzen (Standard, auch für Streaming ohne Ende der Welt)
+    AXIS_SWEEP_16, // Sweep and Prune in festen Weltgrenzen, 16-Bit-Koordinaten, bis 32766 Objekte
+    AXIS_SWEEP_32  // Wie AXIS_SWEEP_16 mit 32-Bit-Koordinaten: feiner in großen Welten, doppelter Speicher pro Objekt
+}
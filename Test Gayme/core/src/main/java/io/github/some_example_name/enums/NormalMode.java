@@ -0,0 +1,7 @@
+package io.github.some_example_name.enums;
+
+public enum NormalMode {
+    WEIGHTED,          // Mittel der vier angrenzenden Dreiecke, funktioniert für jede Lage des HeightFields
+    CENTRAL_DIFFERENCE, // Direkt aus den Nachbarhöhen, nur für achsenparallele Felder auf XZ (sonst WEIGHTED)
+    UP                  // Alle Normalen entlang magnitude, die Details kommen aus einer Normal-Map (NormalMapBaker)
+}
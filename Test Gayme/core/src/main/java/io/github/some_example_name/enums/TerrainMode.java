@@ -0,0 +1,8 @@
+package io.github.some_example_name.enums;
+
+public enum TerrainMode {
+    SINGLE_MESH, // Ein einziges Mesh für die ganze Map (HeightMapTerrain)
+    CHUNKED,     // Patches im Quadtree mit LOD pro Patch (ChunkedTerrain)
+    STREAMING,   // Kacheln aus einem Tile-Archiv rund um den Spieler (TerrainStreamer)
+    PROCEDURAL   // Kacheln aus Noise erzeugt, unbegrenzte Welt (TerrainStreamer + NoiseTileSource)
+}
@@ -0,0 +1,167 @@
+package io.github.some_example_name.Terrain;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteOrder;
+
+/**
+ * SIMD-Fassung der {@link HeightKernels} über {@code jdk.incubator.vector}, nur für Java 17+ (liegt im Multi-Release-Jar
+ * unter {@code META-INF/versions/17}). Gleiche Rechenschritte in gleicher Reihenfolge wie die skalare Fassung, damit die
+ * Ergebnisse bitgenau übereinstimmen; Reste am Ende eines Arrays und Randspalten rechnet die skalare Fassung.
+ * Wird nur über {@link HeightKernels#get()} geladen.
+ */
+final class VectorHeightKernels extends HeightKernels {
+
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+    /** 0, 1, 2 ... für die Spaltennummern eines Vektors. */
+    private static final float[] LANES = new float[FLOATS.length()];
+
+    static {
+        for (int i = 0; i < LANES.length; i++) LANES[i] = i;
+    }
+
+    VectorHeightKernels() {
+    }
+
+    @Override
+    public String getName() {
+        return "vector (" + FLOATS.vectorBitSize() + " bit)";
+    }
+
+    @Override
+    public void redToHeights(byte[] source, int sourceOffset, int bytesPerColor, float[] dest, int destOffset, int count) {
+        // RGBA als Ints gelesen: Rot ist das unterste Byte, aber nur bei Little Endian
+        if (bytesPerColor != 4 || ByteOrder.nativeOrder() != ByteOrder.LITTLE_ENDIAN) {
+            super.redToHeights(source, sourceOffset, bytesPerColor, dest, destOffset, count);
+            return;
+        }
+        final int lanes = INTS.length();
+        int i = 0;
+        for (; i <= count - lanes; i += lanes) {
+            IntVector pixels = ByteVector.fromArray(BYTES, source, sourceOffset + i * 4).reinterpretAsInts();
+            FloatVector red = (FloatVector)pixels.and(0xFF).convert(VectorOperators.I2F, 0);
+            red.div(255f).intoArray(dest, destOffset + i);
+        }
+        super.redToHeights(source, sourceOffset + i * 4, 4, dest, destOffset + i, count - i);
+    }
+
+    @Override
+    public void gridPositions(float[] row, int width, int from, int to, float dy, float[] corners, float[] px, float[] py,
+                              float[] pz) {
+        final int lanes = FLOATS.length();
+        final float columns = (float)(width - 1);
+        final FloatVector lane = FloatVector.fromArray(FLOATS, LANES, 0);
+        int x = from;
+        for (; x <= to - lanes; x += lanes) {
+            // x + Spur ist als float exakt (Spalten < 2^24), also dieselbe Division wie skalar
+            final FloatVector dx = lane.add((float)x).div(columns);
+            final FloatVector h = FloatVector.fromArray(FLOATS, row, x);
+            position(corners, 0, dx, dy, h).intoArray(px, x);
+            position(corners, 1, dx, dy, h).intoArray(py, x);
+            position(corners, 2, dx, dy, h).intoArray(pz, x);
+        }
+        super.gridPositions(row, width, x, to, dy, corners, px, py, pz);
+    }
+
+    private static FloatVector position(float[] corners, int c, FloatVector dx, float dy, FloatVector h) {
+        final FloatVector a = dx.mul(corners[3 + c] - corners[c]).add(corners[c]);
+        final FloatVector b = dx.mul(corners[9 + c] - corners[6 + c]).add(corners[6 + c]);
+        return b.sub(a).mul(dy).add(a).add(h.mul(corners[12 + c]));
+    }
+
+    @Override
+    public void centralDifferenceNormals(float[] below, float[] row, float[] above, int width, int from, int to, int rowDistance,
+                                         float magnitude, float stepX, float stepZ, float[] nx, float[] ny, float[] nz) {
+        // Randspalten haben einseitige Differenzen, die macht die skalare Fassung
+        final int start = Math.max(from, 1);
+        final int end = Math.min(to, width - 1);
+        if (start >= end) {
+            super.centralDifferenceNormals(below, row, above, width, from, to, rowDistance, magnitude, stepX, stepZ, nx, ny, nz);
+            return;
+        }
+        if (from < start) {
+            super.centralDifferenceNormals(below, row, above, width, from, start, rowDistance, magnitude, stepX, stepZ, nx, ny, nz);
+        }
+        final int lanes = FLOATS.length();
+        final float xDenominator = 2 * stepX;
+        final float zDenominator = rowDistance * stepZ;
+        final FloatVector zero = FloatVector.zero(FLOATS);
+        final FloatVector one = FloatVector.broadcast(FLOATS, 1f);
+        int x = start;
+        for (; x <= end - lanes; x += lanes) {
+            final FloatVector dx = FloatVector.fromArray(FLOATS, row, x + 1).sub(FloatVector.fromArray(FLOATS, row, x - 1))
+                    .mul(magnitude).div(xDenominator);
+            final FloatVector dz = rowDistance == 0 ? zero
+                    : FloatVector.fromArray(FLOATS, above, x).sub(FloatVector.fromArray(FLOATS, below, x)).mul(magnitude).div(zDenominator);
+            final FloatVector ux = dx.neg();
+            final FloatVector uz = dz.neg();
+            final FloatVector len2 = ux.mul(ux).add(1f).add(uz.mul(uz));
+            // 1 / sqrt(1) = 1, also auch für len2 == 1 dasselbe wie Vector3.nor()
+            final FloatVector inv = one.div(len2.lanewise(VectorOperators.SQRT));
+            ux.mul(inv).intoArray(nx, x);
+            inv.intoArray(ny, x);
+            uz.mul(inv).intoArray(nz, x);
+        }
+        super.centralDifferenceNormals(below, row, above, width, x, to, rowDistance, magnitude, stepX, stepZ, nx, ny, nz);
+    }
+
+    @Override
+    public void minMax(float[] values, int count, float[] out) {
+        final int lanes = FLOATS.length();
+        if (count < lanes) {
+            super.minMax(values, count, out);
+            return;
+        }
+        FloatVector min = FloatVector.broadcast(FLOATS, out[0]);
+        FloatVector max = FloatVector.broadcast(FLOATS, out[1]);
+        int i = 0;
+        for (; i <= count - lanes; i += lanes) {
+            final FloatVector v = FloatVector.fromArray(FLOATS, values, i);
+            min = min.min(v);
+            max = max.max(v);
+        }
+        float lo = min.reduceLanes(VectorOperators.MIN);
+        float hi = max.reduceLanes(VectorOperators.MAX);
+        for (; i < count; i++) {
+            final float v = values[i];
+            if (v < lo) lo = v;
+            if (v > hi) hi = v;
+        }
+        out[0] = lo;
+        out[1] = hi;
+    }
+
+    @Override
+    public void minMax(short[] values, int count, int[] out) {
+        final int lanes = SHORTS.length();
+        if (count < lanes) {
+            super.minMax(values, count, out);
+            return;
+        }
+        ShortVector min = ShortVector.broadcast(SHORTS, Short.MAX_VALUE);
+        ShortVector max = ShortVector.broadcast(SHORTS, Short.MIN_VALUE);
+        int i = 0;
+        for (; i <= count - lanes; i += lanes) {
+            final ShortVector v = ShortVector.fromArray(SHORTS, values, i);
+            min = min.min(v);
+            max = max.max(v);
+        }
+        int lo = Math.min(out[0], min.reduceLanes(VectorOperators.MIN));
+        int hi = Math.max(out[1], max.reduceLanes(VectorOperators.MAX));
+        for (; i < count; i++) {
+            final int v = values[i];
+            if (v < lo) lo = v;
+            if (v > hi) hi = v;
+        }
+        out[0] = lo;
+        out[1] = hi;
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.some_example_name.Terrain;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Die Vector-Kernels (Java 17, {@code --add-modules jdk.incubator.vector}, siehe core/build.gradle) müssen bitgenau
+ * dasselbe liefern wie die skalaren {@link HeightKernels}. Zufallsdaten mit ungeraden Längen, damit auch die Reste hinter
+ * den vollen Vektoren laufen. Auf Java 8 wird übersprungen.
+ */
+public class HeightKernelsTest {
+
+    private static final int N = 1031;
+
+    private final HeightKernels scalar = new HeightKernels();
+    private HeightKernels vector;
+    private final Random random = new Random(8);
+
+    @Before
+    public void loadVectorKernels() throws Exception {
+        String version = System.getProperty("java.specification.version");
+        assumeTrue("Vector-Kernels brauchen Java 17", !version.startsWith("1.") && Integer.parseInt(version) >= 17);
+        // per Reflection, die Klasse liegt im Java-17-Teil und ist hier nicht gegen Java 8 übersetzbar
+        vector = (HeightKernels)Class.forName(HeightKernels.VECTOR_CLASS).getDeclaredConstructor().newInstance();
+    }
+
+    @Test
+    public void redToHeights() {
+        final byte[] pixels = new byte[N * 4];
+        random.nextBytes(pixels);
+        for (int bytesPerColor = 3; bytesPerColor <= 4; bytesPerColor++) {
+            float[] expected = new float[N], actual = new float[N];
+            scalar.redToHeights(pixels, 1, bytesPerColor, expected, 0, N - 1);
+            vector.redToHeights(pixels, 1, bytesPerColor, actual, 0, N - 1);
+            assertBitsEqual("bytesPerColor " + bytesPerColor, expected, actual);
+        }
+    }
+
+    @Test
+    public void gridPositions() {
+        final float[] row = randomFloats();
+        // schiefes Feld: alle Ecken und die Magnitude mit allen drei Komponenten
+        final float[] corners = new float[15];
+        for (int i = 0; i < corners.length; i++) corners[i] = random.nextFloat() * 200f - 100f;
+        for (int from = 0; from <= 5; from += 5) {
+            final int to = from == 0 ? N : N - 7;
+            float[] ex = new float[N], ey = new float[N], ez = new float[N];
+            float[] ax = new float[N], ay = new float[N], az = new float[N];
+            scalar.gridPositions(row, N, from, to, 0.37f, corners, ex, ey, ez);
+            vector.gridPositions(row, N, from, to, 0.37f, corners, ax, ay, az);
+            final String where = "columns " + from + ".." + to;
+            assertBitsEqual("x, " + where, ex, ax);
+            assertBitsEqual("y, " + where, ey, ay);
+            assertBitsEqual("z, " + where, ez, az);
+        }
+    }
+
+    @Test
+    public void centralDifferenceNormals() {
+        final float[] below = randomFloats(), row = randomFloats(), above = randomFloats();
+        for (int rowDistance = 0; rowDistance <= 2; rowDistance++) {
+            // ganze Zeile (mit beiden Randspalten) und ein Ausschnitt mit krummen Grenzen
+            assertNormalsEqual(below, row, above, 0, N, rowDistance);
+            assertNormalsEqual(below, row, above, 5, N - 7, rowDistance);
+        }
+    }
+
+    @Test
+    public void minMaxFloats() {
+        final float[] values = randomFloats();
+        final float[] expected = {Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY}, actual = expected.clone();
+        scalar.minMax(values, N - 2, expected);
+        vector.minMax(values, N - 2, actual);
+        assertBitsEqual("minMax", expected, actual);
+    }
+
+    @Test
+    public void minMaxShorts() {
+        final short[] values = new short[N];
+        for (int i = 0; i < N; i++) values[i] = (short)random.nextInt();
+        final int[] expected = {Integer.MAX_VALUE, Integer.MIN_VALUE}, actual = expected.clone();
+        scalar.minMax(values, N - 2, expected);
+        vector.minMax(values, N - 2, actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    private void assertNormalsEqual(float[] below, float[] row, float[] above, int from, int to, int rowDistance) {
+        float[] ex = new float[N], ey = new float[N], ez = new float[N];
+        float[] ax = new float[N], ay = new float[N], az = new float[N];
+        scalar.centralDifferenceNormals(below, row, above, N, from, to, rowDistance, 30f, 0.78f, 1.3f, ex, ey, ez);
+        vector.centralDifferenceNormals(below, row, above, N, from, to, rowDistance, 30f, 0.78f, 1.3f, ax, ay, az);
+        final String where = "columns " + from + ".." + to + ", rowDistance " + rowDistance;
+        assertBitsEqual("x, " + where, ex, ax);
+        assertBitsEqual("y, " + where, ey, ay);
+        assertBitsEqual("z, " + where, ez, az);
+    }
+
+    private float[] randomFloats() {
+        final float[] values = new float[N];
+        for (int i = 0; i < N; i++) values[i] = random.nextFloat();
+        return values;
+    }
+
+    /** Bitgenau, also auch -0 ungleich 0 (assertArrayEquals mit Delta wäre dafür zu nachsichtig). */
+    private static void assertBitsEqual(String message, float[] expected, float[] actual) {
+        assertArrayEquals(message, bits(expected), bits(actual));
+    }
+
+    private static int[] bits(float[] values) {
+        final int[] bits = new int[values.length];
+        for (int i = 0; i < values.length; i++) bits[i] = Float.floatToRawIntBits(values[i]);
+        return bits;
+    }
+}
@@ -141,6 +141,11 @@ public class StartupHelper {
         jvmArgs.add("-XstartOnFirstThread");
         jvmArgs.add("-D" + JVM_RESTARTED_ARG + "=true");
         jvmArgs.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        // SIMD-Kernels fürs Terrain (HeightKernels): ohne das Incubator-Modul bleibt es bei den skalaren
+        if (isJava17OrNewer() && !jvmArgs.toString().contains("jdk.incubator.vector")) {
+            jvmArgs.add("--add-modules");
+            jvmArgs.add("jdk.incubator.vector");
+        }
         jvmArgs.add("-cp");
         jvmArgs.add(System.getProperty("java.class.path"));
         String mainClass = System.getenv("JAVA_MAIN_CLASS_" + pid);
@@ -201,4 +206,14 @@ public class StartupHelper {
     public static boolean startNewJvmIfRequired() {
         return startNewJvmIfRequired(true);
     }
-}
\ No newline at end of file
+
+    private static boolean isJava17OrNewer() {
+        String version = System.getProperty("java.specification.version", "1.8");
+        if (version.startsWith("1.")) return false;
+        try {
+            return Integer.parseInt(version) >= 17;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}